@@ -0,0 +1,342 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     ClickStress.java                                            *
+ * Description:  Fires thousands of roll, hold, and score clicks from many   *
+ *               threads at once into headless games, then finishes each     *
+ *               game and checks its score card adds up: every category      *
+ *               used, and the upper sum, bonus, and grand total matching    *
+ *               the category values.  The clicks go straight to the         *
+ *               buttons' listeners, even while a button is disabled, like   *
+ *               clicks queued before the button was turned off.  Exits with *
+ *               status 1 if any game is inconsistent.  Run with "ant        *
+ *               stress-clicks" (see build.xml).                             *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import javax.swing.*;         // For JComponents (GUI)
+import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+public class ClickStress
+{
+  // Defaults of the command line arguments
+  private static final int DEFAULT_GAMES = 20;
+  private static final int DEFAULT_THREADS = 4;
+  private static final int DEFAULT_CLICKS = 3000;
+
+  // Seed of the first thread's clicks (each thread of each game adds to it)
+  private static final long SEED = 42;
+
+  // Kinds of click, picked at random (score clicks are twice as likely)
+  private static final int ROLL_CLICK = 0;
+  private static final int HOLD_CLICK = 1;
+  private static final int NUM_CLICK_KINDS = 4;
+
+  // Most rounds of roll-then-score clicks tried to finish a game
+  private static final int MAX_FINISH_TRIES = 1000;
+
+  // Does nothing (posted to wait for the EDT to finish earlier events)
+  private static final Runnable NOTHING = new Runnable( )
+  {
+    public void run( )
+    {
+    }
+  };
+
+  // Controllers of the game being played
+  private ScoreController scoreControl;
+  private DiceController diceControl;
+
+  // Every button of the game, by kind
+  private JButton rollButton;
+  private JButton[ ] holdButtons = new JButton[ DiceController.NUM_OF_DICE ];
+  private JButton[ ] scoreButtons =
+    new JButton[ ScoreEngine.NUM_CATEGORIES ];
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  newGame()
+   * Prototype:      private void newGame( ) throws Exception;
+   * Description:    Build the controllers of a new game on the EDT and find
+   *                 its buttons.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void newGame( ) throws Exception
+  {
+    SwingUtilities.invokeAndWait( new Runnable( )
+    {
+      public void run( )
+      {
+        JPanel contentPane = new JPanel( new BorderLayout( ) );
+        scoreControl = new ScoreController( contentPane );
+        diceControl = new DiceController( contentPane, scoreControl );
+      }
+    } );
+
+    rollButton = diceControl.getRollButton( );
+    for( int index = 0; index < holdButtons.length; index++ )
+    {
+      holdButtons[ index ] = diceControl.getDice( index ).getHoldButton( );
+    }
+    for( int category = 0; category < scoreButtons.length; category++ )
+    {
+      scoreButtons[ category ] =
+        scoreControl.getActiveScore( category ).getButton( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  storm()
+   * Prototype:      private void storm( int threads, int clicks, long seed )
+   *                                 throws InterruptedException;
+   * Description:    Start the threads together, each firing its share of
+   *                 random clicks, and wait for them all to finish firing.
+   * Parameters:
+   *      arg 1:     int threads -- Number of clicking threads
+   *      arg 2:     int clicks -- Clicks fired by each thread
+   *      arg 3:     long seed -- Seed of the first thread's clicks
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void storm( int threads, int clicks, long seed )
+    throws InterruptedException
+  {
+    CountDownLatch start = new CountDownLatch( 1 );
+    Thread[ ] clickers = new Thread[ threads ];
+
+    for( int thread = 0; thread < threads; thread++ )
+    {
+      Random random = new Random( seed + thread );
+
+      clickers[ thread ] = new Thread( new Runnable( )
+      {
+        public void run( )
+        {
+          try
+          {
+            start.await( );
+          }
+          catch( InterruptedException ex )
+          {
+            return;
+          }
+
+          for( int click = 0; click < clicks; click++ )
+          {
+            switch( random.nextInt( NUM_CLICK_KINDS ) )
+            {
+              case ROLL_CLICK:
+                fire( rollButton );
+                break;
+              case HOLD_CLICK:
+                fire( holdButtons[ random.nextInt( holdButtons.length ) ] );
+                break;
+              default:
+                fire( scoreButtons[ random.nextInt( scoreButtons.length ) ] );
+                break;
+            }
+          }
+        }
+      } );
+      clickers[ thread ].start( );
+    }
+
+    start.countDown( );
+    for( Thread clicker : clickers )
+    {
+      clicker.join( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  finish()
+   * Prototype:      private void finish( ) throws Exception;
+   * Description:    Roll and click every score button until the game is
+   *                 over (or the tries run out).
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void finish( ) throws Exception
+  {
+    settle( );
+
+    for( int tries = 0; tries < MAX_FINISH_TRIES &&
+         scoreControl.getUsedMask( ) != StrategyTable.ALL_USED; tries++ )
+    {
+      fire( rollButton );
+      for( JButton button : scoreButtons )
+      {
+        fire( button );
+      }
+      settle( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  check()
+   * Prototype:      private String check( );
+   * Description:    Check the finished game's score card adds up.
+   * Parameters:     None
+   * Return Value:   String -- What is wrong (null if nothing is)
+   * ----------------------------------------------------------------------- */
+  private String check( )
+  {
+    int upper = 0;
+    int total = 0;
+
+    for( int category = 0; category < ScoreEngine.NUM_CATEGORIES; category++ )
+    {
+      int value = scoreControl.getActiveScore( category ).getValue( );
+
+      if( ScoreEngine.isUpper( category ) )
+      {
+        upper += value;
+      }
+      total += value;
+    }
+
+    int bonus = ( upper >= ScoreEngine.UP_BONUS_THRESHOLD )?
+                ScoreEngine.UP_BONUS_POINTS: 0;
+
+    if( scoreControl.getUsedMask( ) != StrategyTable.ALL_USED )
+    {
+      return "categories used: " +
+             Integer.bitCount( scoreControl.getUsedMask( ) );
+    }
+    if( scoreControl.getUpperScore( ) != upper )
+    {
+      return "upper sum " + scoreControl.getUpperScore( ) +
+             " but categories add to " + upper;
+    }
+    if( scoreControl.getUpperBonus( ) != bonus )
+    {
+      return "bonus " + scoreControl.getUpperBonus( ) + " but should be " +
+             bonus;
+    }
+    if( scoreControl.getGrandTotal( ) != total + bonus )
+    {
+      return "grand total " + scoreControl.getGrandTotal( ) +
+             " but categories and bonus add to " + ( total + bonus );
+    }
+    if( rollButton.isEnabled( ) )
+    {
+      return "roll button still enabled";
+    }
+
+    return null;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  settle()
+   * Prototype:      private static void settle( ) throws Exception;
+   * Description:    Wait until every click fired so far has been handled:
+   *                 the EDT has passed it to the game thread, the game
+   *                 thread has run it, and the EDT has shown its result.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void settle( ) throws Exception
+  {
+    // Fired clicks are queued on the EDT before this
+    SwingUtilities.invokeAndWait( NOTHING );
+
+    // Actions run in order, so this runs after the clicks' actions
+    CountDownLatch done = new CountDownLatch( 1 );
+    GameExecutor.submit( new Runnable( )
+    {
+      public void run( )
+      {
+        done.countDown( );
+      }
+    } );
+    done.await( );
+
+    // The actions' renders were posted before this
+    SwingUtilities.invokeAndWait( NOTHING );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  fire()
+   * Prototype:      private static void fire( JButton button );
+   * Description:    Queue a click of a button on the EDT, delivered to its
+   *                 listeners even if the button is disabled by then.
+   * Parameters:
+   *      arg 1:     JButton button -- Button to click
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void fire( JButton button )
+  {
+    SwingUtilities.invokeLater( new Runnable( )
+    {
+      public void run( )
+      {
+        ActionEvent click = new ActionEvent( button,
+                                             ActionEvent.ACTION_PERFORMED,
+                                             button.getActionCommand( ) );
+        for( ActionListener listener : button.getActionListeners( ) )
+        {
+          listener.actionPerformed( click );
+        }
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  main()
+   * Prototype:      public static void main( String[ ] args )
+   *                                 throws Exception;
+   * Description:    Play the games under the click storm and print each
+   *                 game's result.  Exits with status 1 if any game's score
+   *                 card doesn't add up.
+   * Parameters:
+   *      arg 1:     String[ ] args -- [games] [threads] [clicks per thread]
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void main( String[ ] args ) throws Exception
+  {
+    int games = ( args.length > 0 )? Integer.parseInt( args[ 0 ] ):
+                DEFAULT_GAMES;
+    int threads = ( args.length > 1 )? Integer.parseInt( args[ 1 ] ):
+                  DEFAULT_THREADS;
+    int clicks = ( args.length > 2 )? Integer.parseInt( args[ 2 ] ):
+                 DEFAULT_CLICKS;
+
+    ClickStress stress = new ClickStress( );
+    int failed = 0;
+
+    for( int game = 0; game < games; game++ )
+    {
+      stress.newGame( );
+      stress.storm( threads, clicks, SEED + (long) game * threads );
+      stress.finish( );
+
+      String problem = stress.check( );
+      System.out.println( "game " + game + ": grand total " +
+                          stress.scoreControl.getGrandTotal( ) + "  " +
+                          ( ( problem == null )? "OK": "BAD: " + problem ) );
+      if( problem != null )
+      {
+        failed++;
+      }
+    }
+
+    System.out.println( "games: " + games + "  threads: " + threads +
+                        "  clicks: " + (long) games * threads * clicks +
+                        "  inconsistent: " + failed );
+
+    if( failed > 0 )
+    {
+      System.out.println( "FAILED: score cards don't add up" );
+      System.exit( 1 );
+    }
+  }
+}
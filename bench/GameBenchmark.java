@@ -0,0 +1,389 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameBenchmark.java                                          *
+ * Description:  Plays complete games through the real controllers (roll,   *
+ *               hold, and score clicks on headless Swing components) and    *
+ *               reports games/sec, per-roll latency, and bytes allocated    *
+ *               per game.  Fails when throughput falls more than the        *
+ *               allowed percentage below a stored baseline.  Run with       *
+ *               "ant bench-game" (see build.xml).                           *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import javax.swing.*;         // For JComponents (GUI)
+import java.awt.BorderLayout;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+
+public class GameBenchmark
+{
+  // Defaults of the command line arguments
+  private static final int DEFAULT_GAMES = 200;
+  private static final int DEFAULT_WARMUP = 50;
+  private static final double DEFAULT_MAX_REGRESSION = 10;
+
+  // Seed of the first game (each game adds its number to it)
+  private static final long SEED = 42;
+
+  // Names of the values in the baseline file
+  private static final String GAMES_PER_SEC = "games.per.sec";
+  private static final String P50_MICROS = "roll.p50.micros";
+  private static final String P99_MICROS = "roll.p99.micros";
+  private static final String BYTES_PER_GAME = "bytes.per.game";
+
+  // Percentiles of the roll latency
+  private static final double P50 = .50;
+  private static final double P99 = .99;
+
+  private static final double NANOS_PER_SEC = 1e9;
+  private static final double NANOS_PER_MICRO = 1e3;
+  private static final double PERCENT = 100;
+
+  // Does nothing (posted to wait for the EDT to finish earlier events)
+  private static final Runnable NOTHING = new Runnable( )
+  {
+    public void run( )
+    {
+    }
+  };
+
+  private Policy policy = new GreedyPolicy( );  // Makes every decision
+
+  // Controllers of the game being played
+  private ScoreController scoreControl;
+  private DiceController diceControl;
+
+  private long[ ] rollNanos;   // Latency of every measured roll click
+  private int numRollNanos;    // Number of latencies recorded
+
+  // Threads whose allocations are counted (the EDT and the game thread)
+  private long[ ] gameThreadIds = new long[ 2 ];
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  newGame()
+   * Prototype:      private void newGame( long seed ) throws Exception;
+   * Description:    Build the controllers of a new game on the EDT, with the
+   *                 dice rolled from the passed in seed.
+   * Parameters:
+   *      arg 1:     long seed -- Seed of the dice
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void newGame( long seed ) throws Exception
+  {
+    System.setProperty( DiceController.SEED_PROPERTY, Long.toString( seed ) );
+
+    SwingUtilities.invokeAndWait( new Runnable( )
+    {
+      public void run( )
+      {
+        JPanel contentPane = new JPanel( new BorderLayout( ) );
+        scoreControl = new ScoreController( contentPane );
+        diceControl = new DiceController( contentPane, scoreControl );
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  playGame()
+   * Prototype:      private void playGame( boolean measure )
+   *                                 throws Exception;
+   * Description:    Play the current game to the end, letting the policy
+   *                 choose the holds and categories.
+   * Parameters:
+   *      arg 1:     boolean measure -- Whether to record roll latencies
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void playGame( boolean measure ) throws Exception
+  {
+    for( int round = 0; round < DiceController.MAX_ROUNDS; round++ )
+    {
+      int usedMask = scoreControl.getUsedMask( );
+      int upper = scoreControl.getUpperScore( );
+      int hand = 0;
+
+      for( int rolls = 1; rolls <= DiceController.MAX_ROLLS; rolls++ )
+      {
+        long start = System.nanoTime( );
+        click( diceControl.getRollButton( ) );
+        if( measure )
+        {
+          rollNanos[ numRollNanos++ ] = System.nanoTime( ) - start;
+        }
+
+        hand = diceControl.getHandIndex( );
+        if( rolls == DiceController.MAX_ROLLS ) break;
+
+        int keeper = policy.chooseKeeper( usedMask, upper, hand,
+                                          DiceController.MAX_ROLLS - rolls );
+
+        // Holding every die means the player is done rolling
+        if( keeper == Keepers.ofHand( hand ) ) break;
+
+        hold( keeper );
+      }
+
+      int category = policy.chooseCategory( usedMask, upper, hand );
+      click( scoreControl.getActiveScore( category ).getButton( ) );
+    }
+
+    if( Integer.bitCount( scoreControl.getUsedMask( ) ) !=
+        DiceController.MAX_ROUNDS )
+    {
+      throw new IllegalStateException( "Game did not finish: " +
+                                       scoreControl );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  hold()
+   * Prototype:      private void hold( int keeper ) throws Exception;
+   * Description:    Click the hold buttons so exactly the keeper's dice are
+   *                 held.
+   * Parameters:
+   *      arg 1:     int keeper -- Keeper index of the dice to hold
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void hold( int keeper ) throws Exception
+  {
+    int[ ] toHold = new int[ ScoreEngine.MAX_DICE_VAL + 1 ];
+    for( int face = ScoreEngine.MIN_DICE_VAL;
+         face <= ScoreEngine.MAX_DICE_VAL; face++ )
+    {
+      toHold[ face ] = Keepers.faceCount( keeper, face );
+    }
+
+    for( int index = 0; index < DiceController.NUM_OF_DICE; index++ )
+    {
+      Dice die = diceControl.getDice( index );
+      boolean keep = toHold[ die.getValue( ) ] > 0;
+
+      if( keep )
+      {
+        toHold[ die.getValue( ) ]--;
+      }
+
+      if( keep != die.isHeld( ) )
+      {
+        click( die.getHoldButton( ) );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  click()
+   * Prototype:      private void click( JButton button ) throws Exception;
+   * Description:    Click a button on the EDT and wait until the game thread
+   *                 has run the action and the EDT has shown its result.
+   * Parameters:
+   *      arg 1:     JButton button -- Button to click
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void click( JButton button ) throws Exception
+  {
+    SwingUtilities.invokeAndWait( new Runnable( )
+    {
+      public void run( )
+      {
+        button.doClick( 0 );
+      }
+    } );
+
+    // Actions run in order, so this runs after the click's action
+    CountDownLatch done = new CountDownLatch( 1 );
+    GameExecutor.submit( new Runnable( )
+    {
+      public void run( )
+      {
+        gameThreadIds[ 1 ] = Thread.currentThread( ).getId( );
+        done.countDown( );
+      }
+    } );
+    done.await( );
+
+    // The action's render was posted before this
+    SwingUtilities.invokeAndWait( NOTHING );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  allocatedBytes()
+   * Prototype:      private long allocatedBytes( );
+   * Description:    Return the bytes allocated so far by the EDT and the
+   *                 game thread.
+   * Parameters:     None
+   * Return Value:   long -- Bytes allocated by the game's threads
+   * ----------------------------------------------------------------------- */
+  private long allocatedBytes( )
+  {
+    com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean( );
+
+    long bytes = 0;
+    for( long allocated: threads.getThreadAllocatedBytes( gameThreadIds ) )
+    {
+      bytes += allocated;
+    }
+
+    return bytes;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  run()
+   * Prototype:      public Properties run( int games, int warmup )
+   *                                 throws Exception;
+   * Description:    Play the warmup games, then the measured games, and
+   *                 return their results.  Building each game's GUI is not
+   *                 measured.
+   * Parameters:
+   *      arg 1:     int games -- Number of measured games
+   *      arg 2:     int warmup -- Number of games played first
+   * Return Value:   Properties -- Results, named as in the baseline file
+   * ----------------------------------------------------------------------- */
+  public Properties run( int games, int warmup ) throws Exception
+  {
+    SwingUtilities.invokeAndWait( new Runnable( )
+    {
+      public void run( )
+      {
+        gameThreadIds[ 0 ] = Thread.currentThread( ).getId( );
+      }
+    } );
+
+    for( int game = 0; game < warmup; game++ )
+    {
+      newGame( SEED + game );
+      playGame( false );
+    }
+
+    rollNanos = new long[ games * DiceController.MAX_ROUNDS *
+                          DiceController.MAX_ROLLS ];
+    numRollNanos = 0;
+    long playNanos = 0;
+    long bytes = 0;
+
+    for( int game = 0; game < games; game++ )
+    {
+      newGame( SEED + warmup + game );
+
+      long startBytes = allocatedBytes( );
+      long start = System.nanoTime( );
+      playGame( true );
+      playNanos += System.nanoTime( ) - start;
+      bytes += allocatedBytes( ) - startBytes;
+    }
+
+    long[ ] sorted = Arrays.copyOf( rollNanos, numRollNanos );
+    Arrays.sort( sorted );
+
+    Properties results = new Properties( );
+    results.setProperty( GAMES_PER_SEC, String.format( Locale.ROOT, "%.1f",
+                         games * NANOS_PER_SEC / playNanos ) );
+    results.setProperty( P50_MICROS, String.format( Locale.ROOT, "%.1f",
+                         percentile( sorted, P50 ) / NANOS_PER_MICRO ) );
+    results.setProperty( P99_MICROS, String.format( Locale.ROOT, "%.1f",
+                         percentile( sorted, P99 ) / NANOS_PER_MICRO ) );
+    results.setProperty( BYTES_PER_GAME, Long.toString( bytes / games ) );
+    return results;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  percentile()
+   * Prototype:      private static long percentile( long[ ] sorted,
+   *                                                 double fraction );
+   * Description:    Return a percentile of sorted values (nearest rank).
+   * Parameters:
+   *      arg 1:     long[ ] sorted -- Values in increasing order
+   *      arg 2:     double fraction -- Percentile as a fraction (0 to 1)
+   * Return Value:   long -- Value at the percentile
+   * ----------------------------------------------------------------------- */
+  private static long percentile( long[ ] sorted, double fraction )
+  {
+    int rank = (int) Math.ceil( fraction * sorted.length );
+    return sorted[ Math.max( rank - 1, 0 ) ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  main()
+   * Prototype:      public static void main( String[ ] args )
+   *                                 throws Exception;
+   * Description:    Run the benchmark, print the results, and compare the
+   *                 throughput with the baseline file.  Exits with status 1
+   *                 when throughput regressed more than allowed.  With
+   *                 "record" (or no baseline file yet) the results are saved
+   *                 as the new baseline instead.
+   * Parameters:
+   *      arg 1:     String[ ] args -- [games] [warmup] [baseline file]
+   *                 [max regression %] [record]
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void main( String[ ] args ) throws Exception
+  {
+    int games = ( args.length > 0 )? Integer.parseInt( args[ 0 ] ):
+                DEFAULT_GAMES;
+    int warmup = ( args.length > 1 )? Integer.parseInt( args[ 1 ] ):
+                 DEFAULT_WARMUP;
+    File baselineFile = ( args.length > 2 )? new File( args[ 2 ] ): null;
+    double maxRegression = ( args.length > 3 )?
+                           Double.parseDouble( args[ 3 ] ):
+                           DEFAULT_MAX_REGRESSION;
+    boolean record = args.length > 4 && args[ 4 ].equals( "record" );
+
+    Properties results = new GameBenchmark( ).run( games, warmup );
+
+    System.out.println( "games: " + games + "  warmup: " + warmup );
+    System.out.println( "games/sec: " + results.get( GAMES_PER_SEC ) );
+    System.out.println( "roll latency p50: " + results.get( P50_MICROS ) +
+                        " us  p99: " + results.get( P99_MICROS ) + " us" );
+    System.out.println( "bytes/game: " + results.get( BYTES_PER_GAME ) );
+
+    if( baselineFile == null ) return;
+
+    if( record || !baselineFile.exists( ) )
+    {
+      try( OutputStream out = new FileOutputStream( baselineFile ) )
+      {
+        results.store( out, "GameBenchmark baseline (" + games +
+                       " games, " + warmup + " warmup)" );
+      }
+      System.out.println( "baseline saved to " + baselineFile );
+      return;
+    }
+
+    Properties baseline = new Properties( );
+    try( InputStream in = new FileInputStream( baselineFile ) )
+    {
+      baseline.load( in );
+    }
+
+    double expected =
+      Double.parseDouble( baseline.getProperty( GAMES_PER_SEC ) );
+    double actual = Double.parseDouble( results.getProperty( GAMES_PER_SEC ) );
+    double change = ( actual - expected ) / expected * PERCENT;
+
+    System.out.printf( Locale.ROOT,
+                       "baseline games/sec: %.1f  change: %+.1f%%" +
+                       "  (allowed: -%.1f%%)%n", expected, change,
+                       maxRegression );
+
+    if( change < -maxRegression )
+    {
+      System.out.println( "FAILED: throughput regressed" );
+      System.exit( 1 );
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     HandIndexBenchmark.java                                     *
+ * Description:  JMH benchmarks of turning the values of the five dice into  *
+ *               something the scorer can use: the sorted copy the original  *
+ *               DiceController.getDiceValues() made, and the hand index     *
+ *               found by summing face keys.                                 *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class HandIndexBenchmark
+{
+  // Number of random rolls cycled through (a power of two)
+  private static final int NUM_ROLLS = 1024;
+
+  // Seed of the random rolls (the same rolls every run)
+  private static final long SEED = 42;
+
+  private int[ ][ ] rolls;    // Random rolls, in rolled order
+  private int[ ] packedRolls; // The same rolls packed
+  private int next;           // Index of the next roll
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setUp()
+   * Prototype:      public void setUp( );
+   * Description:    Roll the dice used by every benchmark.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Setup
+  public void setUp( )
+  {
+    DiceSource source = new SeededDiceSource( SEED );
+
+    rolls = new int[ NUM_ROLLS ][ ScoreEngine.NUM_OF_DICE ];
+    packedRolls = new int[ NUM_ROLLS ];
+
+    for( int roll = 0; roll < NUM_ROLLS; roll++ )
+    {
+      for( int die = 0; die < ScoreEngine.NUM_OF_DICE; die++ )
+      {
+        rolls[ roll ][ die ] = source.nextFace( );
+      }
+      packedRolls[ roll ] = ScoreEngine.pack( rolls[ roll ] );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextRoll()
+   * Prototype:      private int nextRoll( );
+   * Description:    Return the index of the next roll.
+   * Parameters:     None
+   * Return Value:   int -- Index of the roll
+   * ----------------------------------------------------------------------- */
+  private int nextRoll( )
+  {
+    next = ( next + 1 ) & ( NUM_ROLLS - 1 );
+    return next;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  sortedCopy()
+   * Prototype:      public int[ ] sortedCopy( );
+   * Description:    Copy the dice into a new array and sort it (what
+   *                 getDiceValues() did before every score).
+   * Parameters:     None
+   * Return Value:   int[ ] -- Sorted dice values
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int[ ] sortedCopy( )
+  {
+    int[ ] diceValues = rolls[ nextRoll( ) ].clone( );
+    Arrays.sort( diceValues );
+    return diceValues;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  faceKeySum()
+   * Prototype:      public int faceKeySum( );
+   * Description:    Sum the face keys of the dice and look up the hand
+   *                 index (what getHandIndex() does).
+   * Parameters:     None
+   * Return Value:   int -- Hand index
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int faceKeySum( )
+  {
+    int[ ] dice = rolls[ nextRoll( ) ];
+    int key = 0;
+
+    for( int index = 0; index < dice.length; index++ )
+    {
+      key += HandIndex.faceKey( dice[ index ] );
+    }
+
+    return HandIndex.indexOfKey( key );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  indexOfPacked()
+   * Prototype:      public int indexOfPacked( );
+   * Description:    Look up the hand index of packed dice.
+   * Parameters:     None
+   * Return Value:   int -- Hand index
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int indexOfPacked( )
+  {
+    return HandIndex.indexOfPacked( packedRolls[ nextRoll( ) ] );
+  }
+}
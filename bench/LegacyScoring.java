@@ -0,0 +1,206 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     LegacyScoring.java                                          *
+ * Description:  The original sort-and-scan scoring logic of                 *
+ *               ScoreController.scoreUpper()/scoreLower(), kept here        *
+ *               without its Swing components and pauses so benchmarks can   *
+ *               compare it against ScoreEngine and the score table.         *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.Arrays;       // For binary searching sorted dice
+
+public class LegacyScoring
+{
+  // Order lower scores are calculated in (indexed from THREE_O_KIND)
+  private static final int[ ] SCORE_CALC_ORDER = { 5, 1, 0, 2, 3, 4, 6 };
+
+  // Number of matching dice needed for yahtzee
+  private static final int YAHTZEE_SAME_DICE = 5;
+
+  // Number of sequential dice needed for small and large straights
+  private static final int SM_STRAIGHT_SEQ = 4;
+  private static final int LG_STRAIGHT_SEQ = 5;
+
+  // Divides SCORE_CALC_ORDER in half (the n of a kind scores come first)
+  private static final int HALF_FACTOR = 2;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      LegacyScoring()
+   * Prototype:      private LegacyScoring( );
+   * Description:    Only has static methods, so it is never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private LegacyScoring( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreAll()
+   * Prototype:      public static void scoreAll( int[ ] dice,
+   *                                              int[ ] scores );
+   * Description:    Score every category the way the original controller
+   *                 did (the dice must already be sorted).
+   * Parameters:
+   *      arg 1:     int[ ] dice -- Dice values sorted in increasing order
+   *      arg 2:     int[ ] scores -- Array of NUM_CATEGORIES ints to store
+   *                 the scores in
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void scoreAll( int[ ] dice, int[ ] scores )
+  {
+    Arrays.fill( scores, 0 );
+    scoreUpper( dice, scores );
+    scoreLower( dice, scores );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreUpper()
+   * Prototype:      private static void scoreUpper( int[ ] dice,
+   *                                                 int[ ] scores );
+   * Description:    Calculate the upper scores.
+   * Parameters:
+   *      arg 1:     int[ ] dice -- Dice values sorted in increasing order
+   *      arg 2:     int[ ] scores -- Scores of every category
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void scoreUpper( int[ ] dice, int[ ] scores )
+  {
+    for( int index = 0; index < dice.length; index++ )
+    {
+      scores[ dice[ index ] - 1 ] += dice[ index ];
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreLower()
+   * Prototype:      private static void scoreLower( int[ ] dice,
+   *                                                 int[ ] scores );
+   * Description:    Calculate the lower scores based on the upper scores and
+   *                 the sorted dice.
+   * Parameters:
+   *      arg 1:     int[ ] dice -- Dice values sorted in increasing order
+   *      arg 2:     int[ ] scores -- Scores of every category
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void scoreLower( int[ ] dice, int[ ] scores )
+  {
+    // Always score chance
+    scoreComponent( SCORE_CALC_ORDER.length - 1, dice, scores );
+
+    int sameDice = 0;     // Number of matching dice
+    int sameDiceVal = 0;  // Value of the matching dice
+
+    // Use the upper scores to count the largest number of matching dice
+    for( int index = 0; index < ScoreEngine.NUM_UPPER; index++ )
+    {
+      int numDice = scores[ index ] / ( index + 1 );
+
+      if( numDice > sameDice )
+      {
+        sameDice = numDice;
+        sameDiceVal = index + 1;
+      }
+    }
+
+    // Score the first half of the lower scores (n of a kind)
+    int orderIndex = 0;
+    int sameDiceNeeded = YAHTZEE_SAME_DICE;
+    while( orderIndex < SCORE_CALC_ORDER.length / HALF_FACTOR )
+    {
+      if( sameDice >= sameDiceNeeded )
+      {
+        scoreComponent( orderIndex, dice, scores );
+      }
+
+      orderIndex++;
+      sameDiceNeeded--;
+    }
+
+    // Check for a full house if three of the dice match
+    if( sameDice == ++sameDiceNeeded )
+    {
+      boolean cond1 = ( dice[ 0 ] == dice[ 1 ] ) &&
+                      ( dice[ 0 ] != sameDiceVal );
+      boolean cond2 = ( dice[ dice.length - 1 ] == dice[ dice.length - 2 ] ) &&
+                      ( dice[ dice.length - 1 ] != sameDiceVal );
+
+      if( cond1 || cond2 )
+      {
+        scoreComponent( orderIndex, dice, scores );
+      }
+    }
+
+    orderIndex++;
+    sameDiceNeeded--;
+
+    // Check for small and large straights
+    if( sameDice <= sameDiceNeeded )
+    {
+      int sequentialNums = 1;
+
+      for( int index = 0; index < dice.length - 1; index++ )
+      {
+        if( dice[ index + 1 ] - dice[ index ] == 1 )
+        {
+          sequentialNums++;
+        }
+      }
+
+      if( ( sequentialNums >= SM_STRAIGHT_SEQ ) &&
+          ( Arrays.binarySearch( dice, 3 ) >= 0 ) &&
+          ( Arrays.binarySearch( dice, 4 ) >= 0 ) &&
+          ( ( ( Arrays.binarySearch( dice, 1 ) >= 0 ) &&
+              ( Arrays.binarySearch( dice, 2 ) >= 0 ) ) ||
+            ( ( Arrays.binarySearch( dice, 2 ) >= 0 ) &&
+              ( Arrays.binarySearch( dice, 5 ) >= 0 ) ) ||
+            ( ( Arrays.binarySearch( dice, 5 ) >= 0 ) &&
+              ( Arrays.binarySearch( dice, 6 ) >= 0 ) ) ) )
+      {
+        scoreComponent( orderIndex, dice, scores );
+      }
+
+      orderIndex++;
+
+      if( sequentialNums == LG_STRAIGHT_SEQ )
+      {
+        scoreComponent( orderIndex, dice, scores );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreComponent()
+   * Prototype:      private static void scoreComponent( int orderIndex,
+   *                                     int[ ] dice, int[ ] scores );
+   * Description:    Score the lower category at orderIndex in
+   *                 SCORE_CALC_ORDER (its fixed points, or the sum of the
+   *                 dice if it has none).
+   * Parameters:
+   *      arg 1:     int orderIndex -- Index in SCORE_CALC_ORDER
+   *      arg 2:     int[ ] dice -- Dice values
+   *      arg 3:     int[ ] scores -- Scores of every category
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void scoreComponent( int orderIndex, int[ ] dice,
+                                      int[ ] scores )
+  {
+    int index = SCORE_CALC_ORDER[ orderIndex ];
+    int points = ScoreEngine.LOWER_SCORES[ index ];
+
+    if( points == 0 )
+    {
+      for( int die = 0; die < dice.length; die++ )
+      {
+        points += dice[ die ];
+      }
+    }
+
+    scores[ ScoreEngine.THREE_O_KIND + index ] = points;
+  }
+}
@@ -0,0 +1,415 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     LoadGenerator.java                                          *
+ * Description:  Opens thousands of connections to a GameServer and has      *
+ *               each one play games as fast as the server answers (one      *
+ *               action in flight per connection), then reports actions/sec  *
+ *               and the round-trip latency of the actions.  Every           *
+ *               connection is driven by one Selector thread.  Without a     *
+ *               server address it starts a server in the same process.  Run *
+ *               with "ant bench-load" (see build.xml).                      *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+
+public class LoadGenerator
+{
+  // Defaults of the command line arguments
+  private static final int DEFAULT_CONNECTIONS = 2000;
+  private static final int DEFAULT_SECONDS = 10;
+  private static final int DEFAULT_WARMUP = 2;
+
+  // Master seed of the in-process server's dice
+  private static final long SEED = 42;
+
+  // Longest wait for every connection to be welcomed
+  private static final long CONNECT_TIMEOUT_NANOS = 30_000_000_000L;
+
+  // Longest wait for the selector (so the run ends on time)
+  private static final long SELECT_MILLIS = 100;
+
+  // Latencies recorded before the array first grows
+  private static final int INITIAL_LATENCIES = 1 << 20;
+
+  // Percentiles of the round-trip latency
+  private static final double P50 = .50;
+  private static final double P90 = .90;
+  private static final double P99 = .99;
+  private static final double P999 = .999;
+
+  private static final long NANOS_PER_SEC = 1_000_000_000L;
+  private static final double NANOS_PER_MICRO = 1e3;
+  private static final double NANOS_PER_MILLI = 1e6;
+
+  private final Selector selector;
+  private final InetSocketAddress address;   // Server to connect to
+
+  private int welcomed;        // Connections the server has welcomed
+  private int rejected;        // Actions the server rejected
+  private long gamesFinished;  // Games played to the end while measuring
+  private boolean measuring;   // Whether answers are being recorded
+
+  private long[ ] latencies = new long[ INITIAL_LATENCIES ];
+  private int numLatencies;    // Number of latencies recorded
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      LoadGenerator()
+   * Prototype:      public LoadGenerator( InetSocketAddress address )
+   *                                 throws IOException;
+   * Description:    Create a load generator for a server.
+   * Parameters:
+   *      arg 1:     InetSocketAddress address -- Server to connect to
+   * ----------------------------------------------------------------------- */
+  public LoadGenerator( InetSocketAddress address ) throws IOException
+  {
+    this.address = address;
+    selector = Selector.open( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  connect()
+   * Prototype:      private void connect( int connections )
+   *                                 throws IOException;
+   * Description:    Open the connections and wait until the server has
+   *                 welcomed every one (each starts playing once it is).
+   * Parameters:
+   *      arg 1:     int connections -- Number of connections to open
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void connect( int connections ) throws IOException
+  {
+    for( int index = 0; index < connections; index++ )
+    {
+      SocketChannel channel = SocketChannel.open( );
+      channel.configureBlocking( false );
+      channel.socket( ).setTcpNoDelay( true );
+      channel.connect( address );
+      channel.register( selector, SelectionKey.OP_CONNECT, new Player( ) );
+
+      // Finish the connections made so far so the accept queue never fills
+      selector.selectNow( );
+      handleSelected( );
+    }
+
+    long deadline = System.nanoTime( ) + CONNECT_TIMEOUT_NANOS;
+    while( welcomed < connections )
+    {
+      if( System.nanoTime( ) > deadline )
+      {
+        throw new IOException( "Only " + welcomed + " of " + connections +
+                               " connections were welcomed" );
+      }
+
+      selector.select( SELECT_MILLIS );
+      handleSelected( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  play()
+   * Prototype:      private void play( long warmupNanos, long runNanos )
+   *                                 throws IOException;
+   * Description:    Keep every connection playing for the warmup and then
+   *                 for the measured run.
+   * Parameters:
+   *      arg 1:     long warmupNanos -- Time to play without measuring
+   *      arg 2:     long runNanos -- Time to measure
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void play( long warmupNanos, long runNanos ) throws IOException
+  {
+    long start = System.nanoTime( ) + warmupNanos;
+    long end = start + runNanos;
+    long now;
+
+    while( ( now = System.nanoTime( ) ) < end )
+    {
+      measuring = now >= start;
+      selector.select( SELECT_MILLIS );
+      handleSelected( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  handleSelected()
+   * Prototype:      private void handleSelected( ) throws IOException;
+   * Description:    Finish the connections that connected and handle the
+   *                 answers that arrived.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void handleSelected( ) throws IOException
+  {
+    Iterator<SelectionKey> keys = selector.selectedKeys( ).iterator( );
+    while( keys.hasNext( ) )
+    {
+      SelectionKey key = keys.next( );
+      keys.remove( );
+
+      SocketChannel channel = (SocketChannel) key.channel( );
+      if( key.isConnectable( ) )
+      {
+        channel.finishConnect( );
+        key.interestOps( SelectionKey.OP_READ );
+      }
+      else if( key.isReadable( ) )
+      {
+        read( channel, (Player) key.attachment( ) );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  read()
+   * Prototype:      private void read( SocketChannel channel, Player player )
+   *                                 throws IOException;
+   * Description:    Read a connection's answers and send its next action
+   *                 after each one.
+   * Parameters:
+   *      arg 1:     SocketChannel channel -- Channel of the connection
+   *      arg 2:     Player player -- State of the connection
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void read( SocketChannel channel, Player player ) throws IOException
+  {
+    ByteBuffer input = player.input;
+
+    if( channel.read( input ) < 0 )
+    {
+      throw new IOException( "Server closed a connection" );
+    }
+
+    input.flip( );
+    int size;
+    while( ( size = GameProtocol.messageSize( input ) ) > 0 )
+    {
+      int end = input.position( ) + size;
+
+      if( GameProtocol.typeOf( input ) == GameProtocol.WELCOME )
+      {
+        welcomed++;
+      }
+      else
+      {
+        try
+        {
+          player.state = GameProtocol.applyEvent( input, player.state );
+        }
+        catch( IllegalStateException ex )
+        {
+          player.restart = true;
+          rejected++;
+        }
+        record( player );
+      }
+
+      input.position( end );
+      send( channel, player );
+    }
+    input.compact( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  record()
+   * Prototype:      private void record( Player player );
+   * Description:    Record the round trip of the action just answered.
+   * Parameters:
+   *      arg 1:     Player player -- Connection that got the answer
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void record( Player player )
+  {
+    if( !measuring ) return;
+
+    if( numLatencies == latencies.length )
+    {
+      latencies = Arrays.copyOf( latencies, latencies.length * 2 );
+    }
+    latencies[ numLatencies++ ] = System.nanoTime( ) - player.sentAt;
+
+    if( GameState.isOver( player.state ) )
+    {
+      gamesFinished++;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  send()
+   * Prototype:      private void send( SocketChannel channel, Player player )
+   *                                 throws IOException;
+   * Description:    Send a connection's next action: roll (holding a few
+   *                 dice) until it is out of rolls, score the first open
+   *                 category, and start a new game once every category is
+   *                 used (or after a rejected action).
+   * Parameters:
+   *      arg 1:     SocketChannel channel -- Channel of the connection
+   *      arg 2:     Player player -- State of the connection
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void send( SocketChannel channel, Player player )
+    throws IOException
+  {
+    long state = player.state;
+    ByteBuffer output = player.output;
+    output.clear( );
+
+    if( player.restart || GameState.isOver( state ) )
+    {
+      GameProtocol.putNewGame( output );
+      player.restart = false;
+    }
+    else if( GameState.canRoll( state ) )
+    {
+      GameProtocol.putRoll( output,
+                            ( player.rolls++ * ScoreEngine.NUM_OF_DICE ) &
+                            ( ( 1 << ScoreEngine.NUM_OF_DICE ) - 1 ) );
+    }
+    else
+    {
+      GameProtocol.putScore( output, Integer.numberOfTrailingZeros(
+                                       ~GameState.getUsedMask( state ) ) );
+    }
+    output.flip( );
+
+    player.sentAt = System.nanoTime( );
+    while( output.hasRemaining( ) )
+    {
+      channel.write( output );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  report()
+   * Prototype:      private void report( int connections, long runNanos,
+   *                                      double connectMillis );
+   * Description:    Print the throughput and latency of the measured run.
+   * Parameters:
+   *      arg 1:     int connections -- Number of connections
+   *      arg 2:     long runNanos -- Length of the measured run
+   *      arg 3:     double connectMillis -- Time taken to connect them all
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void report( int connections, long runNanos, double connectMillis )
+  {
+    long[ ] sorted = Arrays.copyOf( latencies, numLatencies );
+    Arrays.sort( sorted );
+
+    System.out.printf( Locale.ROOT,
+                       "connections: %d  connect ms: %.1f%n" +
+                       "actions: %d  actions/sec: %.1f  games/sec: %.1f  " +
+                       "rejected: %d%n" +
+                       "rtt us  p50: %.1f  p90: %.1f  p99: %.1f  " +
+                       "p99.9: %.1f  max: %.1f%n",
+                       connections, connectMillis, numLatencies,
+                       numLatencies * (double) NANOS_PER_SEC / runNanos,
+                       gamesFinished * (double) NANOS_PER_SEC / runNanos,
+                       rejected,
+                       percentile( sorted, P50 ), percentile( sorted, P90 ),
+                       percentile( sorted, P99 ), percentile( sorted, P999 ),
+                       percentile( sorted, 1 ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  percentile()
+   * Prototype:      private static double percentile( long[ ] sorted,
+   *                                                   double fraction );
+   * Description:    Return a percentile of sorted latencies in microseconds.
+   * Parameters:
+   *      arg 1:     long[ ] sorted -- Latencies in nanoseconds, sorted
+   *      arg 2:     double fraction -- Percentile as a fraction (0 to 1)
+   * Return Value:   double -- Latency at the percentile (0 if none)
+   * ----------------------------------------------------------------------- */
+  private static double percentile( long[ ] sorted, double fraction )
+  {
+    if( sorted.length == 0 ) return 0;
+
+    int index = (int) Math.ceil( fraction * sorted.length ) - 1;
+    return sorted[ Math.max( index, 0 ) ] / NANOS_PER_MICRO;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  main()
+   * Prototype:      public static void main( String[ ] args )
+   *                                 throws IOException;
+   * Description:    Connect, play, and report.
+   * Parameters:
+   *      arg 1:     String[ ] args -- [connections] [seconds] [warmup
+   *                 seconds] [host:port] (an in-process server if the
+   *                 address is missing or empty)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void main( String[ ] args ) throws IOException
+  {
+    int connections = ( args.length > 0 )? Integer.parseInt( args[ 0 ] ):
+                      DEFAULT_CONNECTIONS;
+    long runNanos = NANOS_PER_SEC * ( ( args.length > 1 )?
+                                      Integer.parseInt( args[ 1 ] ):
+                                      DEFAULT_SECONDS );
+    long warmupNanos = NANOS_PER_SEC * ( ( args.length > 2 )?
+                                         Integer.parseInt( args[ 2 ] ):
+                                         DEFAULT_WARMUP );
+    String server = ( args.length > 3 )? args[ 3 ].trim( ): "";
+
+    InetSocketAddress address;
+    if( server.isEmpty( ) )
+    {
+      GameServer local = new GameServer( 0, Runtime.getRuntime( )
+                                              .availableProcessors( ), SEED );
+      local.start( );
+      address = new InetSocketAddress( "localhost", local.getPort( ) );
+      System.out.println( "in-process server on port " + address.getPort( ) );
+    }
+    else
+    {
+      int colon = server.lastIndexOf( ':' );
+      address = new InetSocketAddress( server.substring( 0, colon ),
+                                       Integer.parseInt(
+                                         server.substring( colon + 1 ) ) );
+    }
+
+    LoadGenerator generator = new LoadGenerator( address );
+
+    long start = System.nanoTime( );
+    generator.connect( connections );
+    double connectMillis = ( System.nanoTime( ) - start ) / NANOS_PER_MILLI;
+
+    generator.play( warmupNanos, runNanos );
+    generator.report( connections, runNanos, connectMillis );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Class Name:     Player
+   * Description:    What one connection knows about its game.
+   * ----------------------------------------------------------------------- */
+  private static class Player
+  {
+    private final ByteBuffer input =     // Answers not handled yet
+      ByteBuffer.allocate( GameProtocol.MAX_SIZE * 2 );
+    private final ByteBuffer output =    // Action being sent
+      ByteBuffer.allocate( GameProtocol.ACTION_SIZE );
+    private long state = GameState.NEW_GAME;  // Last state the server sent
+    private long sentAt;                      // When the action was sent
+    private int rolls;                        // Rolls made (picks holds)
+    private boolean restart;                  // Whether an action failed
+  }
+}
@@ -0,0 +1,220 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     ProtocolBenchmark.java                                      *
+ * Description:  JMH benchmarks of encoding and decoding the events of whole *
+ *               games: the binary GameProtocol into a reused ByteBuffer     *
+ *               against the JSON-lines TextProtocol baseline.  Times are    *
+ *               per event.  Run with "ant bench" (see build.xml); the gc    *
+ *               profiler reports allocation per op.                         *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ProtocolBenchmark
+{
+  // Number of games encoded
+  private static final int GAMES = 100;
+
+  // Events of a game: three rolls and a score each round, then a start
+  private static final int EVENTS_PER_GAME =
+    ScoreEngine.NUM_CATEGORIES * ( DiceController.MAX_ROLLS + 1 ) + 1;
+
+  // Number of events encoded or decoded per op
+  private static final int EVENTS = GAMES * EVENTS_PER_GAME;
+
+  // Seed of the dice (the same games every run)
+  private static final long SEED = 42;
+
+  // Every action of the games, its argument, and the state after it
+  private int[ ] actions = new int[ EVENTS ];
+  private int[ ] arguments = new int[ EVENTS ];
+  private long[ ] states = new long[ EVENTS ];
+
+  private ByteBuffer binary;        // Reused by the binary encoder
+  private ByteBuffer binaryEvents;  // The games encoded in binary
+  private byte[ ] textEvents;       // The games encoded as text
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setUp()
+   * Prototype:      public void setUp( );
+   * Description:    Play the games (rolling three times and scoring the
+   *                 first open category each round) and encode them both
+   *                 ways for the decoders.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Setup
+  public void setUp( )
+  {
+    DiceSource source = new SeededDiceSource( SEED );
+    int event = 0;
+
+    for( int game = 0; game < GAMES; game++ )
+    {
+      long state = GameState.NEW_GAME;
+
+      for( int round = 0; round < ScoreEngine.NUM_CATEGORIES; round++ )
+      {
+        for( int roll = 0; roll < DiceController.MAX_ROLLS; roll++ )
+        {
+          int holdMask = ( event * ScoreEngine.NUM_OF_DICE ) &
+                         ( ( 1 << ScoreEngine.NUM_OF_DICE ) - 1 );
+          state = GameState.roll( state, holdMask, source );
+          record( event++, GameSession.ROLL, holdMask, state );
+        }
+
+        int category =
+          Integer.numberOfTrailingZeros( ~GameState.getUsedMask( state ) );
+        state = GameState.score( state, category );
+        record( event++, GameSession.SCORE, category, state );
+      }
+
+      record( event++, GameSession.NEW_GAME, 0, GameState.NEW_GAME );
+    }
+
+    binary = ByteBuffer.allocate( EVENTS * GameProtocol.MAX_SIZE );
+    binaryEvents = ByteBuffer.allocate( EVENTS * GameProtocol.MAX_SIZE );
+    for( int index = 0; index < EVENTS; index++ )
+    {
+      GameProtocol.putEvent( binaryEvents, actions[ index ],
+                             arguments[ index ], states[ index ] );
+    }
+    binaryEvents.flip( );
+
+    textEvents = textEncode( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  record()
+   * Prototype:      private void record( int event, int action,
+   *                                      int argument, long state );
+   * Description:    Record one action of the games.
+   * Parameters:
+   *      arg 1:     int event -- Index of the action
+   *      arg 2:     int action -- Action (see GameSession)
+   *      arg 3:     int argument -- Hold mask or category of the action
+   *      arg 4:     long state -- Game state after the action
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void record( int event, int action, int argument, long state )
+  {
+    actions[ event ] = action;
+    arguments[ event ] = argument;
+    states[ event ] = state;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  binaryEncode()
+   * Prototype:      public int binaryEncode( );
+   * Description:    Encode every event in binary into the reused buffer.
+   * Parameters:     None
+   * Return Value:   int -- Bytes written
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  @OperationsPerInvocation( EVENTS )
+  public int binaryEncode( )
+  {
+    binary.clear( );
+
+    for( int index = 0; index < EVENTS; index++ )
+    {
+      GameProtocol.putEvent( binary, actions[ index ], arguments[ index ],
+                             states[ index ] );
+    }
+
+    return binary.position( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  binaryDecode()
+   * Prototype:      public long binaryDecode( );
+   * Description:    Decode every binary event, replaying the games.
+   * Parameters:     None
+   * Return Value:   long -- Game state after the last event
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  @OperationsPerInvocation( EVENTS )
+  public long binaryDecode( )
+  {
+    ByteBuffer events = binaryEvents.duplicate( );
+    long state = GameState.NEW_GAME;
+
+    while( events.hasRemaining( ) )
+    {
+      state = GameProtocol.applyEvent( events, state );
+    }
+
+    return state;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  textEncode()
+   * Prototype:      public byte[ ] textEncode( );
+   * Description:    Encode every event as a JSON line and the text as UTF-8.
+   * Parameters:     None
+   * Return Value:   byte[ ] -- Encoded events
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  @OperationsPerInvocation( EVENTS )
+  public byte[ ] textEncode( )
+  {
+    StringBuilder text = new StringBuilder( );
+
+    for( int index = 0; index < EVENTS; index++ )
+    {
+      TextProtocol.appendEvent( text, actions[ index ], arguments[ index ],
+                                states[ index ] );
+    }
+
+    return text.toString( ).getBytes( StandardCharsets.UTF_8 );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  textDecode()
+   * Prototype:      public long textDecode( );
+   * Description:    Decode every JSON line, replaying the games.
+   * Parameters:     None
+   * Return Value:   long -- Game state after the last event
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  @OperationsPerInvocation( EVENTS )
+  public long textDecode( )
+  {
+    String[ ] lines =
+      new String( textEvents, StandardCharsets.UTF_8 ).split( "\n" );
+    long state = GameState.NEW_GAME;
+
+    for( int index = 0; index < lines.length; index++ )
+    {
+      state = TextProtocol.applyEvent( lines[ index ], state );
+    }
+
+    return state;
+  }
+}
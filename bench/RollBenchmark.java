@@ -0,0 +1,126 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     RollBenchmark.java                                          *
+ * Description:  JMH benchmarks of the ways to roll five dice: the original  *
+ *               Math.random() formula, ThreadLocalRandom, and the seeded    *
+ *               and bulk dice sources.                                      *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class RollBenchmark
+{
+  // Seed of the dice sources
+  private static final long SEED = 42;
+
+  private DiceSource seeded;   // One draw per die
+  private DiceSource bulk;     // One draw per roll
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setUp()
+   * Prototype:      public void setUp( );
+   * Description:    Create the dice sources.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Setup
+  public void setUp( )
+  {
+    seeded = new SeededDiceSource( SEED );
+    bulk = new BulkDiceSource( SEED );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  mathRandom()
+   * Prototype:      public int mathRandom( );
+   * Description:    Roll five dice with Math.random() the way Dice.roll()
+   *                 originally did (with the range fixed to six faces).
+   * Parameters:     None
+   * Return Value:   int -- Dice packed three bits per die
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int mathRandom( )
+  {
+    int packed = 0;
+
+    for( int die = 0; die < ScoreEngine.NUM_OF_DICE; die++ )
+    {
+      int face = (int)( Math.floor( Math.random( ) *
+                                    ScoreEngine.MAX_DICE_VAL ) + 1 );
+      packed |= face << ( die * ScoreEngine.BITS_PER_DIE );
+    }
+
+    return packed;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  threadLocalRandom()
+   * Prototype:      public int threadLocalRandom( );
+   * Description:    Roll five dice with ThreadLocalRandom.
+   * Parameters:     None
+   * Return Value:   int -- Dice packed three bits per die
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int threadLocalRandom( )
+  {
+    ThreadLocalRandom random = ThreadLocalRandom.current( );
+    int packed = 0;
+
+    for( int die = 0; die < ScoreEngine.NUM_OF_DICE; die++ )
+    {
+      int face = random.nextInt( ScoreEngine.MAX_DICE_VAL ) + 1;
+      packed |= face << ( die * ScoreEngine.BITS_PER_DIE );
+    }
+
+    return packed;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  seededSource()
+   * Prototype:      public int seededSource( );
+   * Description:    Roll five dice with a SeededDiceSource.
+   * Parameters:     None
+   * Return Value:   int -- Dice packed three bits per die
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int seededSource( )
+  {
+    return seeded.nextFaces( ScoreEngine.NUM_OF_DICE );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  bulkSource()
+   * Prototype:      public int bulkSource( );
+   * Description:    Roll five dice with a BulkDiceSource.
+   * Parameters:     None
+   * Return Value:   int -- Dice packed three bits per die
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int bulkSource( )
+  {
+    return bulk.nextFaces( ScoreEngine.NUM_OF_DICE );
+  }
+}
@@ -0,0 +1,185 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     ScoringBenchmark.java                                       *
+ * Description:  JMH benchmarks of every way the game has scored a roll:     *
+ *               the original sort-and-scan logic, the ScoreEngine, and the  *
+ *               precomputed score table.  Run with "ant bench" (see         *
+ *               build.xml); the gc profiler reports allocation per op.      *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ScoringBenchmark
+{
+  // Number of random rolls cycled through (a power of two)
+  private static final int NUM_ROLLS = 1024;
+
+  // Seed of the random rolls (the same rolls every run)
+  private static final long SEED = 42;
+
+  private int[ ][ ] rolls;        // Random rolls, in rolled order
+  private int[ ][ ] sortedRolls;  // The same rolls sorted
+  private int[ ] packedRolls;     // The same rolls packed
+  private int[ ] hands;           // Hand index of each roll
+  private int[ ] scores;          // Scores of the current roll
+  private int next;               // Index of the next roll
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setUp()
+   * Prototype:      public void setUp( );
+   * Description:    Roll the dice used by every benchmark.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Setup
+  public void setUp( )
+  {
+    DiceSource source = new SeededDiceSource( SEED );
+
+    rolls = new int[ NUM_ROLLS ][ ScoreEngine.NUM_OF_DICE ];
+    sortedRolls = new int[ NUM_ROLLS ][ ];
+    packedRolls = new int[ NUM_ROLLS ];
+    hands = new int[ NUM_ROLLS ];
+    scores = new int[ ScoreEngine.NUM_CATEGORIES ];
+
+    for( int roll = 0; roll < NUM_ROLLS; roll++ )
+    {
+      for( int die = 0; die < ScoreEngine.NUM_OF_DICE; die++ )
+      {
+        rolls[ roll ][ die ] = source.nextFace( );
+      }
+
+      sortedRolls[ roll ] = rolls[ roll ].clone( );
+      Arrays.sort( sortedRolls[ roll ] );
+      packedRolls[ roll ] = ScoreEngine.pack( rolls[ roll ] );
+      hands[ roll ] = HandIndex.indexOf( rolls[ roll ] );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextRoll()
+   * Prototype:      private int nextRoll( );
+   * Description:    Return the index of the next roll to score.
+   * Parameters:     None
+   * Return Value:   int -- Index of the roll
+   * ----------------------------------------------------------------------- */
+  private int nextRoll( )
+  {
+    next = ( next + 1 ) & ( NUM_ROLLS - 1 );
+    return next;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  legacySortAndScan()
+   * Prototype:      public int[ ] legacySortAndScan( );
+   * Description:    Copy and sort the dice (as getDiceValues() did) and
+   *                 score them with the original logic.
+   * Parameters:     None
+   * Return Value:   int[ ] -- Scores of the roll
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int[ ] legacySortAndScan( )
+  {
+    int[ ] dice = rolls[ nextRoll( ) ].clone( );
+    Arrays.sort( dice );
+    LegacyScoring.scoreAll( dice, scores );
+    return scores;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  legacyScan()
+   * Prototype:      public int[ ] legacyScan( );
+   * Description:    Score already sorted dice with the original logic.
+   * Parameters:     None
+   * Return Value:   int[ ] -- Scores of the roll
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int[ ] legacyScan( )
+  {
+    LegacyScoring.scoreAll( sortedRolls[ nextRoll( ) ], scores );
+    return scores;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  engine()
+   * Prototype:      public int[ ] engine( );
+   * Description:    Score unsorted dice with the ScoreEngine.
+   * Parameters:     None
+   * Return Value:   int[ ] -- Scores of the roll
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int[ ] engine( )
+  {
+    ScoreEngine.scoreAll( rolls[ nextRoll( ) ], scores );
+    return scores;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  enginePacked()
+   * Prototype:      public int[ ] enginePacked( );
+   * Description:    Score packed dice with the ScoreEngine.
+   * Parameters:     None
+   * Return Value:   int[ ] -- Scores of the roll
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int[ ] enginePacked( )
+  {
+    ScoreEngine.scoreAllPacked( packedRolls[ nextRoll( ) ], scores );
+    return scores;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  tableFromDice()
+   * Prototype:      public int[ ] tableFromDice( );
+   * Description:    Find the hand index of unsorted dice and copy its scores
+   *                 from the score table.
+   * Parameters:     None
+   * Return Value:   int[ ] -- Scores of the roll
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int[ ] tableFromDice( )
+  {
+    HandIndex.scoreAll( HandIndex.indexOf( rolls[ nextRoll( ) ] ), scores );
+    return scores;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  tableFromHand()
+   * Prototype:      public int[ ] tableFromHand( );
+   * Description:    Copy the scores of a known hand from the score table.
+   * Parameters:     None
+   * Return Value:   int[ ] -- Scores of the roll
+   * ----------------------------------------------------------------------- */
+  @Benchmark
+  public int[ ] tableFromHand( )
+  {
+    HandIndex.scoreAll( hands[ nextRoll( ) ], scores );
+    return scores;
+  }
+}
@@ -0,0 +1,178 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     StartupReport.java                                          *
+ * Description:  Times how long the JVM takes to run the game's headless     *
+ *               startup and a short simulation, with and without the class  *
+ *               data sharing archive, and prints a before/after report.     *
+ *               Run with "ant cds-report" (see build.xml).                  *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class StartupReport
+{
+  // Default number of runs of each command (with and without the archive)
+  private static final int DEFAULT_RUNS = 5;
+
+  // Games simulated by the simulation command
+  private static final String SIM_GAMES = "1000";
+
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final double PERCENT = 100;
+  private static final int HALF_DIV = 2;
+
+  private String java;     // Path of the java command
+  private File jar;        // Game jar
+  private File archive;    // CDS archive made from the jar
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      StartupReport()
+   * Prototype:      public StartupReport( File jar, File archive );
+   * Description:    Create a report of the passed in jar and archive, run
+   *                 with the same java as this program.
+   * Parameters:
+   *      arg 1:     File jar -- Game jar
+   *      arg 2:     File archive -- CDS archive made from the jar
+   * ----------------------------------------------------------------------- */
+  public StartupReport( File jar, File archive )
+  {
+    this.java = System.getProperty( "java.home" ) + File.separator + "bin" +
+                File.separator + "java";
+    this.jar = jar;
+    this.archive = archive;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  time()
+   * Prototype:      private long time( boolean useArchive,
+   *                                    String... command )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Run a class from the jar and return how long the process
+   *                 took, from starting it to it exiting.
+   * Parameters:
+   *      arg 1:     boolean useArchive -- Whether to use the CDS archive
+   *      arg 2:     String... command -- Main class and its arguments
+   * Return Value:   long -- Run time in nanoseconds
+   * ----------------------------------------------------------------------- */
+  private long time( boolean useArchive, String... command )
+    throws IOException, InterruptedException
+  {
+    List<String> line = new ArrayList<>( );
+    line.add( java );
+    line.add( useArchive? "-XX:SharedArchiveFile=" + archive: "-Xshare:auto" );
+    line.add( "-Djava.awt.headless=true" );
+    line.add( "-cp" );
+    line.add( jar.getPath( ) );
+    line.addAll( Arrays.asList( command ) );
+
+    ProcessBuilder builder = new ProcessBuilder( line );
+    builder.redirectErrorStream( true );
+    builder.redirectOutput( ProcessBuilder.Redirect.DISCARD );
+
+    long start = System.nanoTime( );
+    int status = builder.start( ).waitFor( );
+    long nanos = System.nanoTime( ) - start;
+
+    if( status != 0 )
+    {
+      throw new IllegalStateException( "Exit status " + status + ": " +
+                                       line );
+    }
+
+    return nanos;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  report()
+   * Prototype:      public void report( String name, int runs,
+   *                                     String... command )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Time a command with and without the archive (taking
+   *                 turns, so both see the same machine load) and print the
+   *                 median times and the speedup.
+   * Parameters:
+   *      arg 1:     String name -- Name of the command in the report
+   *      arg 2:     int runs -- Number of runs each way
+   *      arg 3:     String... command -- Main class and its arguments
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void report( String name, int runs, String... command )
+    throws IOException, InterruptedException
+  {
+    long[ ] before = new long[ runs ];
+    long[ ] after = new long[ runs ];
+
+    // Warm the file cache so the first run isn't slower than the rest
+    time( false, command );
+
+    for( int run = 0; run < runs; run++ )
+    {
+      before[ run ] = time( false, command );
+      after[ run ] = time( true, command );
+    }
+
+    double beforeMillis = median( before ) / NANOS_PER_MILLI;
+    double afterMillis = median( after ) / NANOS_PER_MILLI;
+
+    System.out.printf( "%-28s %9.1f ms %9.1f ms %+8.1f%%%n", name,
+                       beforeMillis, afterMillis,
+                       ( afterMillis - beforeMillis ) / beforeMillis *
+                       PERCENT );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  median()
+   * Prototype:      private static long median( long[ ] values );
+   * Description:    Return the median of the values (sorting them).
+   * Parameters:
+   *      arg 1:     long[ ] values -- Values to find the median of
+   * Return Value:   long -- Median value
+   * ----------------------------------------------------------------------- */
+  private static long median( long[ ] values )
+  {
+    Arrays.sort( values );
+    return values[ values.length / HALF_DIV ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  main()
+   * Prototype:      public static void main( String[ ] args )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Print the startup report of the jar and archive.
+   * Parameters:
+   *      arg 1:     String[ ] args -- jar archive [runs]
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void main( String[ ] args )
+    throws IOException, InterruptedException
+  {
+    File jar = new File( args[ 0 ] );
+    File archive = new File( args[ 1 ] );
+    int runs = ( args.length > 2 )? Integer.parseInt( args[ 2 ] ):
+               DEFAULT_RUNS;
+
+    if( !archive.exists( ) )
+    {
+      throw new IllegalArgumentException( "No CDS archive: " + archive );
+    }
+
+    StartupReport report = new StartupReport( jar, archive );
+
+    System.out.println( "median of " + runs + " runs each" );
+    System.out.printf( "%-28s %12s %12s %9s%n", "command", "default CDS",
+                       "app CDS", "change" );
+    report.report( "headless startup + round", runs, "StartupTraining" );
+    report.report( "simulate " + SIM_GAMES + " greedy games", runs,
+                   "SimulationRunner", SIM_GAMES, "greedy", "1", "1" );
+  }
+}
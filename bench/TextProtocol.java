@@ -0,0 +1,154 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     TextProtocol.java                                           *
+ * Description:  A straightforward JSON-lines encoding of the roll and score *
+ *               events GameProtocol encodes in binary, kept here as the     *
+ *               baseline the binary encoding is benchmarked against.  One   *
+ *               event per line, for example:                                *
+ *                                                                           *
+ *                 {"type":"rolled","hold":3,"dice":[4,4,2,6,1]}             *
+ *                 {"type":"scored","category":3,"upper":12,"total":12}      *
+ *                 {"type":"started"}                                        *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public class TextProtocol
+{
+  // Values of the type key
+  private static final String ROLLED = "rolled";
+  private static final String SCORED = "scored";
+  private static final String STARTED = "started";
+
+  // Keys of the values
+  private static final String TYPE_KEY = "\"type\":\"";
+  private static final String HOLD_KEY = "\"hold\":";
+  private static final String DICE_KEY = "\"dice\":[";
+  private static final String CATEGORY_KEY = "\"category\":";
+  private static final String UPPER_KEY = "\"upper\":";
+  private static final String TOTAL_KEY = "\"total\":";
+
+  private static final int RADIX = 10;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      TextProtocol()
+   * Prototype:      private TextProtocol( );
+   * Description:    Only has static methods, so it is never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private TextProtocol( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  appendEvent()
+   * Prototype:      public static void appendEvent( StringBuilder out,
+   *                                                 int action, int argument,
+   *                                                 long state );
+   * Description:    Append the line of the event an action caused (like
+   *                 GameProtocol.putEvent()).
+   * Parameters:
+   *      arg 1:     StringBuilder out -- Text to append to
+   *      arg 2:     int action -- Action that was applied (see GameSession)
+   *      arg 3:     int argument -- Hold mask or category of the action
+   *      arg 4:     long state -- Game state after the action
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void appendEvent( StringBuilder out, int action,
+                                  int argument, long state )
+  {
+    switch( action )
+    {
+      case GameSession.ROLL:
+        out.append( '{' ).append( TYPE_KEY ).append( ROLLED ).append( "\"," )
+           .append( HOLD_KEY )
+           .append( ( GameState.getRolls( state ) == 1 )? 0: argument )
+           .append( ',' ).append( DICE_KEY );
+        for( int index = 0; index < ScoreEngine.NUM_OF_DICE; index++ )
+        {
+          out.append( ( index > 0 )? ",": "" )
+             .append( GameState.getDie( state, index ) );
+        }
+        out.append( "]}\n" );
+        break;
+      case GameSession.SCORE:
+        out.append( '{' ).append( TYPE_KEY ).append( SCORED ).append( "\"," )
+           .append( CATEGORY_KEY ).append( argument ).append( ',' )
+           .append( UPPER_KEY ).append( GameState.getUpper( state ) )
+           .append( ',' ).append( TOTAL_KEY )
+           .append( GameState.getTotal( state ) ).append( "}\n" );
+        break;
+      default:
+        out.append( '{' ).append( TYPE_KEY ).append( STARTED )
+           .append( "\"}\n" );
+        break;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  applyEvent()
+   * Prototype:      public static long applyEvent( String line, long state );
+   * Description:    Parse one event line and return the state after it (like
+   *                 GameProtocol.applyEvent()).
+   * Parameters:
+   *      arg 1:     String line -- Line of an event
+   *      arg 2:     long state -- Game state before the event
+   * Return Value:   long -- Game state after the event
+   * ----------------------------------------------------------------------- */
+  public static long applyEvent( String line, long state )
+  {
+    int start = line.indexOf( TYPE_KEY ) + TYPE_KEY.length( );
+    String type = line.substring( start, line.indexOf( '"', start ) );
+
+    switch( type )
+    {
+      case ROLLED:
+        int[ ] dice = new int[ ScoreEngine.NUM_OF_DICE ];
+        String[ ] faces =
+          line.substring( line.indexOf( DICE_KEY ) + DICE_KEY.length( ),
+                          line.indexOf( ']' ) ).split( "," );
+        for( int index = 0; index < dice.length; index++ )
+        {
+          dice[ index ] = Integer.parseInt( faces[ index ] );
+        }
+        return GameState.withDice( state, ScoreEngine.pack( dice ) );
+      case SCORED:
+        long next = GameState.score( state, intValue( line, CATEGORY_KEY ) );
+        if( intValue( line, UPPER_KEY ) != GameState.getUpper( next ) ||
+            intValue( line, TOTAL_KEY ) != GameState.getTotal( next ) )
+        {
+          throw new IllegalStateException( "Totals don't match the game: " +
+                                           line );
+        }
+        return next;
+      case STARTED:
+        return GameState.NEW_GAME;
+      default:
+        throw new IllegalArgumentException( "Not an event: " + line );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  intValue()
+   * Prototype:      private static int intValue( String line, String key );
+   * Description:    Return the number after a key in a line.
+   * Parameters:
+   *      arg 1:     String line -- Line of an event
+   *      arg 2:     String key -- Key (with its quotes and colon)
+   * Return Value:   int -- Value of the key
+   * ----------------------------------------------------------------------- */
+  private static int intValue( String line, String key )
+  {
+    int start = line.indexOf( key ) + key.length( );
+    int end = start;
+    while( Character.isDigit( line.charAt( end ) ) )
+    {
+      end++;
+    }
+
+    return Integer.parseInt( line.substring( start, end ), RADIX );
+  }
+}
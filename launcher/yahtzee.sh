@@ -0,0 +1,38 @@
+#!/bin/sh
+# ---------------------------------------------------------------------------
+# Filename:     yahtzee
+# Description:  Linux launcher for Yahtzee and the simulation tools.  Uses
+#               the class data sharing archive made by "ant cds" when it is
+#               next to the jar, so the JVM starts faster.
+#
+#               yahtzee                     Play the game
+#               yahtzee --headless [args]   Run a YahtzeeCli batch command
+#               yahtzee --simulate [args]   Run SimulationRunner
+#               yahtzee --connect host:port Play the game on a server
+#               yahtzee --replay N [log]    Replay game N of the game log
+# Author:       Taylor Durrer
+# Date:         October 17, 2026
+# ---------------------------------------------------------------------------
+
+DIR=$(cd "$(dirname "$0")" && pwd)
+JAR="$DIR/Yahtzee_V1.jar"
+ARCHIVE="$DIR/Yahtzee_V1.jsa"
+
+# The archive only matches the jar it was made with, so fall back quietly
+CDS=""
+if [ -f "$ARCHIVE" ]; then
+  CDS="-XX:SharedArchiveFile=$ARCHIVE -Xshare:auto -Xlog:cds=off"
+fi
+
+# Batch commands start from YahtzeeCli so AWT is never loaded
+if [ "$1" = "--headless" ]; then
+  shift
+  exec java $CDS -cp "$JAR" YahtzeeCli "$@"
+fi
+
+if [ "$1" = "--simulate" ]; then
+  shift
+  exec java $CDS -cp "$JAR" SimulationRunner "$@"
+fi
+
+exec java $CDS -jar "$JAR" "$@"
@@ -7,14 +7,18 @@
  * Date:         July 13, 2015                                               *
  * ------------------------------------------------------------------------- */
 
-import java.awt.event.*;   // For ActionListener (button clicks)
 import javax.swing.*;      // For JComponents (GUI)
 
-public class ActiveScore extends Score implements ActionListener
+public class ActiveScore extends Score
 {
-  private int tempValue;         // Score of this component for current dice
   private JButton valueButton;   // Button to choose this score component
-  private boolean used;          // Whether this component has been used yet
+
+  // State of the component (set on the game thread, read when rendering on
+  // the event dispatch thread)
+  private volatile int tempValue;     // Score of this component for the dice
+  private volatile boolean used;      // Whether this component has been used
+  private volatile String hint = "";  // Hint shown after the temp value
+  private volatile boolean enabled;   // Whether the button can be clicked
 
 
   /* ----------------------------------------------------------------------- *
@@ -37,57 +41,23 @@ public class ActiveScore extends Score implements ActionListener
     // Set up the button
     valueButton = new JButton( );
     valueButton.setEnabled( false );
-    valueButton.addActionListener( this );
     scoreComponent.add( valueButton );
   }
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  actionPerformed()
-   * Prototype:      public void actionPerformed( ActionEvent evt );
-   * Description:    Handles button clicks for the score button.
-   * Parameters:
-   *      arg 1:     ActionEvent evt -- Provides info on what button was clicked
-   * Return Value:   None
-   * ----------------------------------------------------------------------- */
-  @Override
-  public void actionPerformed( ActionEvent evt )
-  {
-    // Start a new thread to handle non-GUI related actions
-    Thread scoreButtonThread = new Thread( )
-    {
-      public void run( )
-      {
-        scoreButtonClicked( );
-      }
-    };
-    scoreButtonThread.setPriority( Thread.NORM_PRIORITY );
-    scoreButtonThread.start( );
-  }
-
-
-  /* ----------------------------------------------------------------------- *
-   * Function Name:  scoreButtonClicked()
-   * Prototype:      private void scoreButtonClicked( );
-   * Description:    Handle button clicks for the value button in a non-UI
-   *                 thread.
+   * Function Name:  choose()
+   * Prototype:      public void choose( );
+   * Description:    Score the current dice in this component (called on the
+   *                 game thread when the value button is clicked).
    * Parameters:     None
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  private void scoreButtonClicked( )
+  public void choose( )
   {
     // Save temp value as permanent value
     value = tempValue;
 
-    // Invoke on the event dispatch thread
-    SwingUtilities.invokeLater( new Runnable( )
-    {
-      public void run( )
-      {
-        valueLabel.setText( "" + value );
-      }
-    } );
-
     // Disable the button for the rest of the game
     enableButton( false );
     used = true;
@@ -95,67 +65,36 @@ public class ActiveScore extends Score implements ActionListener
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  addTempValue()
-   * Prototype:      public void addTempValue( int value );
-   * Description:    Add the value passed in to the tempValue.
+   * Function Name:  setTempValue()
+   * Prototype:      public void setTempValue( int value );
+   * Description:    Set the tempValue to the passed in score for the current
+   *                 dice.
    * Parameters:
-   *      arg 1:     int value -- Value to add to tempValue
+   *      arg 1:     int value -- Score of this component for current dice
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  public void addTempValue( int value )
+  public void setTempValue( int value )
   {
-    tempValue += value;
-    updateValueButton( );
+    tempValue = value;
+    hint = "";
+    RenderQueue.markDirty( this );
   }
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  scoreTempValue()
-   * Prototype:      public void scoreTempValue( int pointValue, int[ ] dice );
-   * Description:    Set the tempValue for this score component to the passed
-   *                 in point value.  If the passed in pointValue is zero, set
-   *                 the tempValue as the sum of the dice values.
+   * Function Name:  showHint()
+   * Prototype:      public void showHint( double expected );
+   * Description:    Show the expected final score of choosing this score
+   *                 component next to the temp value (until the next
+   *                 setTempValue()).
    * Parameters:
-   *      arg 1:     int pointValue -- Points awarded for this component
-   *      arg 2:     int[ ] dice -- Dice values sorted in increasing order
+   *      arg 1:     double expected -- Expected final score of the game
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  public void scoreTempValue( int pointValue, int[ ] dice )
+  public void showHint( double expected )
   {
-    // Set tempValue equal to pointValue as long as pointValue isn't zero
-    if( pointValue != 0 )
-    {
-      tempValue = pointValue;
-    }
-
-    // Otherwise, the point value is the sum of the dice
-    else
-    {
-      // Reset tempValue
-      tempValue = 0;
-
-      // Sum up the dice values
-      for( int index = 0; index < dice.length; index++ )
-      {
-        tempValue += dice[ index ];
-      }
-    }
-
-    updateValueButton( );
-  }
-
-
-  /* ----------------------------------------------------------------------- *
-   * Function Name:  resetTempValue()
-   * Prototype:      public void resetTempValue( );
-   * Description:    Reset the temp value back to zero.
-   * Parameters:     None
-   * Return Values:  None
-   * ----------------------------------------------------------------------- */
-  public void resetTempValue( )
-  {
-    tempValue = 0;
-    updateValueButton( );
+    hint = " (" + Math.round( expected ) + ")";
+    RenderQueue.markDirty( this );
   }
 
 
@@ -172,29 +111,6 @@ public class ActiveScore extends Score implements ActionListener
   }
 
 
-  /* ----------------------------------------------------------------------- *
-   * Function Name:  updateValueButton()
-   * Prototype:      private void updateValueButton( );
-   * Description:    Update the value button to match the tempValue.
-   * Parameters:     None
-   * Return Value:   None
-   * ----------------------------------------------------------------------- */
-  private void updateValueButton( )
-  {
-    // Exit method if score component has already been used
-    if( used ) return;
-
-    // Invoke on the event dispatch thread
-    SwingUtilities.invokeLater( new Runnable( )
-    {
-      public void run( )
-      {
-        valueButton.setText( "" + tempValue );
-      }
-    } );
-  }
-
-
   /* ----------------------------------------------------------------------- *
    * Function Name:  enableButton()
    * Prototype:      public void enableButton( boolean enable );
@@ -209,27 +125,27 @@ public class ActiveScore extends Score implements ActionListener
     // Exit method if this score component has already been used
     if( used ) return;
 
-    // If disabling button, remove its text first
-    if( !enable )
-    {
-      // Invoke this on the event dispatch thread
-      SwingUtilities.invokeLater( new Runnable( )
-      {
-        public void run( )
-        {
-          valueButton.setText( "" );
-        }
-      } );
-    }
+    enabled = enable;
+    RenderQueue.markDirty( this );
+  }
+
 
-    // Invoke this on the event dispatch thread
-    SwingUtilities.invokeLater( new Runnable( )
-    {
-      public void run( )
-      {
-        valueButton.setEnabled( enable );
-      }
-    } );
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  render()
+   * Prototype:      public void render( );
+   * Description:    Update the value label and value button to match this
+   *                 score (an enabled button shows the temp value and hint, a
+   *                 disabled button is blank).  Must be called on the event
+   *                 dispatch thread.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Override
+  public void render( )
+  {
+    super.render( );
+    valueButton.setEnabled( enabled );
+    valueButton.setText( enabled? tempValue + hint: "" );
   }
 
 
@@ -0,0 +1,107 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     BulkDiceSource.java                                         *
+ * Description:  Dice source that rolls up to five dice from a single 64-bit *
+ *               draw.  The draw is scaled to one of the 6^5 = 7776 ordered  *
+ *               rolls of five dice, which is looked up in a table of packed *
+ *               rolls.                                                      *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.SplittableRandom;
+
+public class BulkDiceSource implements DiceSource
+{
+  // Number of ordered rolls of five dice
+  private static final int NUM_ROLLS = 7776;
+
+  // Number of bits of the draw scaled to a roll
+  private static final int DRAW_BITS = 32;
+
+  // Every ordered roll of five dice, packed three bits per die
+  private static final int[ ] ROLLS = new int[ NUM_ROLLS ];
+
+  static
+  {
+    for( int roll = 0; roll < NUM_ROLLS; roll++ )
+    {
+      int packed = 0;
+      int rest = roll;
+
+      // Each base 6 digit of the roll number is one die
+      for( int die = 0; die < ScoreEngine.NUM_OF_DICE; die++ )
+      {
+        int face = rest % ScoreEngine.MAX_DICE_VAL + ScoreEngine.MIN_DICE_VAL;
+        packed |= face << ( die * ScoreEngine.BITS_PER_DIE );
+        rest /= ScoreEngine.MAX_DICE_VAL;
+      }
+
+      ROLLS[ roll ] = packed;
+    }
+  }
+
+  private SplittableRandom random;   // Generator the dice are rolled with
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      BulkDiceSource()
+   * Prototype:      public BulkDiceSource( long seed );
+   * Description:    Create a dice source with the passed in seed.
+   * Parameters:
+   *      arg 1:     long seed -- Seed of the generator
+   * ----------------------------------------------------------------------- */
+  public BulkDiceSource( long seed )
+  {
+    this( new SplittableRandom( seed ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      BulkDiceSource()
+   * Prototype:      public BulkDiceSource( SplittableRandom random );
+   * Description:    Create a dice source that draws from the passed in
+   *                 generator (which it must not share with other threads).
+   * Parameters:
+   *      arg 1:     SplittableRandom random -- Generator to roll with
+   * ----------------------------------------------------------------------- */
+  public BulkDiceSource( SplittableRandom random )
+  {
+    this.random = random;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextFace()
+   * Prototype:      public int nextFace( );
+   * Description:    Roll one die.
+   * Parameters:     None
+   * Return Value:   int -- Face the die landed on (1 to 6)
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int nextFace( )
+  {
+    return nextFaces( 1 );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextFaces()
+   * Prototype:      public int nextFaces( int count );
+   * Description:    Roll up to five dice with one draw from the generator.
+   *                 The top 32 bits of the draw are scaled to a roll number
+   *                 by multiplying and shifting (no division or retries).
+   * Parameters:
+   *      arg 1:     int count -- Number of dice to roll (0 to 5)
+   * Return Value:   int -- Faces the dice landed on, packed three bits per die
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int nextFaces( int count )
+  {
+    long draw = random.nextLong( ) >>> DRAW_BITS;
+    int roll = (int) ( ( draw * NUM_ROLLS ) >>> DRAW_BITS );
+
+    // Keep only the dice that were asked for
+    int bits = count * ScoreEngine.BITS_PER_DIE;
+    return ROLLS[ roll ] & (int) ( ( 1L << bits ) - 1 );
+  }
+}
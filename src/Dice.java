@@ -9,56 +9,54 @@
 import java.awt.event.*;       // For ActionListener (button clicks)
 import javax.swing.*;          // For JComponents (GUI)
 import java.awt.Component;
-import java.net.URL;           // For loading images from jar file
+import java.awt.Color;
+import javax.swing.border.Border;
 
-public class Dice implements ActionListener
+public class Dice implements ActionListener, Renderable
 {
-  // Default dice images
-  private static final ImageIcon[ ] DICE_IMG =
-  {
-    loadImage( "OneDice.GIF" ),
-    loadImage( "TwoDice.GIF" ),
-    loadImage( "ThreeDice.GIF" ),
-    loadImage( "FourDice.GIF" ),
-    loadImage( "FiveDice.GIF" ),
-    loadImage( "SixDice.GIF" )
-  };
-
-  // Held dice images
-  private static final ImageIcon[ ] DICE_IMG_HELD =
-  {
-    loadImage( "OneDiceHeld.GIF" ),
-    loadImage( "TwoDiceHeld.GIF" ),
-    loadImage( "ThreeDiceHeld.GIF" ),
-    loadImage( "FourDiceHeld.GIF" ),
-    loadImage( "FiveDiceHeld.GIF" ),
-    loadImage( "SixDiceHeld.GIF" )
-  };
+  // Width of the border drawn around dice the hint suggests holding
+  private static final int HINT_THICKNESS = 3;
 
-  // Amount of time to pause thread to make GUI more responsive
-  private static final int PAUSE = 5;
+  // Border around dice the hint suggests holding (and around other dice,
+  // so the images don't move when a hint is shown)
+  private static final Border HINT_BORDER =
+    BorderFactory.createLineBorder( Color.GREEN, HINT_THICKNESS );
+  private static final Border NO_HINT_BORDER =
+    BorderFactory.createEmptyBorder( HINT_THICKNESS, HINT_THICKNESS,
+                                     HINT_THICKNESS, HINT_THICKNESS );
 
-  private static final int NUM_OF_DICE = 5;  // Number of dice in the game
-  private static final int MIN_VAL = 1;      // Minimum/default value of dice
-  private static final int MAX_VAL = 6;      // Maximum possible value of dice
+  public static final int MIN_VAL = 1;       // Minimum/default value of dice
 
 
   private JPanel diceComponent; // Panel containing single dice and hold button
-  private int value;            // Value of the dice
   private JLabel image;         // Image of dice being displayed
-  private boolean hold;         // Whether or not the dice is being held
   private JButton holdButton;   // Button to hold/unhold dice
+  private int position;         // Position of the dice (0 to 4)
+
+  // Width and height of the dice image (only used on the event dispatch
+  // thread)
+  private int imageSize = DiceImageCache.NATURAL_SIZE;
+
+  // State of the dice (set on the game thread, read when rendering on the
+  // event dispatch thread)
+  private volatile int value;            // Value of the dice
+  private volatile boolean hold;         // Whether the dice is being held
+  private volatile boolean holdEnabled;  // Whether the dice can be held
+  private volatile boolean hinted;       // Whether the hint suggests holding
 
 
   /* ----------------------------------------------------------------------- *
    * Function Name:  Dice()
-   * Prototype:      public Dice( JPanel basePanel );
+   * Prototype:      public Dice( JPanel basePanel, int position );
    * Description:    Constructs a new dice object on the passed in panel.
    * Parameters:
    *      arg 1:     JPanel basePanel -- GUI panel to build dice on
+   *      arg 2:     int position -- Position of the dice (0 to 4)
    * ----------------------------------------------------------------------- */
-  public Dice( JPanel basePanel )
+  public Dice( JPanel basePanel, int position )
   {
+    this.position = position;
+
     // Set up this dice component's JPanel
     diceComponent = new JPanel( );
     diceComponent.setLayout( new BoxLayout( diceComponent, BoxLayout.Y_AXIS ) );
@@ -68,8 +66,9 @@ public class Dice implements ActionListener
     value = MIN_VAL;
 
     // Set up the dice image
-    image = new JLabel( DICE_IMG[ value - 1 ] );
+    image = new JLabel( DiceImageCache.getIcon( value, false, imageSize ) );
     image.setAlignmentX( Component.CENTER_ALIGNMENT );
+    image.setBorder( NO_HINT_BORDER );
     diceComponent.add( image );
 
     // Set up the hold button
@@ -87,48 +86,27 @@ public class Dice implements ActionListener
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  updateImage()
-   * Prototype:      private void updateImage( );
-   * Description:    Update the image of the dice to its corresponding value
-   *                 and hold status.
+   * Function Name:  render()
+   * Prototype:      public void render( );
+   * Description:    Update the image, hint border, and hold button to match
+   *                 the value and hold status of the dice.  Must be called on
+   *                 the event dispatch thread.
    * Parameters:     None
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  private void updateImage( )
+  @Override
+  public void render( )
   {
-    // If dice is held
-    if( hold )
-    {
-      // Invoke on the event dispatch thread
-      SwingUtilities.invokeLater( new Runnable( )
-      {
-        public void run( )
-        {
-          image.setIcon( DICE_IMG_HELD[ value - 1 ] );
-        }
-      } );
-    }
-
-    // If dice is not held
-    else
-    {
-      // Invoke on the event dispatch thread
-      SwingUtilities.invokeLater( new Runnable( )
-      {
-        public void run( )
-        {
-          image.setIcon( DICE_IMG[ value - 1 ] );
-        }
-      } );
-    }
+    image.setIcon( DiceImageCache.getIcon( value, hold, imageSize ) );
+    image.setBorder( hinted? HINT_BORDER: NO_HINT_BORDER );
+    holdButton.setEnabled( holdEnabled );
   }
 
 
   /* ----------------------------------------------------------------------- *
    * Function Name:  actionPerformed()
    * Prototype:      public void actionPerformed( ActionEvent evt );
-   * Description:    Calls the appropriate method to handle button clicks for 
-   *                 the hold button and the score buttons.
+   * Description:    Handle button clicks for the hold button.
    * Parameters:
    *      arg 1:     ActionEvent evt -- Provides info on what button was clicked
    * Return Value:   None
@@ -136,32 +114,13 @@ public class Dice implements ActionListener
   @Override
   public void actionPerformed( ActionEvent evt )
   {
-    Thread actionThread = new Thread( )
+    GameExecutor.submit( new Runnable( )
     {
       public void run( )
       {
-        // The hold button was clicked
-        if( evt.getSource( ) == holdButton )
-        {
-          hold( );
-        }
-
-        // A score button was clicked
-        else
-        {
-          // Disable the hold button (on the event dispatch thread)
-          SwingUtilities.invokeLater( new Runnable( )
-          {
-            public void run( )
-            {
-              holdButton.setEnabled( false );
-            }
-          } );
-        }
+        hold( );
       }
-    };
-    actionThread.setPriority( Thread.NORM_PRIORITY );
-    actionThread.start( );
+    } );
   }
 
 
@@ -174,22 +133,44 @@ public class Dice implements ActionListener
    * ----------------------------------------------------------------------- */
   private void hold( )
   {
+    // Ignore clicks queued up before the hold button was disabled
+    if( !holdEnabled ) return;
+
     hold = !hold;
-    updateImage( );
+    GameRecorder.held( position );
+    RenderQueue.markDirty( this );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreChosen()
+   * Prototype:      public void scoreChosen( );
+   * Description:    Disable the hold button and clear any hint once the dice
+   *                 have been scored.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void scoreChosen( )
+  {
+    holdEnabled = false;
+    hinted = false;
+    RenderQueue.markDirty( this );
   }
 
 
   /* ----------------------------------------------------------------------- *
    * Function Name:  roll()
-   * Prototype:      public void roll( int numRolls, int maxRolls );
+   * Prototype:      public void roll( int numRolls, int maxRolls,
+   *                                     DiceSource source );
    * Description:    Roll the dice and enable/disable the hold buttons depending
    *                 on how many times the dice have been rolled this round.
    * Parameters:
    *      arg 1:     int numRolls -- # of times dice have been rolled this round
    *      arg 2:     int maxRolls -- Max # of rolls per round
+   *      arg 3:     DiceSource source -- Source to roll the die with
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  public void roll( int numRolls, int maxRolls )
+  public void roll( int numRolls, int maxRolls, DiceSource source )
   {
     // If this is the first roll, reset dice so none are held
     if( numRolls == 1 )
@@ -200,29 +181,45 @@ public class Dice implements ActionListener
     // Only roll the dice if they are not held
     if( !hold )
     {
-      // Generate a random value for the die
-      value = (int)( Math.floor( Math.random( ) * ( NUM_OF_DICE + 1 ) ) + 1 );
-      updateImage( );
+      // Roll a new value for the die
+      value = source.nextFace( );
     }
 
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( 5 );
-    }
-    catch( InterruptedException ex ) {}
-
     // Disable hold button if on last roll of round, otherwise enable
-    boolean enable = ( numRolls < maxRolls )? true: false;
-    
-    // Enable/disable the hold button in the event dispatch thread
-    SwingUtilities.invokeLater( new Runnable( )
-    {
-      public void run( )
-      {
-        holdButton.setEnabled( enable );
-      }
-    } );
+    holdEnabled = numRolls < maxRolls;
+    RenderQueue.markDirty( this );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  showHint()
+   * Prototype:      public void showHint( boolean suggestHold );
+   * Description:    Highlight the dice if the hint suggests holding it (or
+   *                 remove the highlight).
+   * Parameters:
+   *      arg 1:     boolean suggestHold -- Whether to highlight the dice
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void showHint( boolean suggestHold )
+  {
+    hinted = suggestHold;
+    RenderQueue.markDirty( this );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setImageSize()
+   * Prototype:      public void setImageSize( int size );
+   * Description:    Show the dice image at a new size.  Must be called on the
+   *                 event dispatch thread.
+   * Parameters:
+   *      arg 1:     int size -- Width and height of the image in pixels
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void setImageSize( int size )
+  {
+    imageSize = size;
+    render( );
   }
 
 
@@ -239,6 +236,32 @@ public class Dice implements ActionListener
   }
 
 
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  isHeld()
+   * Prototype:      public boolean isHeld( );
+   * Description:    Return whether this dice is being held.
+   * Parameters:     None
+   * Return Value:   boolean -- Whether this dice is being held
+   * ----------------------------------------------------------------------- */
+  public boolean isHeld( )
+  {
+    return hold;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getHoldButton()
+   * Prototype:      public JButton getHoldButton( );
+   * Description:    Return the button that holds/unholds this dice.
+   * Parameters:     None
+   * Return Value:   JButton -- Hold button of this dice
+   * ----------------------------------------------------------------------- */
+  public JButton getHoldButton( )
+  {
+    return holdButton;
+  }
+
+
   /* ----------------------------------------------------------------------- *
    * Function Name:  toString()
    * Prototype:      public String toString( );
@@ -253,22 +276,4 @@ public class Dice implements ActionListener
            "\n    value:      " + value +
            "\n    hold:       " + hold;
   }
-
-
-  /* ----------------------------------------------------------------------- *
-   * Function Name:  loadImage()
-   * Prototype:      private static ImageIcon loadImage( String name );
-   * Description:    Load the specified image from the jar file.
-   * Parameters:
-   *      arg 1:     String name -- File name of the image to load
-   * Return Value:   ImageIcon -- Image loaded from jar file
-   * ----------------------------------------------------------------------- */
-  private static ImageIcon loadImage( String name )
-  {
-    // Convert the path name into a URL
-    URL resource = Dice.class.getResource( name );
-
-    // Return the image
-    return new ImageIcon( resource );
-  }
 }
@@ -14,18 +14,20 @@ import java.awt.GridLayout;
 import java.awt.GridBagLayout;
 import java.awt.GridBagConstraints;
 import java.awt.Insets;
+import java.io.IOException;         // For losing the game server
 import java.util.Arrays;            // For sorting arrays
 
 
-public class DiceController implements ActionListener
+public class DiceController implements ActionListener, Renderable
 {
-  // Amount of time to pause thread to make GUI more responsive
-  private static final int PAUSE = 5;
+  static final int NUM_OF_DICE = 5;             // Number of dice in game
 
-  private static final int NUM_OF_DICE = 5;     // Number of dice in game
+  // System property to roll the dice with a fixed seed
+  static final String SEED_PROPERTY = "yahtzee.seed";
 
-  private static final int MAX_ROLLS = 3;       // Max rolls per round
-  private static final int MAX_ROUNDS = 13;     // Max rounds per game
+  // Game rules (package-private so headless simulations play by them too)
+  static final int MAX_ROLLS = 3;               // Max rolls per round
+  static final int MAX_ROUNDS = 13;             // Max rounds per game
 
   private static final int H_GAP = 5;           // Horizontal gap between dice
 
@@ -53,10 +55,16 @@ public class DiceController implements ActionListener
   // External padding between bottom edge of roll button and game panel
   private static final int RP_EXT_PADDING_B = 180;
 
+  // Dice images are scaled in steps of this many pixels, and never below
+  // the minimum size
+  private static final int IMAGE_SIZE_STEP = 5;
+  private static final int MIN_IMAGE_SIZE = 40;
 
-  // Number of rolls used this round (between 0 and 3)
-  private static int numRolls = 0;
-  private static int round = 0;
+
+  // Number of rolls used this round (between 0 and 3) and rounds finished
+  // (only used on the game thread, see GameExecutor)
+  private int numRolls = 0;
+  private int round = 0;
 
 
   private JPanel gamePanel;    // Panel containing dice gameplay area
@@ -64,11 +72,43 @@ public class DiceController implements ActionListener
   private JPanel dicePanel;    // Panel to build dice on
   private Dice[ ] dice;        // Array of dice
 
+  // Size of the game panel when the window was first laid out, and the
+  // size of the dice images (only used on the event dispatch thread)
+  private int packedWidth;
+  private int packedHeight;
+  private int imageSize = DiceImageCache.NATURAL_SIZE;
+
   private JButton rollButton;  // Button to roll the dice
   private JPanel rollPanel;    // Panel to build roll button on
+  private JCheckBox hintBox;   // Check box to turn hints on and off
+
+  // Whether hints are turned on (set on the event dispatch thread, read on
+  // the game thread)
+  private volatile boolean hintsOn;
+
+  // Whether the roll button can be used (set on the game thread, read when
+  // rendering on the event dispatch thread)
+  private volatile boolean rollEnabled = true;
+
+  // Advisor for hints (null until the strategy table is loaded)
+  private volatile HintAdvisor advisor;
+
+  // Expected future score of each category for the current roll
+  private double[ ] categoryValues = new double[ ScoreEngine.NUM_CATEGORIES ];
+
+  // Values of the dice and which ones the hint suggests holding
+  private int[ ] hintDice = new int[ NUM_OF_DICE ];
+  private boolean[ ] hintHold = new boolean[ NUM_OF_DICE ];
+  private boolean hintShown;   // Whether a hint was shown for the last roll
 
   private ScoreController scoreControl; // Reference to access scoring method
 
+  private DiceSource diceSource;  // Source every roll of the dice comes from
+
+  // Server the game is played on (null for a local game, only used on the
+  // game thread)
+  private GameClient remote;
+
 
   /* ----------------------------------------------------------------------- *
    * Ctor Name:      DiceController()
@@ -85,6 +125,11 @@ public class DiceController implements ActionListener
     // Save reference to score controller to access scoring method when rolling
     scoreControl = score;
 
+    // Roll with a fixed seed if one was given (to reproduce a game)
+    Long seed = Long.getLong( SEED_PROPERTY );
+    diceSource = new SeededDiceSource( ( seed != null )? seed:
+                                       System.nanoTime( ) );
+
     // Set up the game panel
     gamePanel = new JPanel( );
     gamePanel.setLayout( new GridBagLayout( ) );
@@ -117,6 +162,18 @@ public class DiceController implements ActionListener
     rollPanel.setLayout( new BorderLayout( ) );
     rollPanel.add( rollButton, BorderLayout.CENTER );
 
+    // Make the hint check box (enabled once the strategy table is loaded)
+    hintBox = new JCheckBox( "Show hints" );
+    hintBox.setEnabled( false );
+    hintBox.addActionListener( new ActionListener( )
+    {
+      public void actionPerformed( ActionEvent evt )
+      {
+        hintsOn = hintBox.isSelected( );
+      }
+    } );
+    rollPanel.add( hintBox, BorderLayout.SOUTH );
+
     // Set up the layout constraints specific to the roll panel
     gbc.gridy = GridBagConstraints.RELATIVE;
     gbc.ipadx = RP_INT_PADDING;
@@ -133,11 +190,20 @@ public class DiceController implements ActionListener
     dice = new Dice[ NUM_OF_DICE ];
     for( int index = 0; index < NUM_OF_DICE; index++ )
     {
-      dice[ index ] = new Dice( dicePanel );
+      dice[ index ] = new Dice( dicePanel, index );
     }
 
-    // Set up the dice and dice controller as action listeners for score buttons
-    scoreControl.setUpActionListener( dice, this );
+    // Scale the dice images with the window
+    gamePanel.addComponentListener( new ComponentAdapter( )
+    {
+      public void componentResized( ComponentEvent evt )
+      {
+        resizeDice( );
+      }
+    } );
+
+    // Have the score controller tell this controller when a score is chosen
+    scoreControl.setDiceController( this );
   }
 
 
@@ -152,36 +218,94 @@ public class DiceController implements ActionListener
   @Override
   public void actionPerformed( ActionEvent evt )
   {
-    // Start a new thread to handle non-GUI related actions
-    Thread actionThread = new Thread( )
+    // Handle non-GUI related actions on the game thread
+    GameExecutor.submit( new Runnable( )
     {
       public void run( )
       {
-        // The roll button was clicked
-        if( evt.getSource( ) == rollButton )
-        {
-          rollButtonClicked( );
-        }
-
-        // A score button was clicked
-        else
-        {
-          // Start a new round
-          nextRound( );
-
-          // Enable the roll button as long as the game isn't over yet
-          SwingUtilities.invokeLater( new Runnable( )
-          {
-            public void run( )
-            {
-              rollButton.setEnabled( round < MAX_ROUNDS );
-            }
-          } );
-        }
+        rollButtonClicked( );
       }
-    };
-    actionThread.setPriority( Thread.NORM_PRIORITY );
-    actionThread.start( );
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  confirmScore()
+   * Prototype:      public boolean confirmScore( int category );
+   * Description:    Score the dice on the server in a remote game (called by
+   *                 the score controller on the game thread before it shows
+   *                 the score).  A local game needs no confirmation.
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   * Return Value:   boolean -- Whether the score can be shown
+   * ----------------------------------------------------------------------- */
+  public boolean confirmScore( int category )
+  {
+    if( remote == null ) return true;
+
+    try
+    {
+      remote.score( category );
+      return true;
+    }
+    catch( IOException | IllegalStateException ex )
+    {
+      connectionLost( ex );
+      return false;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreChosen()
+   * Prototype:      public void scoreChosen( );
+   * Description:    Start a new round once the dice have been scored (called
+   *                 by the score controller on the game thread).
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void scoreChosen( )
+  {
+    // Start a new round
+    nextRound( );
+
+    for( int index = 0; index < dice.length; index++ )
+    {
+      dice[ index ].scoreChosen( );
+    }
+
+    // Enable the roll button as long as the game isn't over yet
+    rollEnabled = round < MAX_ROUNDS;
+    RenderQueue.markDirty( this );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  canScore()
+   * Prototype:      public boolean canScore( );
+   * Description:    Return whether the dice have been rolled this round (and
+   *                 so can be scored).  Only called on the game thread.
+   * Parameters:     None
+   * Return Value:   boolean -- Whether the dice can be scored
+   * ----------------------------------------------------------------------- */
+  public boolean canScore( )
+  {
+    return numRolls > 0;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  render()
+   * Prototype:      public void render( );
+   * Description:    Enable or disable the roll button.  Must be called on the
+   *                 event dispatch thread.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Override
+  public void render( )
+  {
+    rollButton.setEnabled( rollEnabled );
   }
 
 
@@ -195,58 +319,314 @@ public class DiceController implements ActionListener
    * ----------------------------------------------------------------------- */
   private void rollButtonClicked( )
   {
-    // Roll the dice
-    rollDice( );
+    // Ignore clicks queued up before the roll button was disabled
+    if( !rollEnabled ) return;
 
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
+    // Roll the dice (stopping if the server couldn't)
+    if( !rollDice( ) ) return;
+
+    // Send the hand to the scoring method through the score controller
+    scoreControl.calcScores( getHandIndex( ) );
+
+    // Show the optimal play for this roll if hints are turned on
+    showHint( );
+
+    // If this is the last roll this round, disable the roll button
+    rollEnabled = numRolls < MAX_ROLLS;
+    RenderQueue.markDirty( this );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  showHint()
+   * Prototype:      private void showHint( );
+   * Description:    Highlight the dice the optimal strategy holds and show
+   *                 the expected final score of every score button, if hints
+   *                 are turned on and the strategy table is loaded.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void showHint( )
+  {
+    HintAdvisor hints = advisor;
+    boolean show = hints != null && hintsOn;
+    int keeper = -1;
+
+    // Nothing to show or clear if hints are off and weren't shown last roll
+    if( !show && !hintShown ) return;
+    hintShown = show;
+
+    if( show )
     {
-      Thread.sleep( PAUSE );
+      // Look up the optimal play for the current state and dice
+      keeper = hints.advise( scoreControl.getUsedMask( ),
+                             scoreControl.getUpperScore( ), getHandIndex( ),
+                             MAX_ROLLS - numRolls, categoryValues );
+      scoreControl.showHints( categoryValues );
     }
-    catch( InterruptedException ex ) {}
 
-    // If this is the last roll this round, disable the roll button
-    if( numRolls == MAX_ROLLS )
+    // Highlight the dice to hold (none after the last roll)
+    for( int index = 0; index < dice.length; index++ )
     {
-      // Disable the roll button in the event dispatch thread
-      SwingUtilities.invokeLater( new Runnable( )
-      {
-        public void run( )
-        {
-          rollButton.setEnabled( false );
-        }
-      } );
+      hintDice[ index ] = dice[ index ].getValue( );
+      hintHold[ index ] = false;
     }
 
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
+    if( keeper >= 0 )
+    {
+      HintAdvisor.holdDice( keeper, hintDice, hintHold );
+    }
+
+    for( int index = 0; index < dice.length; index++ )
     {
-      Thread.sleep( PAUSE );
+      dice[ index ].showHint( hintHold[ index ] );
     }
-    catch( InterruptedException ex ) {}
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setAdvisor()
+   * Prototype:      public void setAdvisor( HintAdvisor advisor );
+   * Description:    Set the advisor used for hints and let the player turn
+   *                 hints on.
+   * Parameters:
+   *      arg 1:     HintAdvisor advisor -- Advisor to look up hints with
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void setAdvisor( HintAdvisor advisor )
+  {
+    this.advisor = advisor;
+
+    // Enable the hint check box on the event dispatch thread
+    SwingUtilities.invokeLater( new Runnable( )
+    {
+      public void run( )
+      {
+        hintBox.setEnabled( true );
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  resizeDice()
+   * Prototype:      private void resizeDice( );
+   * Description:    Scale the dice images by how much the game panel has
+   *                 grown or shrunk since the window was first laid out.
+   *                 The images are scaled on a background thread and shown
+   *                 once they are all ready.  Called on the event dispatch
+   *                 thread.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void resizeDice( )
+  {
+    // The first layout is the natural size of the images
+    if( packedWidth == 0 || packedHeight == 0 )
+    {
+      packedWidth = gamePanel.getWidth( );
+      packedHeight = gamePanel.getHeight( );
+      return;
+    }
+
+    int scaled = Math.min( DiceImageCache.NATURAL_SIZE *
+                           gamePanel.getWidth( ) / packedWidth,
+                           DiceImageCache.NATURAL_SIZE *
+                           gamePanel.getHeight( ) / packedHeight );
+    int size = Math.max( scaled - scaled % IMAGE_SIZE_STEP, MIN_IMAGE_SIZE );
+
+    if( size == imageSize ) return;
+    imageSize = size;
+
+    DiceImageCache.prescale( size, new Runnable( )
+    {
+      public void run( )
+      {
+        // Skip sizes the window has already been resized past
+        if( size != imageSize ) return;
 
-    // Send dice values to the scoring method through the score controller
-    scoreControl.calcScores( getDiceValues( ) );
+        for( int index = 0; index < dice.length; index++ )
+        {
+          dice[ index ].setImageSize( size );
+        }
+      }
+    } );
   }
 
 
   /* ----------------------------------------------------------------------- *
    * Function Name:  rollDice()
-   * Prototype:      private void rollDice( );
+   * Prototype:      private boolean rollDice( );
    * Description:    Roll the dice by calling the roll method on each dice and
-   *                 increment the number of rolls.
+   *                 increment the number of rolls.  In a remote game the
+   *                 server rolls, and the dice replay its faces.
    * Parameters:     None
-   * Return Value:   None
+   * Return Value:   boolean -- Whether the dice were rolled
    * ----------------------------------------------------------------------- */
-  private void rollDice( )
+  private boolean rollDice( )
   {
+    DiceSource source = diceSource;
+
+    if( remote != null )
+    {
+      try
+      {
+        source = remoteFaces( remote.roll( getHoldMask( ) ) );
+      }
+      catch( IOException | IllegalStateException ex )
+      {
+        connectionLost( ex );
+        return false;
+      }
+    }
+
+    // Record the start of the game before its first roll
+    if( round == 0 && numRolls == 0 )
+    {
+      GameRecorder.started( );
+    }
+    int holdMask = ( numRolls == 0 )? 0: getHoldMask( );
+
     numRolls++;
 
     // Roll each dice
     for( int index = 0; index < dice.length; index++ )
     {
-      dice[ index ].roll( numRolls, MAX_ROLLS );
+      dice[ index ].roll( numRolls, MAX_ROLLS, source );
+    }
+
+    GameRecorder.rolled( holdMask, getPackedDice( ) );
+    return true;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getPackedDice()
+   * Prototype:      private int getPackedDice( );
+   * Description:    Return the dice values packed three bits per die in
+   *                 position order (like GameState.getDice()).
+   * Parameters:     None
+   * Return Value:   int -- Packed dice values
+   * ----------------------------------------------------------------------- */
+  private int getPackedDice( )
+  {
+    int packed = 0;
+
+    for( int index = 0; index < dice.length; index++ )
+    {
+      packed |= dice[ index ].getValue( ) <<
+                ( index * ScoreEngine.BITS_PER_DIE );
     }
+
+    return packed;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  remoteFaces()
+   * Prototype:      private DiceSource remoteFaces( long state );
+   * Description:    Return a source replaying the faces the server rolled,
+   *                 in the order the dice roll them (every die on the first
+   *                 roll of a round, otherwise the ones that aren't held).
+   * Parameters:
+   *      arg 1:     long state -- Game state the server sent after rolling
+   * Return Value:   DiceSource -- Source of the rolled faces
+   * ----------------------------------------------------------------------- */
+  private DiceSource remoteFaces( long state )
+  {
+    int[ ] faces = new int[ dice.length ];
+    int count = 0;
+
+    for( int index = 0; index < dice.length; index++ )
+    {
+      if( numRolls == 0 || !dice[ index ].isHeld( ) )
+      {
+        faces[ count++ ] = GameState.getDie( state, index );
+      }
+    }
+
+    return new ScriptedDiceSource( Arrays.copyOf( faces, count ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getHoldMask()
+   * Prototype:      private int getHoldMask( );
+   * Description:    Return which dice are held as a bit mask.
+   * Parameters:     None
+   * Return Value:   int -- Bit mask of held dice (bit number is the die)
+   * ----------------------------------------------------------------------- */
+  private int getHoldMask( )
+  {
+    int mask = 0;
+
+    for( int index = 0; index < dice.length; index++ )
+    {
+      if( dice[ index ].isHeld( ) )
+      {
+        mask |= 1 << index;
+      }
+    }
+
+    return mask;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  connectionLost()
+   * Prototype:      private void connectionLost( Exception ex );
+   * Description:    Stop a remote game the server can no longer play (or
+   *                 that got out of step with the server).
+   * Parameters:
+   *      arg 1:     Exception ex -- What went wrong
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void connectionLost( Exception ex )
+  {
+    System.err.println( "Lost the game server: " + ex.getMessage( ) );
+    rollEnabled = false;
+    RenderQueue.markDirty( this );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setRemote()
+   * Prototype:      public void setRemote( GameClient client );
+   * Description:    Play this game on a server (before the first roll).
+   * Parameters:
+   *      arg 1:     GameClient client -- Connection to the server
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void setRemote( GameClient client )
+  {
+    GameExecutor.submit( new Runnable( )
+    {
+      public void run( )
+      {
+        remote = client;
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setDiceSource()
+   * Prototype:      public void setDiceSource( DiceSource source );
+   * Description:    Roll the dice from another source (to replay a logged
+   *                 game), starting with the next roll.
+   * Parameters:
+   *      arg 1:     DiceSource source -- Source to roll the dice with
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void setDiceSource( DiceSource source )
+  {
+    GameExecutor.submit( new Runnable( )
+    {
+      public void run( )
+      {
+        diceSource = source;
+      }
+    } );
   }
 
 
@@ -276,21 +656,70 @@ public class DiceController implements ActionListener
   }
 
 
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getHandIndex()
+   * Prototype:      public int getHandIndex( );
+   * Description:    Return the hand index (see HandIndex) of the current dice
+   *                 without copying or sorting the dice values.
+   * Parameters:     None
+   * Return Value:   int -- Hand index of the current dice
+   * ----------------------------------------------------------------------- */
+  public int getHandIndex( )
+  {
+    int key = 0;
+
+    // Add each dice value to the hand key
+    for( int index = 0; index < dice.length; index++ )
+    {
+      key += HandIndex.faceKey( dice[ index ].getValue( ) );
+    }
+
+    return HandIndex.indexOfKey( key );
+  }
+
+
   /* ----------------------------------------------------------------------- *
    * Function Name:  nextRound()
-   * Prototype:      public static void nextRound( );
+   * Prototype:      private void nextRound( );
    * Description:    Reset the number of rolls back to zero and start a new
    *                 round.
    * Parameters:     None
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  public static void nextRound( )
+  private void nextRound( )
   {
     numRolls = 0;
     round++;
   }
 
 
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getRollButton()
+   * Prototype:      public JButton getRollButton( );
+   * Description:    Return the button that rolls the dice.
+   * Parameters:     None
+   * Return Value:   JButton -- Roll button
+   * ----------------------------------------------------------------------- */
+  public JButton getRollButton( )
+  {
+    return rollButton;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getDice()
+   * Prototype:      public Dice getDice( int index );
+   * Description:    Return one of the dice.
+   * Parameters:
+   *      arg 1:     int index -- Index of the dice (0 to NUM_OF_DICE - 1)
+   * Return Value:   Dice -- Dice at the index
+   * ----------------------------------------------------------------------- */
+  public Dice getDice( int index )
+  {
+    return dice[ index ];
+  }
+
+
   /* ----------------------------------------------------------------------- *
    * Function Name:  toString()
    * Prototype:      public String toString( );
@@ -0,0 +1,332 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     DiceImageCache.java                                         *
+ * Description:  Shared cache of the dice images, keyed by face, hold        *
+ *               status, and size.  Each GIF is decoded the first time it is *
+ *               needed, and scaled copies are made (on a background thread  *
+ *               when the window is resized) and reused by every die in      *
+ *               every game.  Only the last few sizes are kept.  Images are  *
+ *               decoded and scaled without holding the cache's lock, so the *
+ *               EDT never waits on a background scale.                      *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;           // For loading images from jar file
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import javax.imageio.ImageIO;
+
+public class DiceImageCache
+{
+  // Width and height of the dice GIFs
+  public static final int NATURAL_SIZE = 75;
+
+  // Names of the faces in the image file names
+  private static final String[ ] FACE_NAMES = { "One", "Two", "Three", "Four",
+                                                "Five", "Six" };
+
+  private static final int NUM_FACES = FACE_NAMES.length;
+
+  // Number of images of each size (each face, held and not held)
+  private static final int NUM_IMAGES = NUM_FACES * 2;
+
+  // Number of sizes kept (the least recently used size is dropped)
+  private static final int MAX_SIZES = 4;
+
+  // Name of the thread that scales images
+  private static final String THREAD_NAME = "dice-images";
+
+  // Decoded GIFs, indexed by imageIndex() (guarded by the class lock)
+  private static final BufferedImage[ ] DECODED =
+    new BufferedImage[ NUM_IMAGES ];
+
+  // Icons of each size, in least recently used order (guarded by the class
+  // lock)
+  private static final Map<Integer, ImageIcon[ ]> ICONS =
+    new LinkedHashMap<Integer, ImageIcon[ ]>( MAX_SIZES + 1, 1, true )
+    {
+      @Override
+      protected boolean removeEldestEntry( Map.Entry<Integer,
+                                                     ImageIcon[ ]> eldest )
+      {
+        return size( ) > MAX_SIZES;
+      }
+    };
+
+  // Low priority thread that scales images off the event dispatch thread
+  private static final ExecutorService SCALER =
+    Executors.newSingleThreadExecutor( new ThreadFactory( )
+    {
+      public Thread newThread( Runnable task )
+      {
+        Thread scaleThread = new Thread( task, THREAD_NAME );
+        scaleThread.setDaemon( true );
+        scaleThread.setPriority( Thread.MIN_PRIORITY );
+        return scaleThread;
+      }
+    } );
+
+  // Size most recently asked for by prescale() (earlier requests that
+  // haven't started yet are skipped)
+  private static volatile int latestSize = NATURAL_SIZE;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      DiceImageCache()
+   * Prototype:      private DiceImageCache( );
+   * Description:    The cache is only used through static methods, so this
+   *                 class is never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private DiceImageCache( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getIcon()
+   * Prototype:      public static ImageIcon getIcon( int face, boolean held,
+   *                                                 int size );
+   * Description:    Return the image of a face at a size, decoding and
+   *                 scaling it now if it isn't cached.
+   * Parameters:
+   *      arg 1:     int face -- Face of the dice (1 to 6)
+   *      arg 2:     boolean held -- Whether to show the held image
+   *      arg 3:     int size -- Width and height in pixels
+   * Return Value:   ImageIcon -- Image of the face
+   * ----------------------------------------------------------------------- */
+  public static ImageIcon getIcon( int face, boolean held, int size )
+  {
+    int index = imageIndex( face, held );
+
+    ImageIcon icon = cachedIcon( index, size );
+    if( icon != null ) return icon;
+
+    // Made without the lock (another thread may make the same one, but only
+    // the first to finish is kept)
+    icon = new ImageIcon( scale( decode( index ), size ) );
+    return cacheIcon( index, size, icon );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  cachedIcon()
+   * Prototype:      private static synchronized ImageIcon cachedIcon(
+   *                                 int index, int size );
+   * Description:    Return a cached image, if there is one.
+   * Parameters:
+   *      arg 1:     int index -- Index of the image
+   *      arg 2:     int size -- Width and height in pixels
+   * Return Value:   ImageIcon -- Cached image (null if not cached)
+   * ----------------------------------------------------------------------- */
+  private static synchronized ImageIcon cachedIcon( int index, int size )
+  {
+    ImageIcon[ ] icons = ICONS.get( size );
+    return ( icons == null )? null: icons[ index ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  cacheIcon()
+   * Prototype:      private static synchronized ImageIcon cacheIcon(
+   *                                 int index, int size, ImageIcon icon );
+   * Description:    Cache a finished image unless another thread cached one
+   *                 first, and return the cached image.
+   * Parameters:
+   *      arg 1:     int index -- Index of the image
+   *      arg 2:     int size -- Width and height in pixels
+   *      arg 3:     ImageIcon icon -- Finished image
+   * Return Value:   ImageIcon -- Image in the cache
+   * ----------------------------------------------------------------------- */
+  private static synchronized ImageIcon cacheIcon( int index, int size,
+                                                   ImageIcon icon )
+  {
+    ImageIcon[ ] icons = ICONS.get( size );
+    if( icons == null )
+    {
+      icons = new ImageIcon[ NUM_IMAGES ];
+      ICONS.put( size, icons );
+    }
+
+    if( icons[ index ] == null )
+    {
+      icons[ index ] = icon;
+    }
+
+    return icons[ index ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  prescale()
+   * Prototype:      public static void prescale( int size, Runnable done );
+   * Description:    Make every image at a size on the background thread,
+   *                 then run an action on the event dispatch thread.  The
+   *                 request is dropped if a newer size is asked for before it
+   *                 starts.
+   * Parameters:
+   *      arg 1:     int size -- Width and height in pixels
+   *      arg 2:     Runnable done -- Run on the EDT once the images are made
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void prescale( int size, Runnable done )
+  {
+    latestSize = size;
+
+    SCALER.execute( new Runnable( )
+    {
+      public void run( )
+      {
+        if( size != latestSize ) return;
+
+        makeIcons( size );
+        SwingUtilities.invokeLater( done );
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  preload()
+   * Prototype:      public static void preload( );
+   * Description:    Decode every GIF on the background thread, so no image
+   *                 of the natural size has to be decoded on the EDT.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void preload( )
+  {
+    SCALER.execute( new Runnable( )
+    {
+      public void run( )
+      {
+        makeIcons( NATURAL_SIZE );
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  makeIcons()
+   * Prototype:      private static void makeIcons( int size );
+   * Description:    Make every image of a size that isn't cached yet.
+   * Parameters:
+   *      arg 1:     int size -- Width and height in pixels
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void makeIcons( int size )
+  {
+    for( int face = 1; face <= NUM_FACES; face++ )
+    {
+      getIcon( face, false, size );
+      getIcon( face, true, size );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  imageIndex()
+   * Prototype:      private static int imageIndex( int face, boolean held );
+   * Description:    Return the index of an image in the arrays of images.
+   * Parameters:
+   *      arg 1:     int face -- Face of the dice (1 to 6)
+   *      arg 2:     boolean held -- Whether it is the held image
+   * Return Value:   int -- Index of the image
+   * ----------------------------------------------------------------------- */
+  private static int imageIndex( int face, boolean held )
+  {
+    return ( held? NUM_FACES: 0 ) + face - 1;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  decode()
+   * Prototype:      private static BufferedImage decode( int index );
+   * Description:    Return a GIF from the jar file, decoding it the first
+   *                 time.  Decodes without holding the class lock.
+   * Parameters:
+   *      arg 1:     int index -- Index of the image
+   * Return Value:   BufferedImage -- Decoded image
+   * ----------------------------------------------------------------------- */
+  private static BufferedImage decode( int index )
+  {
+    synchronized( DiceImageCache.class )
+    {
+      if( DECODED[ index ] != null ) return DECODED[ index ];
+    }
+
+    long began = StartupTimer.begin( );
+    String name = FACE_NAMES[ index % NUM_FACES ] +
+                  ( ( index < NUM_FACES )? "Dice.GIF": "DiceHeld.GIF" );
+
+    // Convert the path name into a URL
+    URL resource = DiceImageCache.class.getResource( name );
+    if( resource == null )
+    {
+      throw new IllegalStateException( "Missing dice image: " + name );
+    }
+
+    BufferedImage image;
+    try
+    {
+      image = ImageIO.read( resource );
+    }
+    catch( IOException ex )
+    {
+      throw new IllegalStateException( "Can't read dice image: " + name,
+                                       ex );
+    }
+
+    StartupTimer.end( StartupTimer.IMAGE_DECODE, began );
+
+    synchronized( DiceImageCache.class )
+    {
+      if( DECODED[ index ] == null )
+      {
+        DECODED[ index ] = image;
+      }
+      return DECODED[ index ];
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scale()
+   * Prototype:      private static BufferedImage scale( BufferedImage image,
+   *                                                     int size );
+   * Description:    Return a copy of an image scaled to a size (or the image
+   *                 itself if it is already that size).
+   * Parameters:
+   *      arg 1:     BufferedImage image -- Image to scale
+   *      arg 2:     int size -- Width and height in pixels
+   * Return Value:   BufferedImage -- Scaled image
+   * ----------------------------------------------------------------------- */
+  private static BufferedImage scale( BufferedImage image, int size )
+  {
+    if( image.getWidth( ) == size && image.getHeight( ) == size )
+    {
+      return image;
+    }
+
+    BufferedImage scaled = new BufferedImage( size, size,
+                                              BufferedImage.TYPE_INT_ARGB );
+    Graphics2D graphics = scaled.createGraphics( );
+    graphics.setRenderingHint( RenderingHints.KEY_INTERPOLATION,
+                               RenderingHints.VALUE_INTERPOLATION_BICUBIC );
+    graphics.setRenderingHint( RenderingHints.KEY_RENDERING,
+                               RenderingHints.VALUE_RENDER_QUALITY );
+    graphics.drawImage( image, 0, 0, size, size, null );
+    graphics.dispose( );
+
+    return scaled;
+  }
+}
@@ -0,0 +1,42 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     DiceSource.java                                             *
+ * Description:  A DiceSource supplies the faces that dice land on.  The     *
+ *               game and the simulators draw every roll from one, so rolls  *
+ *               can be seeded, generated in bulk, or replayed.              *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public interface DiceSource
+{
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextFace()
+   * Prototype:      public int nextFace( );
+   * Description:    Roll one die.
+   * Parameters:     None
+   * Return Value:   int -- Face the die landed on (1 to 6)
+   * ----------------------------------------------------------------------- */
+  public int nextFace( );
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextFaces()
+   * Prototype:      public int nextFaces( int count );
+   * Description:    Roll up to five dice at once.
+   * Parameters:
+   *      arg 1:     int count -- Number of dice to roll (0 to 5)
+   * Return Value:   int -- Faces the dice landed on, packed three bits per
+   *                 die (see ScoreEngine.pack())
+   * ----------------------------------------------------------------------- */
+  public default int nextFaces( int count )
+  {
+    int packed = 0;
+
+    for( int index = 0; index < count; index++ )
+    {
+      packed |= nextFace( ) << ( index * ScoreEngine.BITS_PER_DIE );
+    }
+
+    return packed;
+  }
+}
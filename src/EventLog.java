@@ -0,0 +1,401 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     EventLog.java                                               *
+ * Description:  Append-only binary log of played games.  Every roll, hold   *
+ *               toggle, and score is one GameProtocol event (one to four    *
+ *               bytes), each game starting with a STARTED event.  Events    *
+ *               are batched in a buffer and written to a FileChannel when   *
+ *               it fills or a game ends, so logging costs no system call    *
+ *               per event.  Replaying maps the file and rebuilds every      *
+ *               game's state from its events.                               *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class EventLog
+{
+  // System property to override the location of the log (empty to turn
+  // logging off)
+  public static final String FILE_PROPERTY = "yahtzee.log.file";
+
+  // Default name of the log (in the user's home directory)
+  private static final String DEFAULT_NAME = ".yahtzee_v1.log";
+
+  // First four bytes of every log ("YLOG")
+  private static final int MAGIC = 0x594c4f47;
+
+  // Version of the file layout
+  private static final int FORMAT_VERSION = 1;
+
+  // Number of bytes before the events (magic and format version)
+  private static final int HEADER_SIZE = 8;
+
+  // Size of the batch of events written at once
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  // Size of the part of the log mapped at once when replaying
+  private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+  private final Path path;              // Path of the log
+  private final FileChannel channel;    // Log, positioned at its end
+  private final ByteBuffer buffer =     // Events not written yet (guarded
+    ByteBuffer.allocateDirect( BUFFER_SIZE );   // by this log)
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      EventLog()
+   * Prototype:      public EventLog( Path path ) throws IOException;
+   * Description:    Open a log to append games to, creating it if needed.
+   *                 Only one process can append to a log at a time.  An
+   *                 event cut off at the end (by a crash while writing) is
+   *                 cut from the log first, so new games follow whole ones.
+   * Parameters:
+   *      arg 1:     Path path -- Path of the log
+   * ----------------------------------------------------------------------- */
+  public EventLog( Path path ) throws IOException
+  {
+    this.path = path;
+
+    Files.createDirectories( path.toAbsolutePath( ).getParent( ) );
+    channel = FileChannel.open( path, StandardOpenOption.CREATE,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE );
+
+    try
+    {
+      if( channel.tryLock( ) == null )
+      {
+        throw new IOException( path + ": log is in use" );
+      }
+
+      if( channel.size( ) == 0 )
+      {
+        ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE );
+        header.putInt( MAGIC ).putInt( FORMAT_VERSION ).flip( );
+        while( header.hasRemaining( ) )
+        {
+          channel.write( header );
+        }
+      }
+      else
+      {
+        checkHeader( channel, path );
+      }
+
+      long end = endOfEvents( channel );
+      if( end < channel.size( ) )
+      {
+        channel.truncate( end );
+      }
+      channel.position( end );
+    }
+    catch( IOException ex )
+    {
+      channel.close( );
+      throw ex;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  started()
+   * Prototype:      public synchronized void started( ) throws IOException;
+   * Description:    Log the start of a new game.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public synchronized void started( ) throws IOException
+  {
+    reserve( );
+    GameProtocol.putStarted( buffer );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  rolled()
+   * Prototype:      public synchronized void rolled( int holdMask, int dice )
+   *                                 throws IOException;
+   * Description:    Log a roll of the dice.
+   * Parameters:
+   *      arg 1:     int holdMask -- Bit mask of the dice that were held
+   *      arg 2:     int dice -- Dice after the roll, packed three bits per
+   *                 die
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public synchronized void rolled( int holdMask, int dice ) throws IOException
+  {
+    reserve( );
+    GameProtocol.putRolled( buffer, holdMask, dice );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  held()
+   * Prototype:      public synchronized void held( int position )
+   *                                 throws IOException;
+   * Description:    Log a toggle of a die's hold button.
+   * Parameters:
+   *      arg 1:     int position -- Position of the die (0 to 4)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public synchronized void held( int position ) throws IOException
+  {
+    reserve( );
+    GameProtocol.putHeld( buffer, position );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scored()
+   * Prototype:      public synchronized void scored( int category,
+   *                                                  int upper, int total )
+   *                                 throws IOException;
+   * Description:    Log the category chosen for the dice.
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   *      arg 2:     int upper -- Upper section sum after scoring (without
+   *                 the bonus)
+   *      arg 3:     int total -- Grand total after scoring
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public synchronized void scored( int category, int upper, int total )
+    throws IOException
+  {
+    reserve( );
+    GameProtocol.putScored( buffer, category, upper, total );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  reserve()
+   * Prototype:      private void reserve( ) throws IOException;
+   * Description:    Write the batch if there's no room for another event.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void reserve( ) throws IOException
+  {
+    if( buffer.remaining( ) < GameProtocol.MAX_SIZE )
+    {
+      flush( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  flush()
+   * Prototype:      public synchronized void flush( ) throws IOException;
+   * Description:    Write the batched events to the log.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public synchronized void flush( ) throws IOException
+  {
+    buffer.flip( );
+    while( buffer.hasRemaining( ) )
+    {
+      channel.write( buffer );
+    }
+    buffer.clear( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  close()
+   * Prototype:      public synchronized void close( ) throws IOException;
+   * Description:    Write the batched events and close the log.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public synchronized void close( ) throws IOException
+  {
+    try
+    {
+      flush( );
+    }
+    finally
+    {
+      channel.close( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getPath()
+   * Prototype:      public Path getPath( );
+   * Description:    Return the path of this log.
+   * Parameters:     None
+   * Return Value:   Path -- Path of the log
+   * ----------------------------------------------------------------------- */
+  public Path getPath( )
+  {
+    return path;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  replay()
+   * Prototype:      public static long replay( Path path,
+   *                                            ReplayListener listener )
+   *                                 throws IOException;
+   * Description:    Replay every game in a log, passing each event and the
+   *                 state after it to the listener.  The log is mapped a
+   *                 window at a time, so logs of any size replay without
+   *                 being read onto the heap.  An event cut off at the end
+   *                 (by a crash while writing) is ignored.
+   * Parameters:
+   *      arg 1:     Path path -- Path of the log
+   *      arg 2:     ReplayListener listener -- Listener of the events
+   * Return Value:   long -- Number of games in the log
+   * ----------------------------------------------------------------------- */
+  public static long replay( Path path, ReplayListener listener )
+    throws IOException
+  {
+    try( FileChannel channel = FileChannel.open( path,
+                                                 StandardOpenOption.READ ) )
+    {
+      checkHeader( channel, path );
+
+      long size = channel.size( );
+      long offset = HEADER_SIZE;
+      long game = -1;
+      long state = GameState.NEW_GAME;
+
+      while( offset < size )
+      {
+        MappedByteBuffer window =
+          channel.map( FileChannel.MapMode.READ_ONLY, offset,
+                       Math.min( size - offset, WINDOW_SIZE ) );
+        while( GameProtocol.messageSize( window ) > 0 )
+        {
+          int eventStart = window.position( );
+          int type = GameProtocol.typeOf( window );
+          int field = GameProtocol.fieldOf( window );
+
+          try
+          {
+            if( type == GameProtocol.STARTED )
+            {
+              game++;
+            }
+            else if( game < 0 )
+            {
+              throw new IllegalStateException( "No game started" );
+            }
+
+            state = GameProtocol.applyEvent( window, state );
+          }
+          catch( RuntimeException ex )
+          {
+            throw new IOException( path + ": bad event at byte " +
+                                   ( offset + eventStart ) + ": " +
+                                   ex.getMessage( ), ex );
+          }
+
+          listener.event( game, type, field, state );
+        }
+
+        // Stop at an event cut off at the end of the log
+        if( window.position( ) == 0 ) break;
+        offset += window.position( );
+      }
+
+      return game + 1;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  endOfEvents()
+   * Prototype:      private static long endOfEvents( FileChannel channel )
+   *                                 throws IOException;
+   * Description:    Return where the last whole event of a log ends.  The
+   *                 log is read a batch at a time rather than mapped, so it
+   *                 can be truncated straight after.
+   * Parameters:
+   *      arg 1:     FileChannel channel -- Log with a checked header
+   * Return Value:   long -- Offset after the last whole event
+   * ----------------------------------------------------------------------- */
+  private static long endOfEvents( FileChannel channel ) throws IOException
+  {
+    ByteBuffer events = ByteBuffer.allocate( BUFFER_SIZE );
+    long offset = HEADER_SIZE;   // Offset of the first byte in the batch
+    int read;
+
+    do
+    {
+      read = channel.read( events, offset + events.position( ) );
+      events.flip( );
+
+      int size;
+      while( ( size = GameProtocol.messageSize( events ) ) > 0 )
+      {
+        events.position( events.position( ) + size );
+      }
+
+      offset += events.position( );
+      events.compact( );
+    } while( read > 0 );
+
+    return offset;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  checkHeader()
+   * Prototype:      private static void checkHeader( FileChannel channel,
+   *                                                  Path path )
+   *                                 throws IOException;
+   * Description:    Throw if a file doesn't start with a log header.
+   * Parameters:
+   *      arg 1:     FileChannel channel -- Open file
+   *      arg 2:     Path path -- Path of the file (for the message)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void checkHeader( FileChannel channel, Path path )
+    throws IOException
+  {
+    ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE );
+    while( header.hasRemaining( ) &&
+           channel.read( header, header.position( ) ) > 0 )
+    {
+      // Keep reading until the header is in
+    }
+
+    if( header.hasRemaining( ) || header.getInt( 0 ) != MAGIC ||
+        header.getInt( Integer.BYTES ) != FORMAT_VERSION )
+    {
+      throw new IOException( path + ": not a game log" );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  defaultPath()
+   * Prototype:      public static Path defaultPath( );
+   * Description:    Return the path of the log, which is set by the
+   *                 yahtzee.log.file property or is in the user's home
+   *                 directory.
+   * Parameters:     None
+   * Return Value:   Path -- Path of the log (null if logging is off)
+   * ----------------------------------------------------------------------- */
+  public static Path defaultPath( )
+  {
+    String name = System.getProperty( FILE_PROPERTY );
+
+    if( name == null )
+    {
+      name = System.getProperty( "user.home" ) + File.separator + DEFAULT_NAME;
+    }
+
+    return name.isEmpty( )? null: new File( name ).toPath( );
+  }
+}
@@ -0,0 +1,204 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameClient.java                                             *
+ * Description:  Blocking connection to a GameServer, playing one session    *
+ *               on it.  Each action waits for the server's answer, so it    *
+ *               must not be called on the event dispatch thread (the window *
+ *               calls it on the game thread, see GameExecutor).             *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+public class GameClient
+{
+  private final SocketChannel channel;   // Connection to the server
+  private final long sessionId;          // Id of the session on the server
+  private long state;                    // State after the last answer
+
+  // Buffers reused for every message (only used by the calling thread)
+  private final ByteBuffer request =
+    ByteBuffer.allocate( GameProtocol.ACTION_SIZE );
+  private final ByteBuffer response =
+    ByteBuffer.allocate( GameProtocol.MAX_SIZE );
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameClient()
+   * Prototype:      public GameClient( String host, int port )
+   *                                 throws IOException;
+   * Description:    Connect to a server and wait for it to welcome this
+   *                 client with a new session.
+   * Parameters:
+   *      arg 1:     String host -- Host name or address of the server
+   *      arg 2:     int port -- Port the server listens on
+   * ----------------------------------------------------------------------- */
+  public GameClient( String host, int port ) throws IOException
+  {
+    channel = SocketChannel.open( new InetSocketAddress( host, port ) );
+    channel.socket( ).setTcpNoDelay( true );
+
+    try
+    {
+      readMessage( );
+      if( GameProtocol.typeOf( response ) != GameProtocol.WELCOME )
+      {
+        throw new IOException( "Server didn't welcome the client" );
+      }
+    }
+    catch( IOException ex )
+    {
+      channel.close( );
+      throw ex;
+    }
+
+    response.get( );
+    sessionId = GameProtocol.getVarint( response );
+    state = response.getLong( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  roll()
+   * Prototype:      public long roll( int holdMask ) throws IOException;
+   * Description:    Roll every die that isn't held on the server.
+   * Parameters:
+   *      arg 1:     int holdMask -- Bit mask of held dice (ignored on the
+   *                 first roll of a round)
+   * Return Value:   long -- Game state after the roll (see GameState)
+   * ----------------------------------------------------------------------- */
+  public long roll( int holdMask ) throws IOException
+  {
+    request.clear( );
+    GameProtocol.putRoll( request, holdMask );
+    return act( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  score()
+   * Prototype:      public long score( int category ) throws IOException;
+   * Description:    Score the dice in a category on the server.
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   * Return Value:   long -- Game state after scoring (see GameState)
+   * ----------------------------------------------------------------------- */
+  public long score( int category ) throws IOException
+  {
+    request.clear( );
+    GameProtocol.putScore( request, category );
+    return act( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  newGame()
+   * Prototype:      public long newGame( ) throws IOException;
+   * Description:    Start a new game in this client's session.
+   * Parameters:     None
+   * Return Value:   long -- Game state of the new game
+   * ----------------------------------------------------------------------- */
+  public long newGame( ) throws IOException
+  {
+    request.clear( );
+    GameProtocol.putNewGame( request );
+    return act( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  act()
+   * Prototype:      private long act( ) throws IOException;
+   * Description:    Send the action in the request buffer and apply the
+   *                 event the server answers with.  An action the server
+   *                 rejects (or an answer that doesn't fit the game) throws
+   *                 an IllegalStateException, like the same action on a
+   *                 local GameState would.
+   * Parameters:     None
+   * Return Value:   long -- Game state after the action
+   * ----------------------------------------------------------------------- */
+  private long act( ) throws IOException
+  {
+    request.flip( );
+    while( request.hasRemaining( ) )
+    {
+      channel.write( request );
+    }
+
+    readMessage( );
+    state = GameProtocol.applyEvent( response, state );
+    return state;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  readMessage()
+   * Prototype:      private void readMessage( ) throws IOException;
+   * Description:    Read until one whole message is in the response buffer,
+   *                 leaving the buffer positioned at its header.  The server
+   *                 sends nothing but answers, so nothing follows it.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void readMessage( ) throws IOException
+  {
+    response.clear( );
+
+    while( true )
+    {
+      if( channel.read( response ) < 0 )
+      {
+        throw new EOFException( "Server closed the connection" );
+      }
+
+      response.flip( );
+      if( GameProtocol.messageSize( response ) > 0 ) return;
+
+      // Keep reading after the partial message
+      response.position( response.limit( ) ).limit( response.capacity( ) );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getSessionId()
+   * Prototype:      public long getSessionId( );
+   * Description:    Return the id of this client's session on the server.
+   * Parameters:     None
+   * Return Value:   long -- Id of the session
+   * ----------------------------------------------------------------------- */
+  public long getSessionId( )
+  {
+    return sessionId;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getState()
+   * Prototype:      public long getState( );
+   * Description:    Return the game state after the server's last answer.
+   * Parameters:     None
+   * Return Value:   long -- Game state (see GameState)
+   * ----------------------------------------------------------------------- */
+  public long getState( )
+  {
+    return state;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  close()
+   * Prototype:      public void close( ) throws IOException;
+   * Description:    Close the connection (the server drops the session).
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void close( ) throws IOException
+  {
+    channel.close( );
+  }
+}
@@ -0,0 +1,77 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameExecutor.java                                           *
+ * Description:  Runs the game's actions (roll, hold, and score clicks) off  *
+ *               the event dispatch thread, one at a time and in the order   *
+ *               they were submitted, on a single long-lived thread.  The    *
+ *               game's state is only changed on this thread, so actions     *
+ *               never race each other.                                      *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+public class GameExecutor
+{
+  // Name of the thread that runs game actions
+  private static final String THREAD_NAME = "game-actions";
+
+  // Single thread running every game action in submission order
+  private static final ExecutorService EXECUTOR =
+    Executors.newSingleThreadExecutor( new ThreadFactory( )
+    {
+      public Thread newThread( Runnable action )
+      {
+        Thread gameThread = new Thread( action, THREAD_NAME );
+        gameThread.setDaemon( true );
+        return gameThread;
+      }
+    } );
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameExecutor()
+   * Prototype:      private GameExecutor( );
+   * Description:    Actions are only submitted through static methods, so
+   *                 this class is never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private GameExecutor( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  submit()
+   * Prototype:      public static void submit( Runnable action );
+   * Description:    Queue an action to run on the game thread after every
+   *                 action submitted before it, and flush the RenderQueue
+   *                 once it is done.  An action that throws is reported and
+   *                 doesn't stop the actions queued after it.
+   * Parameters:
+   *      arg 1:     Runnable action -- Action to run
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void submit( Runnable action )
+  {
+    EXECUTOR.execute( new Runnable( )
+    {
+      public void run( )
+      {
+        try
+        {
+          action.run( );
+        }
+        catch( RuntimeException ex )
+        {
+          ex.printStackTrace( );
+        }
+
+        // Show everything the action changed with one GUI update
+        RenderQueue.flush( );
+      }
+    } );
+  }
+}
@@ -0,0 +1,426 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameHistory.java                                            *
+ * Description:  Column store of finished games, for questions like how      *
+ *               often the upper bonus is earned or in which rounds          *
+ *               Yahtzees are scored.  The file is a header followed by      *
+ *               blocks of HistoryChunk.CAPACITY games, each block holding   *
+ *               every column of its games one after another:                *
+ *                                                                           *
+ *                 column              type    one per                       *
+ *                 points              byte    category                      *
+ *                 round scored        byte    category                      *
+ *                 total               short                                 *
+ *                 upper bonus earned  byte                                  *
+ *                 seed                long                                  *
+ *                                                                           *
+ *               The seed of a simulated game plays it again; games taken    *
+ *               from the event log hold their number in the log instead.    *
+ *               The file is mapped, and a query scans only the columns it   *
+ *               needs, a block per task, on worker threads.  Files are      *
+ *               written by HistoryWriter.                                   *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class GameHistory
+{
+  // System property to override the location of the history
+  public static final String FILE_PROPERTY = "yahtzee.history.file";
+
+  // Default name of the history (in the user's home directory)
+  private static final String DEFAULT_NAME = ".yahtzee_v1.history";
+
+  // First four bytes of every history ("YHST")
+  static final int MAGIC = 0x59485354;
+
+  // Version of the file layout
+  static final int FORMAT_VERSION = 1;
+
+  // Size of the header, and where its fields are
+  static final int HEADER_SIZE = 32;
+  static final int MAGIC_OFFSET = 0;
+  static final int FORMAT_OFFSET = 4;
+  static final int RULES_OFFSET = 8;
+  static final int CAPACITY_OFFSET = 12;
+  static final int GAMES_OFFSET = 16;
+
+  // Byte order of the file
+  static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  // Offsets of the columns after the category columns in a block
+  static final int TOTAL_OFFSET =
+    2 * ScoreEngine.NUM_CATEGORIES * HistoryChunk.CAPACITY;
+  static final int BONUS_OFFSET =
+    TOTAL_OFFSET + Short.BYTES * HistoryChunk.CAPACITY;
+  static final int SEED_OFFSET = BONUS_OFFSET + HistoryChunk.CAPACITY;
+
+  // Size of a block of games
+  static final int BLOCK_SIZE =
+    SEED_OFFSET + Long.BYTES * HistoryChunk.CAPACITY;
+
+  private final MappedByteBuffer[ ] blocks;  // Blocks of games, in order
+  private final long games;                  // Number of games
+  private final int threads;                 // Worker threads of a query
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameHistory()
+   * Prototype:      private GameHistory( MappedByteBuffer[ ] blocks,
+   *                                      long games, int threads );
+   * Description:    Create a history over mapped blocks (see open()).
+   * Parameters:
+   *      arg 1:     MappedByteBuffer[ ] blocks -- Blocks of games
+   *      arg 2:     long games -- Number of games in the blocks
+   *      arg 3:     int threads -- Worker threads of a query
+   * ----------------------------------------------------------------------- */
+  private GameHistory( MappedByteBuffer[ ] blocks, long games, int threads )
+  {
+    this.blocks = blocks;
+    this.games = games;
+    this.threads = threads;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  open()
+   * Prototype:      public static GameHistory open( Path path, int threads )
+   *                                 throws IOException;
+   * Description:    Map a history file for queries.  The blocks are mapped
+   *                 one at a time, so a history can be larger than the
+   *                 largest single mapping.
+   * Parameters:
+   *      arg 1:     Path path -- Path of the history
+   *      arg 2:     int threads -- Worker threads of a query
+   * Return Value:   GameHistory -- History of the games in the file
+   * ----------------------------------------------------------------------- */
+  public static GameHistory open( Path path, int threads ) throws IOException
+  {
+    // The mappings stay valid after the channel is closed
+    try( FileChannel channel = FileChannel.open( path,
+                                                 StandardOpenOption.READ ) )
+    {
+      ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE ).order( ORDER );
+      while( header.hasRemaining( ) &&
+             channel.read( header, header.position( ) ) > 0 )
+      {
+        // Keep reading until the header is in
+      }
+
+      if( header.hasRemaining( ) ||
+          header.getInt( MAGIC_OFFSET ) != MAGIC ||
+          header.getInt( FORMAT_OFFSET ) != FORMAT_VERSION ||
+          header.getInt( RULES_OFFSET ) != StrategyFile.ruleVersion( ) ||
+          header.getInt( CAPACITY_OFFSET ) != HistoryChunk.CAPACITY )
+      {
+        throw new IOException( path + ": not a game history for these " +
+                               "rules" );
+      }
+
+      long games = header.getLong( GAMES_OFFSET );
+      long count = ( games + HistoryChunk.CAPACITY - 1 ) /
+                   HistoryChunk.CAPACITY;
+      if( games < 0 || channel.size( ) != HEADER_SIZE + count * BLOCK_SIZE )
+      {
+        throw new IOException( path + ": wrong size for a game history" );
+      }
+
+      MappedByteBuffer[ ] blocks = new MappedByteBuffer[ (int) count ];
+      for( int block = 0; block < blocks.length; block++ )
+      {
+        blocks[ block ] =
+          channel.map( FileChannel.MapMode.READ_ONLY,
+                       HEADER_SIZE + (long) block * BLOCK_SIZE, BLOCK_SIZE );
+        blocks[ block ].order( ORDER );
+      }
+
+      return new GameHistory( blocks, games, threads );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getGameCount()
+   * Prototype:      public long getGameCount( );
+   * Description:    Return the number of games in the history.
+   * Parameters:     None
+   * Return Value:   long -- Number of games
+   * ----------------------------------------------------------------------- */
+  public long getGameCount( )
+  {
+    return games;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  countBonus()
+   * Prototype:      public long countBonus( ) throws InterruptedException;
+   * Description:    Return the number of games that earned the upper bonus.
+   * Parameters:     None
+   * Return Value:   long -- Number of games with the bonus
+   * ----------------------------------------------------------------------- */
+  public long countBonus( ) throws InterruptedException
+  {
+    return scan( 1, new Scan( )
+    {
+      void scan( ByteBuffer block, int count, long[ ] counts )
+      {
+        long bonuses = 0;
+        for( int game = 0; game < count; game++ )
+        {
+          bonuses += block.get( BONUS_OFFSET + game );
+        }
+        counts[ 0 ] += bonuses;
+      }
+    } )[ 0 ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  countByRound()
+   * Prototype:      public long[ ] countByRound( int category,
+   *                                              int minPoints )
+   *                                 throws InterruptedException;
+   * Description:    Count the games that scored at least some points in a
+   *                 category, by the round the category was scored in (so
+   *                 countByRound( YAHTZEE, 1 ) counts Yahtzees by round).
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   *      arg 2:     int minPoints -- Fewest points counted
+   * Return Value:   long[ ] -- Number of games for each round (from 0)
+   * ----------------------------------------------------------------------- */
+  public long[ ] countByRound( int category, int minPoints )
+    throws InterruptedException
+  {
+    int points = scoreOffset( category );
+    int rounds = roundOffset( category );
+
+    return scan( DiceController.MAX_ROUNDS, new Scan( )
+    {
+      void scan( ByteBuffer block, int count, long[ ] counts )
+      {
+        for( int game = 0; game < count; game++ )
+        {
+          if( block.get( points + game ) >= minPoints )
+          {
+            counts[ block.get( rounds + game ) ]++;
+          }
+        }
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getMeanPoints()
+   * Prototype:      public double getMeanPoints( int category )
+   *                                 throws InterruptedException;
+   * Description:    Return the average points scored in a category.
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   * Return Value:   double -- Average points (NaN if there are no games)
+   * ----------------------------------------------------------------------- */
+  public double getMeanPoints( int category ) throws InterruptedException
+  {
+    int points = scoreOffset( category );
+
+    long sum = scan( 1, new Scan( )
+    {
+      void scan( ByteBuffer block, int count, long[ ] counts )
+      {
+        long blockSum = 0;
+        for( int game = 0; game < count; game++ )
+        {
+          blockSum += block.get( points + game );
+        }
+        counts[ 0 ] += blockSum;
+      }
+    } )[ 0 ];
+
+    return (double) sum / games;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getTotals()
+   * Prototype:      public SimulationStats getTotals( )
+   *                                 throws InterruptedException;
+   * Description:    Return the distribution of the games' final scores.
+   * Parameters:     None
+   * Return Value:   SimulationStats -- Stats of the final scores
+   * ----------------------------------------------------------------------- */
+  public SimulationStats getTotals( ) throws InterruptedException
+  {
+    long[ ] histogram = scan( SimulationStats.MAX_SCORE + 1, new Scan( )
+    {
+      void scan( ByteBuffer block, int count, long[ ] counts )
+      {
+        for( int game = 0; game < count; game++ )
+        {
+          counts[ block.getShort( TOTAL_OFFSET + game * Short.BYTES ) ]++;
+        }
+      }
+    } );
+
+    SimulationStats stats = new SimulationStats( );
+    for( int score = 0; score < histogram.length; score++ )
+    {
+      stats.add( score, histogram[ score ] );
+    }
+    return stats;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scan()
+   * Prototype:      private long[ ] scan( int size, Scan scan )
+   *                                 throws InterruptedException;
+   * Description:    Run a scan over every block, spreading the blocks across
+   *                 the worker threads, and add up the workers' counts.
+   * Parameters:
+   *      arg 1:     int size -- Number of counts the scan keeps
+   *      arg 2:     Scan scan -- Scan of a block
+   * Return Value:   long[ ] -- Counts over every game
+   * ----------------------------------------------------------------------- */
+  private long[ ] scan( int size, Scan scan ) throws InterruptedException
+  {
+    List<Callable<long[ ]>> workers = new ArrayList<>( );
+
+    // Deal the blocks out in turn, so every worker gets a full share
+    for( int worker = 0; worker < threads; worker++ )
+    {
+      int first = worker;
+
+      workers.add( new Callable<long[ ]>( )
+      {
+        public long[ ] call( )
+        {
+          long[ ] counts = new long[ size ];
+          for( int block = first; block < blocks.length; block += threads )
+          {
+            scan.scan( blocks[ block ], getCount( block ), counts );
+          }
+          return counts;
+        }
+      } );
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool( threads );
+    try
+    {
+      long[ ] total = new long[ size ];
+      for( Future<long[ ]> result : pool.invokeAll( workers ) )
+      {
+        long[ ] counts = result.get( );
+        for( int index = 0; index < size; index++ )
+        {
+          total[ index ] += counts[ index ];
+        }
+      }
+      return total;
+    }
+    catch( ExecutionException ex )
+    {
+      throw new IllegalStateException( "History scan failed", ex.getCause( ) );
+    }
+    finally
+    {
+      pool.shutdown( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getCount()
+   * Prototype:      private int getCount( int block );
+   * Description:    Return the number of games in a block (only the last
+   *                 block can be partly filled).
+   * Parameters:
+   *      arg 1:     int block -- Index of the block
+   * Return Value:   int -- Number of games in the block
+   * ----------------------------------------------------------------------- */
+  private int getCount( int block )
+  {
+    return (int) Math.min( HistoryChunk.CAPACITY,
+                           games - (long) block * HistoryChunk.CAPACITY );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreOffset()
+   * Prototype:      static int scoreOffset( int category );
+   * Description:    Return the offset of a category's points column in a
+   *                 block.
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   * Return Value:   int -- Offset of the column
+   * ----------------------------------------------------------------------- */
+  static int scoreOffset( int category )
+  {
+    return category * HistoryChunk.CAPACITY;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  roundOffset()
+   * Prototype:      static int roundOffset( int category );
+   * Description:    Return the offset of a category's round column in a
+   *                 block.
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   * Return Value:   int -- Offset of the column
+   * ----------------------------------------------------------------------- */
+  static int roundOffset( int category )
+  {
+    return ( ScoreEngine.NUM_CATEGORIES + category ) * HistoryChunk.CAPACITY;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  defaultPath()
+   * Prototype:      public static Path defaultPath( );
+   * Description:    Return the path of the history, which is set by the
+   *                 yahtzee.history.file property or is in the user's home
+   *                 directory.
+   * Parameters:     None
+   * Return Value:   Path -- Path of the history
+   * ----------------------------------------------------------------------- */
+  public static Path defaultPath( )
+  {
+    String name = System.getProperty( FILE_PROPERTY );
+
+    if( name == null )
+    {
+      name = System.getProperty( "user.home" ) + File.separator + DEFAULT_NAME;
+    }
+
+    return new File( name ).toPath( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Class Name:     Scan
+   * Description:    Aggregation run over one block of games at a time,
+   *                 adding into counts kept by its worker thread.
+   * ----------------------------------------------------------------------- */
+  private abstract static class Scan
+  {
+    // Add the first count games of a block into the counts
+    abstract void scan( ByteBuffer block, int count, long[ ] counts );
+  }
+}
@@ -0,0 +1,484 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameProtocol.java                                           *
+ * Description:  Binary messages between GameServer and its clients, and the *
+ *               encoding of roll and score events for recorded games.       *
+ *               Every message starts with a header byte: the top three bits *
+ *               are the type and the low five bits a small field (a hold    *
+ *               mask, a category, or a reason).                             *
+ *                                                                           *
+ *               client -> server                    field      size         *
+ *                 ROLL                              hold mask  1            *
+ *                 SCORE                             category   1            *
+ *                 NEW_GAME                          -          1            *
+ *               server -> client                                            *
+ *                 WELCOME   session id, state       -          10 to 19     *
+ *                 ROLLED    dice (15 bits)          hold mask  3            *
+ *                 SCORED    upper, total            category   3 to 4       *
+ *                 STARTED                           -          1            *
+ *                 REJECTED                          reason     1            *
+ *               event logs only (see EventLog)                              *
+ *                 HELD                              position   1            *
+ *                                                                           *
+ *               Dice are packed three bits per die (see ScoreEngine.pack()) *
+ *               in two big-endian bytes, the session id, upper total, and   *
+ *               grand total are varints (seven bits per byte, low bits      *
+ *               first), and the state is a big-endian GameState long.  Each *
+ *               action gets exactly one answer, in order.  Writers fill the *
+ *               caller's buffer, so nothing is allocated per message.       *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.nio.ByteBuffer;
+
+public class GameProtocol
+{
+  // Port the server listens on unless told otherwise
+  public static final int DEFAULT_PORT = 7777;
+
+  // Message types (the client's match GameSession's actions)
+  public static final int ROLL = GameSession.ROLL;
+  public static final int SCORE = GameSession.SCORE;
+  public static final int NEW_GAME = GameSession.NEW_GAME;
+  public static final int WELCOME = 3;
+  public static final int ROLLED = 4;
+  public static final int SCORED = 5;
+  public static final int STARTED = 6;
+  public static final int REJECTED = 7;
+
+  // Hold button toggle (only in event logs, which never hold actions, so it
+  // shares the code of ROLL)
+  public static final int HELD = 0;
+
+  // Reasons an action is rejected
+  public static final int ILLEGAL_MOVE = 1;   // Not allowed in this state
+  public static final int BAD_REQUEST = 2;    // Not a valid action
+
+  // Size of a client's messages and of the largest message
+  public static final int ACTION_SIZE = 1;
+  public static final int MAX_SIZE = 19;
+
+  // Layout of the header byte
+  private static final int FIELD_BITS = 5;
+  private static final int FIELD_MASK = ( 1 << FIELD_BITS ) - 1;
+  private static final int TYPE_MASK = 0x7;
+
+  // Size of the dice of a ROLLED message and of a WELCOME's state
+  private static final int DICE_SIZE = 2;
+  private static final int STATE_SIZE = Long.BYTES;
+
+  // Layout of a varint byte
+  private static final int VARINT_BITS = 7;
+  private static final int VARINT_MASK = 0x7f;
+  private static final int VARINT_MORE = 0x80;
+
+  // Longest varint (a whole long)
+  private static final int MAX_VARINT_SIZE = 10;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameProtocol()
+   * Prototype:      private GameProtocol( );
+   * Description:    Messages are only built through static methods, so this
+   *                 class is never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private GameProtocol( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  typeOf()
+   * Prototype:      public static int typeOf( ByteBuffer buffer );
+   * Description:    Return the type of the message at the buffer's position
+   *                 without moving the position.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer with at least one byte left
+   * Return Value:   int -- Message type
+   * ----------------------------------------------------------------------- */
+  public static int typeOf( ByteBuffer buffer )
+  {
+    return ( buffer.get( buffer.position( ) ) >>> FIELD_BITS ) & TYPE_MASK;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  fieldOf()
+   * Prototype:      public static int fieldOf( ByteBuffer buffer );
+   * Description:    Return the header field of the message at the buffer's
+   *                 position without moving the position.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer with at least one byte left
+   * Return Value:   int -- Hold mask, category, or reason (0 to 31)
+   * ----------------------------------------------------------------------- */
+  public static int fieldOf( ByteBuffer buffer )
+  {
+    return buffer.get( buffer.position( ) ) & FIELD_MASK;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  messageSize()
+   * Prototype:      public static int messageSize( ByteBuffer buffer );
+   * Description:    Return the size of the message at the buffer's position
+   *                 if all of it is in the buffer.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer holding received bytes
+   * Return Value:   int -- Size of the message (0 if more bytes are needed)
+   * ----------------------------------------------------------------------- */
+  public static int messageSize( ByteBuffer buffer )
+  {
+    int start = buffer.position( );
+    int available = buffer.remaining( );
+    if( available == 0 ) return 0;
+
+    int size;
+    switch( typeOf( buffer ) )
+    {
+      case WELCOME:
+        size = varintEnd( buffer, start + 1 );
+        size = ( size < 0 )? -1: size - start + STATE_SIZE;
+        break;
+      case ROLLED:
+        size = 1 + DICE_SIZE;
+        break;
+      case SCORED:
+        size = varintEnd( buffer, start + 1 );
+        size = ( size < 0 )? -1: varintEnd( buffer, size );
+        size = ( size < 0 )? -1: size - start;
+        break;
+      default:
+        size = 1;
+        break;
+    }
+
+    return ( size < 0 || size > available )? 0: size;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putRoll()
+   * Prototype:      public static void putRoll( ByteBuffer buffer,
+   *                                             int holdMask );
+   * Description:    Write a ROLL message.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     int holdMask -- Bit mask of held dice
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putRoll( ByteBuffer buffer, int holdMask )
+  {
+    putHeader( buffer, ROLL, holdMask );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putScore()
+   * Prototype:      public static void putScore( ByteBuffer buffer,
+   *                                              int category );
+   * Description:    Write a SCORE message.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     int category -- Category index in ScoreEngine
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putScore( ByteBuffer buffer, int category )
+  {
+    putHeader( buffer, SCORE, category );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putNewGame()
+   * Prototype:      public static void putNewGame( ByteBuffer buffer );
+   * Description:    Write a NEW_GAME message.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putNewGame( ByteBuffer buffer )
+  {
+    putHeader( buffer, NEW_GAME, 0 );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putWelcome()
+   * Prototype:      public static void putWelcome( ByteBuffer buffer,
+   *                                                long sessionId,
+   *                                                long state );
+   * Description:    Write a WELCOME message (sent once a client connects).
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     long sessionId -- Id of the client's session
+   *      arg 3:     long state -- State of the session's game
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putWelcome( ByteBuffer buffer, long sessionId,
+                                 long state )
+  {
+    putHeader( buffer, WELCOME, 0 );
+    putVarint( buffer, sessionId );
+    buffer.putLong( state );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putRolled()
+   * Prototype:      public static void putRolled( ByteBuffer buffer,
+   *                                               int holdMask, int dice );
+   * Description:    Write a ROLLED event: the dice that were held and the
+   *                 dice showing after the roll.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     int holdMask -- Bit mask of the dice that were held
+   *      arg 3:     int dice -- Dice packed three bits per die
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putRolled( ByteBuffer buffer, int holdMask, int dice )
+  {
+    putHeader( buffer, ROLLED, holdMask );
+    buffer.putShort( (short) dice );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putScored()
+   * Prototype:      public static void putScored( ByteBuffer buffer,
+   *                                               int category, int upper,
+   *                                               int total );
+   * Description:    Write a SCORED event: the category chosen and the totals
+   *                 after scoring it.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     int category -- Category index in ScoreEngine
+   *      arg 3:     int upper -- Upper section sum (without the bonus)
+   *      arg 4:     int total -- Grand total (with the bonus)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putScored( ByteBuffer buffer, int category, int upper,
+                                int total )
+  {
+    putHeader( buffer, SCORED, category );
+    putVarint( buffer, upper );
+    putVarint( buffer, total );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putStarted()
+   * Prototype:      public static void putStarted( ByteBuffer buffer );
+   * Description:    Write a STARTED event (a new game began).
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putStarted( ByteBuffer buffer )
+  {
+    putHeader( buffer, STARTED, 0 );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putHeld()
+   * Prototype:      public static void putHeld( ByteBuffer buffer,
+   *                                             int position );
+   * Description:    Write a HELD event (a die's hold button was toggled).
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     int position -- Position of the die (0 to 4)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putHeld( ByteBuffer buffer, int position )
+  {
+    putHeader( buffer, HELD, position );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putRejected()
+   * Prototype:      public static void putRejected( ByteBuffer buffer,
+   *                                                 int reason );
+   * Description:    Write a REJECTED message (an action that wasn't done).
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     int reason -- ILLEGAL_MOVE or BAD_REQUEST
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putRejected( ByteBuffer buffer, int reason )
+  {
+    putHeader( buffer, REJECTED, reason );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putEvent()
+   * Prototype:      public static void putEvent( ByteBuffer buffer,
+   *                                              int action, int argument,
+   *                                              long state );
+   * Description:    Write the event an action caused (ROLLED, SCORED, or
+   *                 STARTED) from the state after it.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     int action -- Action that was applied (see GameSession)
+   *      arg 3:     int argument -- Hold mask or category of the action
+   *      arg 4:     long state -- Game state after the action
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putEvent( ByteBuffer buffer, int action, int argument,
+                               long state )
+  {
+    switch( action )
+    {
+      case ROLL:
+        // Nothing is held on the first roll of a round
+        putRolled( buffer, ( GameState.getRolls( state ) == 1 )? 0: argument,
+                   GameState.getDice( state ) );
+        break;
+      case SCORE:
+        putScored( buffer, argument, GameState.getUpper( state ),
+                   GameState.getTotal( state ) );
+        break;
+      default:
+        putStarted( buffer );
+        break;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  applyEvent()
+   * Prototype:      public static long applyEvent( ByteBuffer buffer,
+   *                                                long state );
+   * Description:    Read a whole ROLLED, SCORED, STARTED, HELD, or REJECTED
+   *                 message and return the state after it (holds aren't
+   *                 part of the state).  Scoring is replayed on the passed
+   *                 in state, and the totals sent must match.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer positioned at the message
+   *      arg 2:     long state -- Game state before the event
+   * Return Value:   long -- Game state after the event
+   * ----------------------------------------------------------------------- */
+  public static long applyEvent( ByteBuffer buffer, long state )
+  {
+    int type = typeOf( buffer );
+    int field = buffer.get( ) & FIELD_MASK;
+
+    switch( type )
+    {
+      case ROLLED:
+        return GameState.withDice( state, buffer.getShort( ) );
+      case SCORED:
+        long next = GameState.score( state, field );
+        if( getVarint( buffer ) != GameState.getUpper( next ) ||
+            getVarint( buffer ) != GameState.getTotal( next ) )
+        {
+          throw new IllegalStateException( "Totals don't match the game: " +
+                                           GameState.toString( next ) );
+        }
+        return next;
+      case STARTED:
+        return GameState.NEW_GAME;
+      case HELD:
+        return state;
+      case REJECTED:
+        throw new IllegalStateException( "Action rejected, reason " +
+                                         field );
+      default:
+        throw new IllegalArgumentException( "Not an event: type " + type );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putVarint()
+   * Prototype:      public static void putVarint( ByteBuffer buffer,
+   *                                               long value );
+   * Description:    Write a non-negative number seven bits per byte, low
+   *                 bits first (small numbers take one byte).
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     long value -- Number to write
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void putVarint( ByteBuffer buffer, long value )
+  {
+    while( ( value & ~VARINT_MASK ) != 0 )
+    {
+      buffer.put( (byte)( ( value & VARINT_MASK ) | VARINT_MORE ) );
+      value >>>= VARINT_BITS;
+    }
+    buffer.put( (byte) value );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getVarint()
+   * Prototype:      public static long getVarint( ByteBuffer buffer );
+   * Description:    Read a number written by putVarint().
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to read from
+   * Return Value:   long -- Number read
+   * ----------------------------------------------------------------------- */
+  public static long getVarint( ByteBuffer buffer )
+  {
+    long value = 0;
+    int shift = 0;
+    int next;
+
+    do
+    {
+      next = buffer.get( );
+      value |= (long)( next & VARINT_MASK ) << shift;
+      shift += VARINT_BITS;
+    }
+    while( ( next & VARINT_MORE ) != 0 );
+
+    return value;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  varintEnd()
+   * Prototype:      private static int varintEnd( ByteBuffer buffer,
+   *                                               int start );
+   * Description:    Return where a varint ends without reading it.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer holding the varint
+   *      arg 2:     int start -- Index of the varint's first byte
+   * Return Value:   int -- Index after its last byte (-1 if it isn't all
+   *                 in the buffer yet)
+   * ----------------------------------------------------------------------- */
+  private static int varintEnd( ByteBuffer buffer, int start )
+  {
+    int end = Math.min( buffer.limit( ), start + MAX_VARINT_SIZE );
+
+    for( int index = start; index < end; index++ )
+    {
+      if( ( buffer.get( index ) & VARINT_MORE ) == 0 )
+      {
+        return index + 1;
+      }
+    }
+
+    return -1;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  putHeader()
+   * Prototype:      private static void putHeader( ByteBuffer buffer,
+   *                                                int type, int field );
+   * Description:    Write the header byte of a message.
+   * Parameters:
+   *      arg 1:     ByteBuffer buffer -- Buffer to write to
+   *      arg 2:     int type -- Message type
+   *      arg 3:     int field -- Header field (0 to 31)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void putHeader( ByteBuffer buffer, int type, int field )
+  {
+    buffer.put( (byte)( ( type << FIELD_BITS ) | ( field & FIELD_MASK ) ) );
+  }
+}
@@ -0,0 +1,232 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameRecorder.java                                           *
+ * Description:  Records the game played in the window to an EventLog.  The  *
+ *               controllers report each roll, hold, and score on the game   *
+ *               thread (see GameExecutor); nothing is recorded until a log  *
+ *               is opened, so games built by the training run or replayed   *
+ *               aren't logged.  A log that fails is closed and recording    *
+ *               stops, without stopping the game.                           *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class GameRecorder
+{
+  // Name of the thread that writes the last events at exit
+  private static final String HOOK_NAME = "game-log-close";
+
+  // Log being recorded to (null when not recording; set on the game thread
+  // and cleared at exit)
+  private static volatile EventLog log;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameRecorder()
+   * Prototype:      private GameRecorder( );
+   * Description:    The recorder only has static methods, so it is never
+   *                 instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private GameRecorder( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  start()
+   * Prototype:      public static void start( Path path );
+   * Description:    Open a log on the game thread (before any click is
+   *                 handled) and record to it until the program exits.
+   * Parameters:
+   *      arg 1:     Path path -- Path of the log
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void start( Path path )
+  {
+    GameExecutor.submit( new Runnable( )
+    {
+      public void run( )
+      {
+        try
+        {
+          log = new EventLog( path );
+        }
+        catch( IOException ex )
+        {
+          System.err.println( "Not recording games: " + ex.getMessage( ) );
+          return;
+        }
+
+        // Write the events still batched when the window is closed
+        Runtime.getRuntime( ).addShutdownHook( new Thread( new Runnable( )
+        {
+          public void run( )
+          {
+            stop( );
+          }
+        }, HOOK_NAME ) );
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  started()
+   * Prototype:      public static void started( );
+   * Description:    Record the start of a game.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void started( )
+  {
+    EventLog current = log;
+    if( current == null ) return;
+
+    try
+    {
+      current.started( );
+    }
+    catch( IOException ex )
+    {
+      failed( current, ex );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  rolled()
+   * Prototype:      public static void rolled( int holdMask, int dice );
+   * Description:    Record a roll of the dice.
+   * Parameters:
+   *      arg 1:     int holdMask -- Bit mask of the dice that were held
+   *      arg 2:     int dice -- Dice after the roll, packed three bits per
+   *                 die
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void rolled( int holdMask, int dice )
+  {
+    EventLog current = log;
+    if( current == null ) return;
+
+    try
+    {
+      current.rolled( holdMask, dice );
+    }
+    catch( IOException ex )
+    {
+      failed( current, ex );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  held()
+   * Prototype:      public static void held( int position );
+   * Description:    Record a toggle of a die's hold button.
+   * Parameters:
+   *      arg 1:     int position -- Position of the die (0 to 4)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void held( int position )
+  {
+    EventLog current = log;
+    if( current == null ) return;
+
+    try
+    {
+      current.held( position );
+    }
+    catch( IOException ex )
+    {
+      failed( current, ex );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scored()
+   * Prototype:      public static void scored( int category, int upper,
+   *                                            int total, boolean over );
+   * Description:    Record the category chosen for the dice, writing the
+   *                 game to the log if it is over.
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   *      arg 2:     int upper -- Upper section sum after scoring
+   *      arg 3:     int total -- Grand total after scoring
+   *      arg 4:     boolean over -- Whether that was the last round
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void scored( int category, int upper, int total,
+                             boolean over )
+  {
+    EventLog current = log;
+    if( current == null ) return;
+
+    try
+    {
+      current.scored( category, upper, total );
+      if( over )
+      {
+        current.flush( );
+      }
+    }
+    catch( IOException ex )
+    {
+      failed( current, ex );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  stop()
+   * Prototype:      public static void stop( );
+   * Description:    Write the batched events and stop recording.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void stop( )
+  {
+    EventLog current = log;
+    if( current == null ) return;
+    log = null;
+
+    try
+    {
+      current.close( );
+    }
+    catch( IOException ex )
+    {
+      System.err.println( "Couldn't write the game log: " +
+                          ex.getMessage( ) );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  failed()
+   * Prototype:      private static void failed( EventLog current,
+   *                                             IOException ex );
+   * Description:    Stop recording to a log that couldn't be written.
+   * Parameters:
+   *      arg 1:     EventLog current -- Log that failed
+   *      arg 2:     IOException ex -- What went wrong
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void failed( EventLog current, IOException ex )
+  {
+    System.err.println( "Stopped recording games: " + ex.getMessage( ) );
+    log = null;
+
+    try
+    {
+      current.close( );
+    }
+    catch( IOException closeEx )
+    {
+      // The log already failed, and that was reported
+    }
+  }
+}
@@ -0,0 +1,261 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameReplay.java                                             *
+ * Description:  Replays one game of an EventLog in the window.  The dice    *
+ *               are scripted with the faces the log recorded, and the       *
+ *               roll, hold, and score buttons are clicked in the order the  *
+ *               player clicked them, a step at a time, so the window plays  *
+ *               the game exactly as it was played.                          *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import javax.swing.*;         // For JComponents (GUI)
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+public class GameReplay implements Runnable
+{
+  // System property to set the milliseconds between replayed clicks
+  public static final String DELAY_PROPERTY = "yahtzee.replay.delay";
+
+  // Milliseconds between replayed clicks when the property isn't set
+  private static final long DEFAULT_DELAY = 500;
+
+  // Name of the thread clicking the buttons
+  private static final String THREAD_NAME = "game-replay";
+
+  // Events a game starts out with room for (a game is usually 40 to 80)
+  private static final int INITIAL_EVENTS = 64;
+
+  private final long game;           // Number of the game in the log
+  private int count;                 // Number of events in the game
+
+  // Type, field, and state after each event of the game
+  private int[ ] types = new int[ INITIAL_EVENTS ];
+  private int[ ] fields = new int[ INITIAL_EVENTS ];
+  private long[ ] states = new long[ INITIAL_EVENTS ];
+
+  // Controllers of the window replaying the game
+  private DiceController diceControl;
+  private ScoreController scoreControl;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameReplay()
+   * Prototype:      public GameReplay( Path path, long game )
+   *                                 throws IOException;
+   * Description:    Read the events of one game from a log.
+   * Parameters:
+   *      arg 1:     Path path -- Path of the log
+   *      arg 2:     long game -- Number of the game in the log (from 0)
+   * ----------------------------------------------------------------------- */
+  public GameReplay( Path path, long game ) throws IOException
+  {
+    this.game = game;
+
+    long games = EventLog.replay( path, new ReplayListener( )
+    {
+      public void event( long number, int type, int field, long state )
+      {
+        if( number == game )
+        {
+          add( type, field, state );
+        }
+      }
+    } );
+
+    if( game < 0 || game >= games )
+    {
+      throw new IOException( path + ": no game " + game + " (the log has " +
+                             games + ")" );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  add()
+   * Prototype:      private void add( int type, int field, long state );
+   * Description:    Add an event to the end of the game.
+   * Parameters:
+   *      arg 1:     int type -- Type of the event
+   *      arg 2:     int field -- Field of the event
+   *      arg 3:     long state -- Game state after the event
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void add( int type, int field, long state )
+  {
+    if( count == types.length )
+    {
+      types = Arrays.copyOf( types, count * 2 );
+      fields = Arrays.copyOf( fields, count * 2 );
+      states = Arrays.copyOf( states, count * 2 );
+    }
+
+    types[ count ] = type;
+    fields[ count ] = field;
+    states[ count ] = state;
+    count++;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  start()
+   * Prototype:      public void start( DiceController dice,
+   *                                    ScoreController score );
+   * Description:    Start replaying the game in a window (before its first
+   *                 roll) on a thread of its own.
+   * Parameters:
+   *      arg 1:     DiceController dice -- Dice portion of the window
+   *      arg 2:     ScoreController score -- Score portion of the window
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void start( DiceController dice, ScoreController score )
+  {
+    diceControl = dice;
+    scoreControl = score;
+    diceControl.setDiceSource( new ScriptedDiceSource( getFaces( ) ) );
+
+    Thread replayThread = new Thread( this, THREAD_NAME );
+    replayThread.setDaemon( true );
+    replayThread.start( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getFaces()
+   * Prototype:      private int[ ] getFaces( );
+   * Description:    Return every face the dice rolled in the game, in the
+   *                 order the dice roll them (each die that wasn't held, by
+   *                 position).
+   * Parameters:     None
+   * Return Value:   int[ ] -- Faces rolled
+   * ----------------------------------------------------------------------- */
+  private int[ ] getFaces( )
+  {
+    int[ ] faces = new int[ count * ScoreEngine.NUM_OF_DICE ];
+    int size = 0;
+
+    for( int event = 0; event < count; event++ )
+    {
+      if( types[ event ] != GameProtocol.ROLLED ) continue;
+
+      for( int index = 0; index < ScoreEngine.NUM_OF_DICE; index++ )
+      {
+        if( ( fields[ event ] & ( 1 << index ) ) == 0 )
+        {
+          faces[ size++ ] = GameState.getDie( states[ event ], index );
+        }
+      }
+    }
+
+    return Arrays.copyOf( faces, size );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  run()
+   * Prototype:      public void run( );
+   * Description:    Click the buttons of each event in turn, then check the
+   *                 window ended on the logged total.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Override
+  public void run( )
+  {
+    long delay = Long.getLong( DELAY_PROPERTY, DEFAULT_DELAY );
+
+    try
+    {
+      for( int event = 0; event < count; event++ )
+      {
+        JButton button;
+
+        switch( types[ event ] )
+        {
+          case GameProtocol.ROLLED:
+            button = diceControl.getRollButton( );
+            break;
+          case GameProtocol.HELD:
+            button = diceControl.getDice( fields[ event ] ).getHoldButton( );
+            break;
+          case GameProtocol.SCORED:
+            button = scoreControl.getActiveScore( fields[ event ] )
+                                 .getButton( );
+            break;
+          default:
+            continue;
+        }
+
+        Thread.sleep( delay );
+        click( button );
+      }
+    }
+    catch( Exception ex )
+    {
+      System.err.println( "Replay stopped: " + ex );
+      return;
+    }
+
+    int logged = GameState.getTotal( states[ count - 1 ] );
+    if( scoreControl.getGrandTotal( ) == logged )
+    {
+      System.out.println( "Replayed game " + game + ": " + logged +
+                          " points" );
+    }
+    else
+    {
+      System.err.println( "Replay of game " + game + " ended on " +
+                          scoreControl.getGrandTotal( ) + " points, but " +
+                          logged + " were logged" );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  click()
+   * Prototype:      private static void click( JButton button )
+   *                                 throws Exception;
+   * Description:    Click a button on the EDT and wait for the game thread
+   *                 to run its action.
+   * Parameters:
+   *      arg 1:     JButton button -- Button to click
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void click( JButton button ) throws Exception
+  {
+    SwingUtilities.invokeAndWait( new Runnable( )
+    {
+      public void run( )
+      {
+        button.doClick( 0 );
+      }
+    } );
+
+    // Actions run in order, so this runs after the click's action
+    CountDownLatch done = new CountDownLatch( 1 );
+    GameExecutor.submit( new Runnable( )
+    {
+      public void run( )
+      {
+        done.countDown( );
+      }
+    } );
+    done.await( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getGame()
+   * Prototype:      public long getGame( );
+   * Description:    Return the number of the game being replayed.
+   * Parameters:     None
+   * Return Value:   long -- Number of the game in the log
+   * ----------------------------------------------------------------------- */
+  public long getGame( )
+  {
+    return game;
+  }
+}
@@ -0,0 +1,491 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameServer.java                                             *
+ * Description:  Hosts a game session for every client that connects and    *
+ *               plays the clients' actions on it (see GameProtocol).  One   *
+ *               thread multiplexes every connection with a Selector, and    *
+ *               the actions run on a SessionScheduler's workers, so         *
+ *               thousands of connections cost a few threads.                *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+public class GameServer implements Runnable
+{
+  // Name of the thread running the selector
+  private static final String THREAD_NAME = "game-server";
+
+  // Connections the operating system queues before they are accepted
+  private static final int ACCEPT_BACKLOG = 4096;
+
+  // Sizes of each connection's buffers (the output grows if needed)
+  private static final int INPUT_SIZE = 256;
+  private static final int OUTPUT_SIZE = 64;
+
+  // Unsent output at which a connection stops being read until the client
+  // catches up
+  private static final int MAX_BACKLOG = 64 * 1024;
+
+  private final Selector selector;          // Multiplexes the connections
+  private final ServerSocketChannel server;  // Accepts new clients
+  private final SessionRegistry sessions;    // Session of every client
+  private final SessionScheduler scheduler;  // Runs the clients' actions
+
+  // Connections with output added by the workers since they were flushed
+  private final ConcurrentLinkedQueue<Connection> flushQueue =
+    new ConcurrentLinkedQueue<>( );
+
+  // Whether the selector has been woken up for the flush queue and hasn't
+  // drained it yet (so workers don't wake it up for every answer)
+  private final AtomicBoolean wakeupPending = new AtomicBoolean( );
+
+  private volatile boolean running = true;  // Cleared to stop the server
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameServer()
+   * Prototype:      public GameServer( int port, int threads, long seed )
+   *                                 throws IOException;
+   * Description:    Open the server's port (0 picks a free one).  Nothing is
+   *                 accepted until the server is run.
+   * Parameters:
+   *      arg 1:     int port -- Port to listen on
+   *      arg 2:     int threads -- Number of workers running the actions
+   *      arg 3:     long seed -- Master seed of every session's dice
+   * ----------------------------------------------------------------------- */
+  public GameServer( int port, int threads, long seed ) throws IOException
+  {
+    sessions = new SessionRegistry( seed );
+    scheduler = new SessionScheduler( threads );
+
+    selector = Selector.open( );
+    server = ServerSocketChannel.open( );
+    server.bind( new InetSocketAddress( port ), ACCEPT_BACKLOG );
+    server.configureBlocking( false );
+    server.register( selector, SelectionKey.OP_ACCEPT );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  start()
+   * Prototype:      public Thread start( );
+   * Description:    Run the server on its own daemon thread.
+   * Parameters:     None
+   * Return Value:   Thread -- Thread running the server
+   * ----------------------------------------------------------------------- */
+  public Thread start( )
+  {
+    Thread thread = new Thread( this, THREAD_NAME );
+    thread.setDaemon( true );
+    thread.start( );
+    return thread;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  run()
+   * Prototype:      public void run( );
+   * Description:    Accept clients, read their actions, and send the
+   *                 answers until the server is closed.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Override
+  public void run( )
+  {
+    try
+    {
+      while( running )
+      {
+        selector.select( );
+
+        wakeupPending.set( false );
+        drainFlushQueue( );
+
+        Iterator<SelectionKey> keys = selector.selectedKeys( ).iterator( );
+        while( keys.hasNext( ) )
+        {
+          SelectionKey key = keys.next( );
+          keys.remove( );
+
+          if( !key.isValid( ) ) continue;
+
+          if( key.isAcceptable( ) )
+          {
+            accept( );
+            continue;
+          }
+
+          Connection connection = (Connection) key.attachment( );
+          try
+          {
+            if( key.isWritable( ) )
+            {
+              flush( connection, key );
+            }
+            if( key.isValid( ) && key.isReadable( ) )
+            {
+              read( connection, key );
+            }
+          }
+          catch( IOException ex )
+          {
+            disconnect( connection, key );
+          }
+        }
+      }
+    }
+    catch( IOException ex )
+    {
+      System.err.println( "Game server stopped: " + ex );
+    }
+    finally
+    {
+      closeAll( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  accept()
+   * Prototype:      private void accept( ) throws IOException;
+   * Description:    Accept every waiting client, give each a new session,
+   *                 and welcome it.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void accept( ) throws IOException
+  {
+    SocketChannel channel;
+    while( ( channel = server.accept( ) ) != null )
+    {
+      channel.configureBlocking( false );
+      channel.socket( ).setTcpNoDelay( true );
+
+      GameSession session = sessions.create( );
+      Connection connection = new Connection( channel, session );
+      SelectionKey key = channel.register( selector, SelectionKey.OP_READ,
+                                           connection );
+
+      synchronized( connection )
+      {
+        GameProtocol.putWelcome( connection.reserve( GameProtocol.MAX_SIZE ),
+                                 session.getId( ), session.getState( ) );
+      }
+
+      try
+      {
+        flush( connection, key );
+      }
+      catch( IOException ex )
+      {
+        disconnect( connection, key );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  read()
+   * Prototype:      private void read( Connection connection,
+   *                                    SelectionKey key ) throws IOException;
+   * Description:    Read what a client sent and submit every whole action
+   *                 in it.  A message that isn't an action drops the client.
+   * Parameters:
+   *      arg 1:     Connection connection -- Connection to read
+   *      arg 2:     SelectionKey key -- Key of the connection
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void read( Connection connection, SelectionKey key )
+    throws IOException
+  {
+    ByteBuffer input = connection.input;
+
+    if( connection.channel.read( input ) < 0 )
+    {
+      disconnect( connection, key );
+      return;
+    }
+
+    input.flip( );
+    while( input.hasRemaining( ) )
+    {
+      int action = GameProtocol.typeOf( input );
+      if( action != GameProtocol.ROLL && action != GameProtocol.SCORE &&
+          action != GameProtocol.NEW_GAME )
+      {
+        disconnect( connection, key );
+        return;
+      }
+
+      submit( connection, action, GameProtocol.fieldOf( input ) );
+      input.position( input.position( ) + GameProtocol.ACTION_SIZE );
+    }
+    input.compact( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  submit()
+   * Prototype:      private void submit( Connection connection, int action,
+   *                                      int argument );
+   * Description:    Run an action on the connection's session and queue its
+   *                 answer (answers come out in the order the actions were
+   *                 sent, since a session runs one action at a time).
+   * Parameters:
+   *      arg 1:     Connection connection -- Connection that sent the action
+   *      arg 2:     int action -- Action (see GameSession)
+   *      arg 3:     int argument -- Argument of the action
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void submit( Connection connection, int action, int argument )
+  {
+    scheduler.submit( connection.session, action, argument )
+      .whenComplete( new BiConsumer<Long, Throwable>( )
+      {
+        public void accept( Long state, Throwable error )
+        {
+          synchronized( connection )
+          {
+            ByteBuffer output = connection.reserve( GameProtocol.MAX_SIZE );
+            if( error == null )
+            {
+              GameProtocol.putEvent( output, action, argument, state );
+            }
+            else
+            {
+              GameProtocol.putRejected( output,
+                                        ( error instanceof
+                                          IllegalStateException )?
+                                        GameProtocol.ILLEGAL_MOVE:
+                                        GameProtocol.BAD_REQUEST );
+            }
+
+            if( connection.queued ) return;
+            connection.queued = true;
+          }
+
+          flushQueue.add( connection );
+          if( !wakeupPending.getAndSet( true ) )
+          {
+            selector.wakeup( );
+          }
+        }
+      } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  drainFlushQueue()
+   * Prototype:      private void drainFlushQueue( );
+   * Description:    Send the answers the workers queued since the last time.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void drainFlushQueue( )
+  {
+    Connection connection;
+    while( ( connection = flushQueue.poll( ) ) != null )
+    {
+      SelectionKey key = connection.channel.keyFor( selector );
+      if( key == null || !key.isValid( ) ) continue;
+
+      try
+      {
+        flush( connection, key );
+      }
+      catch( IOException ex )
+      {
+        disconnect( connection, key );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  flush()
+   * Prototype:      private void flush( Connection connection,
+   *                                     SelectionKey key ) throws IOException;
+   * Description:    Write as much of a connection's output as the socket
+   *                 takes, waiting to write the rest when it has room, and
+   *                 stop reading from a client that has too much unsent.
+   * Parameters:
+   *      arg 1:     Connection connection -- Connection to flush
+   *      arg 2:     SelectionKey key -- Key of the connection
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void flush( Connection connection, SelectionKey key )
+    throws IOException
+  {
+    int unsent;
+
+    synchronized( connection )
+    {
+      connection.queued = false;
+
+      ByteBuffer output = connection.output;
+      output.flip( );
+      connection.channel.write( output );
+      output.compact( );
+      unsent = output.position( );
+    }
+
+    int interest = ( unsent < MAX_BACKLOG )? SelectionKey.OP_READ: 0;
+    if( unsent > 0 )
+    {
+      interest |= SelectionKey.OP_WRITE;
+    }
+    key.interestOps( interest );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  disconnect()
+   * Prototype:      private void disconnect( Connection connection,
+   *                                          SelectionKey key );
+   * Description:    Close a client's connection and drop its session.
+   * Parameters:
+   *      arg 1:     Connection connection -- Connection to close
+   *      arg 2:     SelectionKey key -- Key of the connection
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void disconnect( Connection connection, SelectionKey key )
+  {
+    key.cancel( );
+    sessions.remove( connection.session.getId( ) );
+
+    try
+    {
+      connection.channel.close( );
+    }
+    catch( IOException ex )
+    {
+      // Nothing left to do with the connection
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  closeAll()
+   * Prototype:      private void closeAll( );
+   * Description:    Close every connection, the port, and the selector, and
+   *                 stop the workers.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void closeAll( )
+  {
+    for( SelectionKey key : selector.keys( ) )
+    {
+      if( key.attachment( ) instanceof Connection )
+      {
+        disconnect( (Connection) key.attachment( ), key );
+      }
+    }
+
+    try
+    {
+      server.close( );
+      selector.close( );
+    }
+    catch( IOException ex )
+    {
+      System.err.println( "Couldn't close the game server: " + ex );
+    }
+
+    scheduler.shutdown( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  close()
+   * Prototype:      public void close( );
+   * Description:    Stop the server, closing every connection.  Can be
+   *                 called from any thread.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void close( )
+  {
+    running = false;
+    selector.wakeup( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getPort()
+   * Prototype:      public int getPort( ) throws IOException;
+   * Description:    Return the port the server listens on.
+   * Parameters:     None
+   * Return Value:   int -- Port number
+   * ----------------------------------------------------------------------- */
+  public int getPort( ) throws IOException
+  {
+    return ( (InetSocketAddress) server.getLocalAddress( ) ).getPort( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getSessionCount()
+   * Prototype:      public int getSessionCount( );
+   * Description:    Return the number of sessions (connected clients).
+   * Parameters:     None
+   * Return Value:   int -- Number of sessions
+   * ----------------------------------------------------------------------- */
+  public int getSessionCount( )
+  {
+    return sessions.size( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Class Name:     Connection
+   * Description:    A connected client and the session it plays.  Its input
+   *                 is only used by the selector thread; its output is
+   *                 filled by the workers and drained by the selector
+   *                 thread, guarded by the connection.
+   * ----------------------------------------------------------------------- */
+  private static class Connection
+  {
+    private final SocketChannel channel;  // Channel to the client
+    private final GameSession session;    // Session the client plays
+    private final ByteBuffer input =      // Actions not read yet
+      ByteBuffer.allocate( INPUT_SIZE );
+    private ByteBuffer output =           // Answers not sent yet
+      ByteBuffer.allocate( OUTPUT_SIZE );
+    private boolean queued;               // Whether it is in the flush queue
+
+    public Connection( SocketChannel channel, GameSession session )
+    {
+      this.channel = channel;
+      this.session = session;
+    }
+
+    // Return the output buffer with room for a message, growing it if
+    // needed (the caller must hold the connection)
+    public ByteBuffer reserve( int size )
+    {
+      if( output.remaining( ) < size )
+      {
+        ByteBuffer bigger =
+          ByteBuffer.allocate( Math.max( output.capacity( ) * 2,
+                                         output.position( ) + size ) );
+        output.flip( );
+        output = bigger.put( output );
+      }
+
+      return output;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameSession.java                                            *
+ * Description:  One hosted game: its dice, scores, and round (packed into   *
+ *               a single GameState long) and its own dice stream.  Kept as  *
+ *               small as possible so one process can hold many thousands of *
+ *               idle sessions.  Actions are applied one at a time by a      *
+ *               SessionScheduler; the state can be read from any thread.    *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public class GameSession implements DiceSource
+{
+  // Actions that can be applied to a session
+  public static final int ROLL = 0;       // Argument: hold mask of the dice
+  public static final int SCORE = 1;      // Argument: category index
+  public static final int NEW_GAME = 2;   // Argument: not used
+
+  // Largest hold mask (every die held)
+  private static final int ALL_HELD = ( 1 << ScoreEngine.NUM_OF_DICE ) - 1;
+
+  // Constants of the SplitMix64 generator the dice are rolled with
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  private static final long MIX_1 = 0xbf58476d1ce4e5b9L;
+  private static final long MIX_2 = 0x94d049bb133111ebL;
+  private static final int SHIFT_1 = 30;
+  private static final int SHIFT_2 = 27;
+  private static final int SHIFT_3 = 31;
+  private static final int HALF_BITS = 32;
+
+  private final long id;              // Id of the session in its registry
+  private volatile long state = GameState.NEW_GAME;  // See GameState
+  private volatile long lastActive;   // Time of the last action (millis)
+
+  // State of the dice stream (only used by the action being applied)
+  private long seed;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameSession()
+   * Prototype:      public GameSession( long id, long seed );
+   * Description:    Create a session at the start of a new game.
+   * Parameters:
+   *      arg 1:     long id -- Id of the session in its registry
+   *      arg 2:     long seed -- Seed of the session's dice
+   * ----------------------------------------------------------------------- */
+  public GameSession( long id, long seed )
+  {
+    this.id = id;
+    this.seed = seed;
+    this.lastActive = System.currentTimeMillis( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  apply()
+   * Prototype:      public long apply( int action, int argument );
+   * Description:    Apply an action to the game and return the new state.
+   *                 Only called by the session's scheduler, so actions never
+   *                 overlap.  An illegal move (like scoring a used category)
+   *                 throws an IllegalStateException and a bad argument (like
+   *                 an unknown category) an IllegalArgumentException, and
+   *                 both leave the state unchanged.
+   * Parameters:
+   *      arg 1:     int action -- ROLL, SCORE, or NEW_GAME
+   *      arg 2:     int argument -- Hold mask or category of the action
+   * Return Value:   long -- Game state after the action
+   * ----------------------------------------------------------------------- */
+  public long apply( int action, int argument )
+  {
+    long next;
+
+    switch( action )
+    {
+      case ROLL:
+        checkArgument( argument, ALL_HELD );
+        next = GameState.roll( state, argument, this );
+        break;
+      case SCORE:
+        checkArgument( argument, ScoreEngine.NUM_CATEGORIES - 1 );
+        next = GameState.score( state, argument );
+        break;
+      case NEW_GAME:
+        next = GameState.NEW_GAME;
+        break;
+      default:
+        throw new IllegalArgumentException( "Unknown action: " + action );
+    }
+
+    state = next;
+    lastActive = System.currentTimeMillis( );
+    return next;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  checkArgument()
+   * Prototype:      private static void checkArgument( int argument,
+   *                                                    int max );
+   * Description:    Throw if an action's argument is out of range (actions
+   *                 can come from the network, see GameServer).
+   * Parameters:
+   *      arg 1:     int argument -- Argument of the action
+   *      arg 2:     int max -- Largest allowed argument
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void checkArgument( int argument, int max )
+  {
+    if( argument < 0 || argument > max )
+    {
+      throw new IllegalArgumentException( "Argument out of range: " +
+                                          argument );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextFace()
+   * Prototype:      public int nextFace( );
+   * Description:    Roll one die from the session's own stream (SplitMix64,
+   *                 so the stream costs one long per session).
+   * Parameters:     None
+   * Return Value:   int -- Face of the die (1 to 6)
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int nextFace( )
+  {
+    seed += GOLDEN_GAMMA;
+    long mixed = seed;
+    mixed = ( mixed ^ ( mixed >>> SHIFT_1 ) ) * MIX_1;
+    mixed = ( mixed ^ ( mixed >>> SHIFT_2 ) ) * MIX_2;
+    mixed = mixed ^ ( mixed >>> SHIFT_3 );
+
+    // Scale the top 32 bits into the range of faces
+    return (int)( ( ( mixed >>> HALF_BITS ) * ScoreEngine.MAX_DICE_VAL ) >>>
+                  HALF_BITS ) + ScoreEngine.MIN_DICE_VAL;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getId()
+   * Prototype:      public long getId( );
+   * Description:    Return the id of this session.
+   * Parameters:     None
+   * Return Value:   long -- Id of the session
+   * ----------------------------------------------------------------------- */
+  public long getId( )
+  {
+    return id;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getState()
+   * Prototype:      public long getState( );
+   * Description:    Return the game state after the last action.
+   * Parameters:     None
+   * Return Value:   long -- Game state (see GameState)
+   * ----------------------------------------------------------------------- */
+  public long getState( )
+  {
+    return state;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getLastActive()
+   * Prototype:      public long getLastActive( );
+   * Description:    Return when the last action was applied (or when the
+   *                 session was created).
+   * Parameters:     None
+   * Return Value:   long -- Time in milliseconds since the epoch
+   * ----------------------------------------------------------------------- */
+  public long getLastActive( )
+  {
+    return lastActive;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  toString()
+   * Prototype:      public String toString( );
+   * Description:    Return a string representation of this session.
+   * Parameters:     None
+   * Return Value:   String -- String representation of this session
+   * ----------------------------------------------------------------------- */
+  @Override
+  public String toString( )
+  {
+    return "session " + id + ": " + GameState.toString( state );
+  }
+}
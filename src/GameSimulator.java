@@ -0,0 +1,188 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameSimulator.java                                          *
+ * Description:  Plays complete games of Yahtzee without any GUI, threads,   *
+ *               or pauses, letting a Policy make every decision.  Used to   *
+ *               evaluate strategies over millions of games.                 *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.function.Supplier;  // For making a policy per thread
+import java.io.IOException;
+
+public class GameSimulator
+{
+  private Policy policy;             // Makes the player's decisions
+  private DiceSource source;          // Rolls the dice
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameSimulator()
+   * Prototype:      public GameSimulator( Policy policy,
+   *                                       DiceSource source );
+   * Description:    Create a simulator that plays games with the passed in
+   *                 policy and dice source.
+   * Parameters:
+   *      arg 1:     Policy policy -- Makes the player's decisions
+   *      arg 2:     DiceSource source -- Rolls the dice
+   * ----------------------------------------------------------------------- */
+  public GameSimulator( Policy policy, DiceSource source )
+  {
+    this.policy = policy;
+    this.source = source;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  run()
+   * Prototype:      public void run( long games, SimulationStats stats );
+   * Description:    Play the passed in number of games and add their final
+   *                 scores to the stats.
+   * Parameters:
+   *      arg 1:     long games -- Number of games to play
+   *      arg 2:     SimulationStats stats -- Stats to add the scores to
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void run( long games, SimulationStats stats )
+  {
+    for( long game = 0; game < games; game++ )
+    {
+      stats.add( playGame( ) );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  playGame()
+   * Prototype:      public int playGame( );
+   * Description:    Play one complete game and return its final score.
+   * Parameters:     None
+   * Return Value:   int -- Final score of the game (including the bonus)
+   * ----------------------------------------------------------------------- */
+  public int playGame( )
+  {
+    return GameState.getTotal( playGame( null, null ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  playGame()
+   * Prototype:      public long playGame( byte[ ] scores, byte[ ] rounds );
+   * Description:    Play one complete game, recording the points scored in
+   *                 each category and the round each was scored in (for
+   *                 the game history), and return the final state.
+   * Parameters:
+   *      arg 1:     byte[ ] scores -- Filled with the points of each
+   *                 category (null to not record)
+   *      arg 2:     byte[ ] rounds -- Filled with the round (from 0) each
+   *                 category was scored in (null to not record)
+   * Return Value:   long -- State at the end of the game (see GameState)
+   * ----------------------------------------------------------------------- */
+  public long playGame( byte[ ] scores, byte[ ] rounds )
+  {
+    long state = GameState.NEW_GAME;
+
+    while( !GameState.isOver( state ) )
+    {
+      // The first roll of every round rolls all the dice
+      int hand = roll( Keepers.EMPTY );
+      state = GameState.withDice( state, HandIndex.packedDice( hand ) );
+
+      int usedMask = GameState.getUsedMask( state );
+      int upper = GameState.getUpper( state );
+
+      while( GameState.canRoll( state ) )
+      {
+        int keeper = policy.chooseKeeper( usedMask, upper, hand,
+                                          DiceController.MAX_ROLLS -
+                                          GameState.getRolls( state ) );
+
+        // Holding every die means the player is done rolling
+        if( keeper == Keepers.ofHand( hand ) ) break;
+
+        hand = roll( keeper );
+        state = GameState.withDice( state, HandIndex.packedDice( hand ) );
+      }
+
+      // Score the hand in the category the policy chooses
+      int category = policy.chooseCategory( usedMask, upper, hand );
+      if( scores != null )
+      {
+        scores[ category ] = (byte) HandIndex.score( hand, category );
+        rounds[ category ] = (byte) Integer.bitCount( usedMask );
+      }
+      state = GameState.score( state, category );
+    }
+
+    return state;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  roll()
+   * Prototype:      private int roll( int keeper );
+   * Description:    Roll every die not held by the keeper.
+   * Parameters:
+   *      arg 1:     int keeper -- Keeper index of the held dice
+   * Return Value:   int -- Hand index after the roll
+   * ----------------------------------------------------------------------- */
+  private int roll( int keeper )
+  {
+    int key = Keepers.keyOf( keeper );
+    int count = DiceController.NUM_OF_DICE - Keepers.size( keeper );
+
+    // Roll all the free dice at once and add each face to the key
+    int packed = source.nextFaces( count );
+    for( int die = 0; die < count; die++ )
+    {
+      key += HandIndex.faceKey( packed & ScoreEngine.DIE_MASK );
+      packed >>>= ScoreEngine.BITS_PER_DIE;
+    }
+
+    return HandIndex.indexOfKey( key );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  policyFactory()
+   * Prototype:      public static Supplier<Policy> policyFactory( String name )
+   *                                 throws IOException;
+   * Description:    Return a factory of policies by name ("greedy" or
+   *                 "optimal"), so every worker thread can have its own
+   *                 policy.  Optimal policies share one strategy table, which
+   *                 is loaded (or solved) here.
+   * Parameters:
+   *      arg 1:     String name -- Name of the policy
+   * Return Value:   Supplier<Policy> -- Factory of new policies
+   * ----------------------------------------------------------------------- */
+  public static Supplier<Policy> policyFactory( String name )
+    throws IOException
+  {
+    if( name.equals( "greedy" ) )
+    {
+      return new Supplier<Policy>( )
+      {
+        public Policy get( )
+        {
+          return new GreedyPolicy( );
+        }
+      };
+    }
+
+    if( name.equals( "optimal" ) )
+    {
+      StrategyTable table =
+        StrategyFile.loadOrSolve( StrategyFile.defaultPath( ) );
+
+      return new Supplier<Policy>( )
+      {
+        public Policy get( )
+        {
+          return new OptimalPolicy( table );
+        }
+      };
+    }
+
+    throw new IllegalArgumentException( "Unknown policy: " + name );
+  }
+}
@@ -0,0 +1,391 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GameState.java                                              *
+ * Description:  The whole state of a solitaire Yahtzee game packed into one *
+ *               long, with pure functions to read it and to move from one   *
+ *               state to the next.  States are plain values, so they can be *
+ *               hashed, copied, cached, and stored in primitive arrays.     *
+ *                                                                           *
+ *               Bits  0-14  dice (three bits per die, 0 before the roll)    *
+ *               Bits 15-16  number of rolls so far this round (0 to 3)      *
+ *               Bits 17-29  used category mask                              *
+ *               Bits 30-36  upper section subtotal (0 to 105)               *
+ *               Bits 37-45  total score, including the upper bonus          *
+ *                                                                           *
+ *               These rules have no Yahtzee bonus or joker rule (a second   *
+ *               Yahtzee scores like any other hand), so there is no bonus   *
+ *               flag to store.                                              *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public class GameState
+{
+  // State at the start of a new game (nothing rolled or scored)
+  public static final long NEW_GAME = 0L;
+
+  // Position and width of each field
+  private static final int DICE_SHIFT = 0;
+  private static final int DICE_BITS =
+    ScoreEngine.NUM_OF_DICE * ScoreEngine.BITS_PER_DIE;
+  private static final int ROLLS_SHIFT = DICE_SHIFT + DICE_BITS;
+  private static final int ROLLS_BITS = 2;
+  private static final int USED_SHIFT = ROLLS_SHIFT + ROLLS_BITS;
+  private static final int USED_BITS = ScoreEngine.NUM_CATEGORIES;
+  private static final int UPPER_SHIFT = USED_SHIFT + USED_BITS;
+  private static final int UPPER_BITS = 7;
+  private static final int TOTAL_SHIFT = UPPER_SHIFT + UPPER_BITS;
+  private static final int TOTAL_BITS = 9;
+
+  // Mask with every category used (the game is over)
+  private static final int ALL_USED = ( 1 << ScoreEngine.NUM_CATEGORIES ) - 1;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      GameState()
+   * Prototype:      private GameState( );
+   * Description:    States are plain longs handled by static methods, so this
+   *                 class is never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private GameState( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getDice()
+   * Prototype:      public static int getDice( long state );
+   * Description:    Return the dice of the state.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   int -- Dice packed three bits per die (0 if the dice
+   *                 haven't been rolled this round)
+   * ----------------------------------------------------------------------- */
+  public static int getDice( long state )
+  {
+    return (int) field( state, DICE_SHIFT, DICE_BITS );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getDie()
+   * Prototype:      public static int getDie( long state, int index );
+   * Description:    Return the value of one die of the state.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   *      arg 2:     int index -- Position of the die (0 to 4)
+   * Return Value:   int -- Value of the die (0 if not rolled yet)
+   * ----------------------------------------------------------------------- */
+  public static int getDie( long state, int index )
+  {
+    return ( getDice( state ) >>> ( index * ScoreEngine.BITS_PER_DIE ) ) &
+           ScoreEngine.DIE_MASK;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getHand()
+   * Prototype:      public static int getHand( long state );
+   * Description:    Return the hand index of the dice of the state (which
+   *                 must have been rolled this round).
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   int -- Hand index of the dice (see HandIndex)
+   * ----------------------------------------------------------------------- */
+  public static int getHand( long state )
+  {
+    return HandIndex.indexOfPacked( getDice( state ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getRolls()
+   * Prototype:      public static int getRolls( long state );
+   * Description:    Return the number of times the dice have been rolled this
+   *                 round.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   int -- Number of rolls so far (0 to MAX_ROLLS)
+   * ----------------------------------------------------------------------- */
+  public static int getRolls( long state )
+  {
+    return (int) field( state, ROLLS_SHIFT, ROLLS_BITS );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getUsedMask()
+   * Prototype:      public static int getUsedMask( long state );
+   * Description:    Return the categories used so far.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   int -- Bit mask of used categories
+   * ----------------------------------------------------------------------- */
+  public static int getUsedMask( long state )
+  {
+    return (int) field( state, USED_SHIFT, USED_BITS );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getUpper()
+   * Prototype:      public static int getUpper( long state );
+   * Description:    Return the upper section subtotal (not capped).
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   int -- Upper section subtotal
+   * ----------------------------------------------------------------------- */
+  public static int getUpper( long state )
+  {
+    return (int) field( state, UPPER_SHIFT, UPPER_BITS );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getTotal()
+   * Prototype:      public static int getTotal( long state );
+   * Description:    Return the total score so far, including the upper bonus.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   int -- Total score
+   * ----------------------------------------------------------------------- */
+  public static int getTotal( long state )
+  {
+    return (int) field( state, TOTAL_SHIFT, TOTAL_BITS );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getRound()
+   * Prototype:      public static int getRound( long state );
+   * Description:    Return the number of rounds finished (one category is
+   *                 used every round).
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   int -- Number of finished rounds
+   * ----------------------------------------------------------------------- */
+  public static int getRound( long state )
+  {
+    return Integer.bitCount( getUsedMask( state ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  isUsed()
+   * Prototype:      public static boolean isUsed( long state, int category );
+   * Description:    Return whether a category has been scored.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   *      arg 2:     int category -- Category index
+   * Return Value:   boolean -- Whether the category is used
+   * ----------------------------------------------------------------------- */
+  public static boolean isUsed( long state, int category )
+  {
+    return ( getUsedMask( state ) & ( 1 << category ) ) != 0;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  isOver()
+   * Prototype:      public static boolean isOver( long state );
+   * Description:    Return whether every category has been scored.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   boolean -- Whether the game is over
+   * ----------------------------------------------------------------------- */
+  public static boolean isOver( long state )
+  {
+    return getUsedMask( state ) == ALL_USED;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  canRoll()
+   * Prototype:      public static boolean canRoll( long state );
+   * Description:    Return whether the dice can be rolled again this round.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   boolean -- Whether the dice can be rolled
+   * ----------------------------------------------------------------------- */
+  public static boolean canRoll( long state )
+  {
+    return !isOver( state ) && getRolls( state ) < DiceController.MAX_ROLLS;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  canScore()
+   * Prototype:      public static boolean canScore( long state,
+   *                                                 int category );
+   * Description:    Return whether the dice can be scored in a category.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   *      arg 2:     int category -- Category index
+   * Return Value:   boolean -- Whether the category can be scored
+   * ----------------------------------------------------------------------- */
+  public static boolean canScore( long state, int category )
+  {
+    return getRolls( state ) > 0 && !isUsed( state, category );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  withDice()
+   * Prototype:      public static long withDice( long state, int dice );
+   * Description:    Return the state after a roll that left the passed in
+   *                 dice showing.
+   * Parameters:
+   *      arg 1:     long state -- Game state (which must be able to roll)
+   *      arg 2:     int dice -- Dice packed three bits per die
+   * Return Value:   long -- State after the roll
+   * ----------------------------------------------------------------------- */
+  public static long withDice( long state, int dice )
+  {
+    if( !canRoll( state ) )
+    {
+      throw new IllegalStateException( "No rolls left: " + toString( state ) );
+    }
+
+    state = setField( state, DICE_SHIFT, DICE_BITS, dice );
+    return setField( state, ROLLS_SHIFT, ROLLS_BITS, getRolls( state ) + 1 );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  roll()
+   * Prototype:      public static long roll( long state, int holdMask,
+   *                                          DiceSource source );
+   * Description:    Return the state after rolling every die that isn't held
+   *                 (all of them on the first roll of a round).
+   * Parameters:
+   *      arg 1:     long state -- Game state (which must be able to roll)
+   *      arg 2:     int holdMask -- Bit mask of held dice (bit number is the
+   *                 position of the die)
+   *      arg 3:     DiceSource source -- Source to roll the dice with
+   * Return Value:   long -- State after the roll
+   * ----------------------------------------------------------------------- */
+  public static long roll( long state, int holdMask, DiceSource source )
+  {
+    if( getRolls( state ) == 0 )
+    {
+      holdMask = 0;
+    }
+
+    int dice = getDice( state );
+    int faces = source.nextFaces( ScoreEngine.NUM_OF_DICE -
+                                  Integer.bitCount( holdMask ) );
+
+    // Put a new face in the place of every die that isn't held
+    for( int index = 0; index < ScoreEngine.NUM_OF_DICE; index++ )
+    {
+      if( ( holdMask & ( 1 << index ) ) != 0 ) continue;
+
+      int shift = index * ScoreEngine.BITS_PER_DIE;
+      dice &= ~( ScoreEngine.DIE_MASK << shift );
+      dice |= ( faces & ScoreEngine.DIE_MASK ) << shift;
+      faces >>>= ScoreEngine.BITS_PER_DIE;
+    }
+
+    return withDice( state, dice );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  score()
+   * Prototype:      public static long score( long state, int category );
+   * Description:    Return the state after scoring the dice in a category,
+   *                 which ends the round.
+   * Parameters:
+   *      arg 1:     long state -- Game state (which must be able to score
+   *                 the category)
+   *      arg 2:     int category -- Category index
+   * Return Value:   long -- State at the start of the next round
+   * ----------------------------------------------------------------------- */
+  public static long score( long state, int category )
+  {
+    if( !canScore( state, category ) )
+    {
+      throw new IllegalStateException( "Can't score category " + category +
+                                       ": " + toString( state ) );
+    }
+
+    int points = HandIndex.score( getHand( state ), category );
+    int upper = getUpper( state );
+    int total = getTotal( state ) + points;
+
+    // Check for upper bonus
+    if( ScoreEngine.isUpper( category ) )
+    {
+      if( upper < ScoreEngine.UP_BONUS_THRESHOLD &&
+          upper + points >= ScoreEngine.UP_BONUS_THRESHOLD )
+      {
+        total += ScoreEngine.UP_BONUS_POINTS;
+      }
+      upper += points;
+    }
+
+    long next = setField( NEW_GAME, USED_SHIFT, USED_BITS,
+                          getUsedMask( state ) | ( 1 << category ) );
+    next = setField( next, UPPER_SHIFT, UPPER_BITS, upper );
+    return setField( next, TOTAL_SHIFT, TOTAL_BITS, total );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  toString()
+   * Prototype:      public static String toString( long state );
+   * Description:    Return a string representation of a state.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   String -- String representation of the state
+   * ----------------------------------------------------------------------- */
+  public static String toString( long state )
+  {
+    StringBuilder dice = new StringBuilder( );
+    for( int index = 0; index < ScoreEngine.NUM_OF_DICE; index++ )
+    {
+      dice.append( getDie( state, index ) );
+    }
+
+    return "GameState[dice=" + dice + ", rolls=" + getRolls( state ) +
+           ", used=" + Integer.toBinaryString( getUsedMask( state ) ) +
+           ", upper=" + getUpper( state ) + ", total=" + getTotal( state ) +
+           "]";
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  field()
+   * Prototype:      private static long field( long state, int shift,
+   *                                            int bits );
+   * Description:    Return one field of a state.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   *      arg 2:     int shift -- Position of the field's lowest bit
+   *      arg 3:     int bits -- Width of the field
+   * Return Value:   long -- Value of the field
+   * ----------------------------------------------------------------------- */
+  private static long field( long state, int shift, int bits )
+  {
+    return ( state >>> shift ) & ( ( 1L << bits ) - 1 );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setField()
+   * Prototype:      private static long setField( long state, int shift,
+   *                                               int bits, long value );
+   * Description:    Return the state with one field replaced.
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   *      arg 2:     int shift -- Position of the field's lowest bit
+   *      arg 3:     int bits -- Width of the field
+   *      arg 4:     long value -- New value of the field
+   * Return Value:   long -- State with the field replaced
+   * ----------------------------------------------------------------------- */
+  private static long setField( long state, int shift, int bits, long value )
+  {
+    long mask = ( ( 1L << bits ) - 1 ) << shift;
+    return ( state & ~mask ) | ( ( value << shift ) & mask );
+  }
+}
@@ -0,0 +1,79 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     GreedyPolicy.java                                           *
+ * Description:  A simple policy that holds the dice showing its most common *
+ *               face and scores whichever open category is worth the most   *
+ *               points right now.                                           *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public class GreedyPolicy implements Policy
+{
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  chooseKeeper()
+   * Prototype:      public int chooseKeeper( int usedMask, int upper,
+   *                                          int hand, int rollsLeft );
+   * Description:    Hold every die showing the most common face (the higher
+   *                 face on ties).
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   *      arg 3:     int hand -- Hand index of the dice
+   *      arg 4:     int rollsLeft -- Number of rolls left this turn
+   * Return Value:   int -- Keeper index of the dice to hold
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int chooseKeeper( int usedMask, int upper, int hand, int rollsLeft )
+  {
+    int bestFace = ScoreEngine.MAX_DICE_VAL;
+    int bestCount = 0;
+
+    for( int face = ScoreEngine.MAX_DICE_VAL; face >= ScoreEngine.MIN_DICE_VAL;
+         face-- )
+    {
+      int count = HandIndex.faceCount( hand, face );
+
+      if( count > bestCount )
+      {
+        bestCount = count;
+        bestFace = face;
+      }
+    }
+
+    return Keepers.indexOfKey( bestCount * HandIndex.faceKey( bestFace ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  chooseCategory()
+   * Prototype:      public int chooseCategory( int usedMask, int upper,
+   *                                            int hand );
+   * Description:    Score the open category worth the most points (the
+   *                 first one on ties).
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   *      arg 3:     int hand -- Hand index of the dice
+   * Return Value:   int -- Category index of an open category
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int chooseCategory( int usedMask, int upper, int hand )
+  {
+    int best = -1;
+    int bestPoints = -1;
+
+    for( int category = 0; category < ScoreEngine.NUM_CATEGORIES; category++ )
+    {
+      if( ( usedMask & ( 1 << category ) ) != 0 ) continue;
+
+      int points = HandIndex.score( hand, category );
+      if( points > bestPoints )
+      {
+        bestPoints = points;
+        best = category;
+      }
+    }
+
+    return best;
+  }
+}
@@ -0,0 +1,279 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     HandIndex.java                                              *
+ * Description:  Maps each of the 252 distinct (unordered) hands of five     *
+ *               dice to a dense index from 0 to 251 and holds a table of    *
+ *               the score of every category for every hand, so scoring a    *
+ *               hand is a single array lookup.                              *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.Arrays;       // For filling the key table
+
+public class HandIndex
+{
+  // Number of distinct hands of five dice (order does not matter)
+  public static final int NUM_HANDS = 252;
+
+  // Number of faces on a die
+  private static final int NUM_FACES = ScoreEngine.MAX_DICE_VAL;
+
+  // Number of possible keys (hand keys are base 6 numbers with 6 digits)
+  public static final int NUM_KEYS = 46656;
+
+  // Amount to add to a hand key for one die showing each face (face - 1)
+  private static final int[ ] FACE_KEY = { 1, 6, 36, 216, 1296, 7776 };
+
+  // Value stored in the key table for keys that are not five dice hands
+  private static final short NO_HAND = -1;
+
+  // Hand index for every key (NO_HAND if the key isn't a five dice hand)
+  private static final short[ ] KEY_TO_HAND = new short[ NUM_KEYS ];
+
+  // Key of every hand, indexed by hand index
+  private static final int[ ] HAND_TO_KEY = new int[ NUM_HANDS ];
+
+  // Dice of every hand packed three bits per die in increasing order
+  private static final int[ ] HAND_DICE = new int[ NUM_HANDS ];
+
+  // Score of every category for every hand (NUM_CATEGORIES ints per hand)
+  private static final int[ ] SCORES =
+    new int[ NUM_HANDS * ScoreEngine.NUM_CATEGORIES ];
+
+  static
+  {
+    Arrays.fill( KEY_TO_HAND, NO_HAND );
+
+    int[ ] dice = new int[ ScoreEngine.NUM_OF_DICE ];
+    int[ ] scores = new int[ ScoreEngine.NUM_CATEGORIES ];
+    int hand = 0;
+
+    // Enumerate every sorted hand in increasing (lexicographic) order
+    for( int d0 = 1; d0 <= NUM_FACES; d0++ )
+    for( int d1 = d0; d1 <= NUM_FACES; d1++ )
+    for( int d2 = d1; d2 <= NUM_FACES; d2++ )
+    for( int d3 = d2; d3 <= NUM_FACES; d3++ )
+    for( int d4 = d3; d4 <= NUM_FACES; d4++ )
+    {
+      dice[ 0 ] = d0;
+      dice[ 1 ] = d1;
+      dice[ 2 ] = d2;
+      dice[ 3 ] = d3;
+      dice[ 4 ] = d4;
+
+      int key = indexKey( dice );
+      KEY_TO_HAND[ key ] = (short) hand;
+      HAND_TO_KEY[ hand ] = key;
+      HAND_DICE[ hand ] = ScoreEngine.pack( dice );
+
+      // Score the hand once and save it in the table
+      ScoreEngine.scoreAll( dice, scores );
+      System.arraycopy( scores, 0, SCORES, hand * ScoreEngine.NUM_CATEGORIES,
+                        ScoreEngine.NUM_CATEGORIES );
+      hand++;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      HandIndex()
+   * Prototype:      private HandIndex( );
+   * Description:    The hand index only has static methods, so it is never
+   *                 instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private HandIndex( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  indexOf()
+   * Prototype:      public static int indexOf( int[ ] dice );
+   * Description:    Return the hand index of the passed in dice.  The dice
+   *                 can be in any order (they are never sorted).
+   * Parameters:
+   *      arg 1:     int[ ] dice -- Values of the five dice
+   * Return Value:   int -- Hand index between 0 and NUM_HANDS - 1
+   * ----------------------------------------------------------------------- */
+  public static int indexOf( int[ ] dice )
+  {
+    return KEY_TO_HAND[ indexKey( dice ) ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  indexOfPacked()
+   * Prototype:      public static int indexOfPacked( int packedDice );
+   * Description:    Return the hand index of dice packed three bits per die
+   *                 (see ScoreEngine.pack()), in any order.
+   * Parameters:
+   *      arg 1:     int packedDice -- Values of the five dice, packed
+   * Return Value:   int -- Hand index between 0 and NUM_HANDS - 1
+   * ----------------------------------------------------------------------- */
+  public static int indexOfPacked( int packedDice )
+  {
+    int key = 0;
+
+    for( int index = 0; index < ScoreEngine.NUM_OF_DICE; index++ )
+    {
+      int die = ( packedDice >>> ( index * ScoreEngine.BITS_PER_DIE ) ) &
+                ScoreEngine.DIE_MASK;
+      key += FACE_KEY[ die - 1 ];
+    }
+
+    return KEY_TO_HAND[ key ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  indexOfKey()
+   * Prototype:      public static int indexOfKey( int key );
+   * Description:    Return the hand index of a hand key (the number of dice
+   *                 showing each face as a base 6 number).
+   * Parameters:
+   *      arg 1:     int key -- Key of the hand
+   * Return Value:   int -- Hand index, or -1 if key is not a five dice hand
+   * ----------------------------------------------------------------------- */
+  public static int indexOfKey( int key )
+  {
+    return KEY_TO_HAND[ key ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  faceKey()
+   * Prototype:      public static int faceKey( int face );
+   * Description:    Return the amount one die showing the passed in face
+   *                 adds to a hand key.
+   * Parameters:
+   *      arg 1:     int face -- Value of the die (1 to 6)
+   * Return Value:   int -- Key of a single die showing face
+   * ----------------------------------------------------------------------- */
+  public static int faceKey( int face )
+  {
+    return FACE_KEY[ face - 1 ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  keyOf()
+   * Prototype:      public static int keyOf( int hand );
+   * Description:    Return the key (number of dice showing each face as a
+   *                 base 6 number) of the passed in hand.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   * Return Value:   int -- Key of the hand
+   * ----------------------------------------------------------------------- */
+  public static int keyOf( int hand )
+  {
+    return HAND_TO_KEY[ hand ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  faceCount()
+   * Prototype:      public static int faceCount( int hand, int face );
+   * Description:    Return the number of dice in the hand showing the passed
+   *                 in face.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   *      arg 2:     int face -- Value of the die (1 to 6)
+   * Return Value:   int -- Number of dice showing face
+   * ----------------------------------------------------------------------- */
+  public static int faceCount( int hand, int face )
+  {
+    return ( HAND_TO_KEY[ hand ] / FACE_KEY[ face - 1 ] ) % NUM_FACES;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  packedDice()
+   * Prototype:      public static int packedDice( int hand );
+   * Description:    Return the dice of the hand in increasing order, packed
+   *                 three bits per die (see ScoreEngine.pack()).
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   * Return Value:   int -- Packed dice values of the hand
+   * ----------------------------------------------------------------------- */
+  public static int packedDice( int hand )
+  {
+    return HAND_DICE[ hand ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getDice()
+   * Prototype:      public static void getDice( int hand, int[ ] dice );
+   * Description:    Copy the dice of the hand in increasing order into the
+   *                 passed in array.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   *      arg 2:     int[ ] dice -- Array of at least five ints to fill
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void getDice( int hand, int[ ] dice )
+  {
+    int packed = HAND_DICE[ hand ];
+
+    for( int index = 0; index < ScoreEngine.NUM_OF_DICE; index++ )
+    {
+      dice[ index ] = ( packed >>> ( index * ScoreEngine.BITS_PER_DIE ) ) &
+                      ScoreEngine.DIE_MASK;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  score()
+   * Prototype:      public static int score( int hand, int category );
+   * Description:    Return the score of one category for the passed in hand.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   *      arg 2:     int category -- Category index (see ScoreEngine)
+   * Return Value:   int -- Points the hand scores in the category
+   * ----------------------------------------------------------------------- */
+  public static int score( int hand, int category )
+  {
+    return SCORES[ hand * ScoreEngine.NUM_CATEGORIES + category ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreAll()
+   * Prototype:      public static void scoreAll( int hand, int[ ] scores );
+   * Description:    Copy the score of every category for the passed in hand
+   *                 into the passed in array.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   *      arg 2:     int[ ] scores -- Array of at least NUM_CATEGORIES ints
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void scoreAll( int hand, int[ ] scores )
+  {
+    System.arraycopy( SCORES, hand * ScoreEngine.NUM_CATEGORIES, scores, 0,
+                      ScoreEngine.NUM_CATEGORIES );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  indexKey()
+   * Prototype:      private static int indexKey( int[ ] dice );
+   * Description:    Return the key of the passed in dice (number of dice
+   *                 showing each face as a base 6 number).
+   * Parameters:
+   *      arg 1:     int[ ] dice -- Values of the dice, in any order
+   * Return Value:   int -- Key of the dice
+   * ----------------------------------------------------------------------- */
+  private static int indexKey( int[ ] dice )
+  {
+    int key = 0;
+
+    for( int index = 0; index < dice.length; index++ )
+    {
+      key += FACE_KEY[ dice[ index ] - 1 ];
+    }
+
+    return key;
+  }
+}
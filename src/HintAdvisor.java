@@ -0,0 +1,106 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     HintAdvisor.java                                            *
+ * Description:  Looks up the optimal play for the current roll in a solved  *
+ *               strategy table: which dice to hold and the expected final   *
+ *               score of choosing each open category.                       *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public class HintAdvisor
+{
+  // Number of faces on a die (hand and keeper keys are base 6 numbers)
+  private static final int NUM_FACES = ScoreEngine.MAX_DICE_VAL;
+
+  private StrategySolver solver;   // Solver (and scratch) for one turn
+
+  // Used mask and upper subtotal of the turn the solver is prepared for
+  private int preparedMask = -1;
+  private int preparedUpper = -1;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      HintAdvisor()
+   * Prototype:      public HintAdvisor( StrategyTable table );
+   * Description:    Create an advisor that looks up future values in the
+   *                 passed in (solved) table.
+   * Parameters:
+   *      arg 1:     StrategyTable table -- Solved strategy table
+   * ----------------------------------------------------------------------- */
+  public HintAdvisor( StrategyTable table )
+  {
+    solver = new StrategySolver( table );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  advise()
+   * Prototype:      public synchronized int advise( int usedMask, int upper,
+   *                                   int hand, int rollsLeft,
+   *                                   double[ ] categoryValues );
+   * Description:    Find the optimal play for the passed in roll.  The
+   *                 expected future score of scoring each open category is
+   *                 stored in categoryValues (NaN for used categories).
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   *      arg 3:     int hand -- Hand index of the dice (see HandIndex)
+   *      arg 4:     int rollsLeft -- Number of rolls left this turn
+   *      arg 5:     double[ ] categoryValues -- Array of NUM_CATEGORIES
+   *                 doubles to store the expected future scores in
+   * Return Value:   int -- Keeper index of the dice to hold, or -1 if there
+   *                 are no rolls left
+   * ----------------------------------------------------------------------- */
+  public synchronized int advise( int usedMask, int upper, int hand,
+                                  int rollsLeft, double[ ] categoryValues )
+  {
+    // Only work out the turn again when the state changes (once per round)
+    if( usedMask != preparedMask || upper != preparedUpper )
+    {
+      solver.prepareTurn( usedMask, upper );
+      preparedMask = usedMask;
+      preparedUpper = upper;
+    }
+
+    for( int category = 0; category < ScoreEngine.NUM_CATEGORIES; category++ )
+    {
+      boolean used = ( usedMask & ( 1 << category ) ) != 0;
+      categoryValues[ category ] = used? Double.NaN:
+                                   solver.categoryValue( hand, category );
+    }
+
+    if( rollsLeft <= 0 ) return -1;
+
+    return solver.bestKeeper( hand, rollsLeft );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  holdDice()
+   * Prototype:      public static void holdDice( int keeper, int[ ] dice,
+   *                                              boolean[ ] hold );
+   * Description:    Pick which of the dice to hold to keep the dice in the
+   *                 keeper.
+   * Parameters:
+   *      arg 1:     int keeper -- Keeper index of the dice to hold
+   *      arg 2:     int[ ] dice -- Values of the dice, in any order
+   *      arg 3:     boolean[ ] hold -- Whether to hold each die (output)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void holdDice( int keeper, int[ ] dice, boolean[ ] hold )
+  {
+    int remaining = Keepers.keyOf( keeper );
+
+    for( int index = 0; index < dice.length; index++ )
+    {
+      // Hold this die if the keeper still has one of its face left over
+      int faceKey = HandIndex.faceKey( dice[ index ] );
+      hold[ index ] = ( remaining / faceKey ) % NUM_FACES > 0;
+
+      if( hold[ index ] )
+      {
+        remaining -= faceKey;
+      }
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     HistoryChunk.java                                           *
+ * Description:  Up to CAPACITY finished games held column by column in      *
+ *               primitive arrays: the points and round of every category,   *
+ *               the total, whether the upper bonus was earned, and the      *
+ *               seed.  A chunk is filled by one thread and then written to  *
+ *               a game history file as one block (see GameHistory).         *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.nio.ByteBuffer;
+
+public class HistoryChunk
+{
+  // Number of games in a full chunk
+  public static final int CAPACITY = 1 << 16;
+
+  // Columns of the games (category columns indexed by category first)
+  private final byte[ ][ ] scores =
+    new byte[ ScoreEngine.NUM_CATEGORIES ][ CAPACITY ];
+  private final byte[ ][ ] rounds =
+    new byte[ ScoreEngine.NUM_CATEGORIES ][ CAPACITY ];
+  private final short[ ] totals = new short[ CAPACITY ];
+  private final byte[ ] bonuses = new byte[ CAPACITY ];
+  private final long[ ] seeds = new long[ CAPACITY ];
+
+  private int count;   // Number of games in the chunk
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  add()
+   * Prototype:      public void add( long seed, byte[ ] gameScores,
+   *                                  byte[ ] gameRounds, long state );
+   * Description:    Add a finished game to the end of the chunk.
+   * Parameters:
+   *      arg 1:     long seed -- Seed the game was played from
+   *      arg 2:     byte[ ] gameScores -- Points of each category
+   *      arg 3:     byte[ ] gameRounds -- Round (from 0) each category was
+   *                 scored in
+   *      arg 4:     long state -- State at the end of the game
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void add( long seed, byte[ ] gameScores, byte[ ] gameRounds,
+                   long state )
+  {
+    if( isFull( ) )
+    {
+      throw new IllegalStateException( "History chunk is full" );
+    }
+
+    for( int category = 0; category < ScoreEngine.NUM_CATEGORIES; category++ )
+    {
+      scores[ category ][ count ] = gameScores[ category ];
+      rounds[ category ][ count ] = gameRounds[ category ];
+    }
+
+    totals[ count ] = (short) GameState.getTotal( state );
+    bonuses[ count ] = (byte) ( ( GameState.getUpper( state ) >=
+                                  ScoreEngine.UP_BONUS_THRESHOLD )? 1: 0 );
+    seeds[ count ] = seed;
+    count++;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  writeTo()
+   * Prototype:      public void writeTo( ByteBuffer block );
+   * Description:    Copy the columns into a block laid out for the history
+   *                 file (see GameHistory), each column at its offset and
+   *                 padded out to the capacity of the chunk.
+   * Parameters:
+   *      arg 1:     ByteBuffer block -- Cleared buffer of BLOCK_SIZE bytes in
+   *                 the file's byte order
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void writeTo( ByteBuffer block )
+  {
+    for( int category = 0; category < ScoreEngine.NUM_CATEGORIES; category++ )
+    {
+      block.position( GameHistory.scoreOffset( category ) );
+      block.put( scores[ category ], 0, count );
+      block.position( GameHistory.roundOffset( category ) );
+      block.put( rounds[ category ], 0, count );
+    }
+
+    block.position( GameHistory.TOTAL_OFFSET );
+    block.asShortBuffer( ).put( totals, 0, count );
+    block.position( GameHistory.BONUS_OFFSET );
+    block.put( bonuses, 0, count );
+    block.position( GameHistory.SEED_OFFSET );
+    block.asLongBuffer( ).put( seeds, 0, count );
+
+    block.position( GameHistory.BLOCK_SIZE );
+    block.flip( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  isFull()
+   * Prototype:      public boolean isFull( );
+   * Description:    Return whether the chunk holds CAPACITY games.
+   * Parameters:     None
+   * Return Value:   boolean -- Whether no more games fit
+   * ----------------------------------------------------------------------- */
+  public boolean isFull( )
+  {
+    return count == CAPACITY;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getCount()
+   * Prototype:      public int getCount( );
+   * Description:    Return the number of games in the chunk.
+   * Parameters:     None
+   * Return Value:   int -- Number of games
+   * ----------------------------------------------------------------------- */
+  public int getCount( )
+  {
+    return count;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  clear()
+   * Prototype:      public void clear( );
+   * Description:    Empty the chunk to fill it again.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void clear( )
+  {
+    count = 0;
+  }
+}
@@ -0,0 +1,243 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     HistoryWriter.java                                          *
+ * Description:  Writes a game history file (see GameHistory) a block at a   *
+ *               time.  Games are added one by one or as whole chunks        *
+ *               filled on other threads.  The file is written next to its   *
+ *               path and only replaces it once finished, so a history is    *
+ *               never left half written.                                    *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class HistoryWriter
+{
+  // Suffix of the temp file written before replacing the history
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final Path path;              // Path of the history
+  private final Path temp;              // File written until finished
+  private final FileChannel channel;    // Channel of the temp file
+  private final ByteBuffer block =      // Block being written
+    ByteBuffer.allocateDirect( GameHistory.BLOCK_SIZE )
+              .order( GameHistory.ORDER );
+
+  private final HistoryChunk chunk = new HistoryChunk( );  // Added games
+  private long games;                   // Games written so far
+  private boolean finished;             // Whether the history is written
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      HistoryWriter()
+   * Prototype:      public HistoryWriter( Path path ) throws IOException;
+   * Description:    Start writing a new history (replacing any at the path
+   *                 once finished).
+   * Parameters:
+   *      arg 1:     Path path -- Path of the history
+   * ----------------------------------------------------------------------- */
+  public HistoryWriter( Path path ) throws IOException
+  {
+    this.path = path;
+
+    Path parent = path.toAbsolutePath( ).getParent( );
+    Files.createDirectories( parent );
+    temp = Files.createTempFile( parent, path.getFileName( ).toString( ),
+                                 TEMP_SUFFIX );
+    channel = FileChannel.open( temp, StandardOpenOption.WRITE );
+    channel.position( GameHistory.HEADER_SIZE );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  add()
+   * Prototype:      public void add( long seed, byte[ ] scores,
+   *                                  byte[ ] rounds, long state )
+   *                                 throws IOException;
+   * Description:    Add a finished game, writing a block whenever one fills.
+   * Parameters:
+   *      arg 1:     long seed -- Seed the game was played from
+   *      arg 2:     byte[ ] scores -- Points of each category
+   *      arg 3:     byte[ ] rounds -- Round (from 0) each category was
+   *                 scored in
+   *      arg 4:     long state -- State at the end of the game
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void add( long seed, byte[ ] scores, byte[ ] rounds, long state )
+    throws IOException
+  {
+    chunk.add( seed, scores, rounds, state );
+
+    if( chunk.isFull( ) )
+    {
+      writeBlock( chunk );
+      chunk.clear( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  addLog()
+   * Prototype:      public long addLog( Path log ) throws IOException;
+   * Description:    Add every finished game in an event log, with its
+   *                 number in the log as its seed.
+   * Parameters:
+   *      arg 1:     Path log -- Path of the event log
+   * Return Value:   long -- Number of games added
+   * ----------------------------------------------------------------------- */
+  public long addLog( Path log ) throws IOException
+  {
+    byte[ ] scores = new byte[ ScoreEngine.NUM_CATEGORIES ];
+    byte[ ] rounds = new byte[ ScoreEngine.NUM_CATEGORIES ];
+    long[ ] previous = { GameState.NEW_GAME };   // State before the event
+    long[ ] added = { 0 };
+
+    try
+    {
+      EventLog.replay( log, new ReplayListener( )
+      {
+        public void event( long game, int type, int field, long state )
+        {
+          if( type == GameProtocol.SCORED )
+          {
+            scores[ field ] = (byte) HandIndex.score(
+              GameState.getHand( previous[ 0 ] ), field );
+            rounds[ field ] = (byte) Integer.bitCount(
+              GameState.getUsedMask( previous[ 0 ] ) );
+
+            if( GameState.isOver( state ) )
+            {
+              try
+              {
+                add( game, scores, rounds, state );
+                added[ 0 ]++;
+              }
+              catch( IOException ex )
+              {
+                throw new UncheckedIOException( ex );
+              }
+            }
+          }
+
+          previous[ 0 ] = state;
+        }
+      } );
+    }
+    catch( UncheckedIOException ex )
+    {
+      throw ex.getCause( );
+    }
+
+    return added[ 0 ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  write()
+   * Prototype:      public void write( HistoryChunk games )
+   *                                 throws IOException;
+   * Description:    Write a chunk of games as the next block.  Only the last
+   *                 block of a history can be partly filled.
+   * Parameters:
+   *      arg 1:     HistoryChunk games -- Games to write
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void write( HistoryChunk games ) throws IOException
+  {
+    if( chunk.getCount( ) > 0 )
+    {
+      throw new IllegalStateException( "Games were added after a partly " +
+                                       "filled block" );
+    }
+
+    writeBlock( games );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  writeBlock()
+   * Prototype:      private void writeBlock( HistoryChunk games )
+   *                                 throws IOException;
+   * Description:    Write a chunk of games as the next block.
+   * Parameters:
+   *      arg 1:     HistoryChunk games -- Games to write
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void writeBlock( HistoryChunk games ) throws IOException
+  {
+    if( this.games % HistoryChunk.CAPACITY != 0 )
+    {
+      throw new IllegalStateException( "Only the last block can be partly " +
+                                       "filled" );
+    }
+
+    block.clear( );
+    games.writeTo( block );
+    while( block.hasRemaining( ) )
+    {
+      channel.write( block );
+    }
+
+    this.games += games.getCount( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  finish()
+   * Prototype:      public long finish( ) throws IOException;
+   * Description:    Write the games still being added and the header, and
+   *                 replace the history at the path with the new one.
+   * Parameters:     None
+   * Return Value:   long -- Number of games in the history
+   * ----------------------------------------------------------------------- */
+  public long finish( ) throws IOException
+  {
+    if( chunk.getCount( ) > 0 )
+    {
+      writeBlock( chunk );
+      chunk.clear( );
+    }
+
+    ByteBuffer header = ByteBuffer.allocate( GameHistory.HEADER_SIZE )
+                                  .order( GameHistory.ORDER );
+    header.putInt( GameHistory.MAGIC_OFFSET, GameHistory.MAGIC );
+    header.putInt( GameHistory.FORMAT_OFFSET, GameHistory.FORMAT_VERSION );
+    header.putInt( GameHistory.RULES_OFFSET, StrategyFile.ruleVersion( ) );
+    header.putInt( GameHistory.CAPACITY_OFFSET, HistoryChunk.CAPACITY );
+    header.putLong( GameHistory.GAMES_OFFSET, games );
+    while( header.hasRemaining( ) )
+    {
+      channel.write( header, header.position( ) );
+    }
+
+    channel.close( );
+    Files.move( temp, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE );
+    finished = true;
+    return games;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  close()
+   * Prototype:      public void close( ) throws IOException;
+   * Description:    Throw away an unfinished history (does nothing once
+   *                 finished).
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void close( ) throws IOException
+  {
+    if( finished ) return;
+
+    channel.close( );
+    Files.deleteIfExists( temp );
+  }
+}
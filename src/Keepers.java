@@ -0,0 +1,233 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     Keepers.java                                                *
+ * Description:  Tables of the 462 "keepers" (multisets of zero to five dice *
+ *               the player can hold between rolls), how keepers grow and    *
+ *               shrink one die at a time, and the distinct keepers that can *
+ *               be held from every hand.                                    *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.Arrays;       // For filling the key table
+
+public class Keepers
+{
+  // Number of distinct multisets of zero to five dice
+  public static final int NUM_KEEPERS = 462;
+
+  // Number of faces on a die
+  private static final int NUM_FACES = ScoreEngine.MAX_DICE_VAL;
+
+  // Value stored in the key table for keys that are not keepers
+  private static final short NO_KEEPER = -1;
+
+  // Keeper index for every key (keys are the same as hand keys)
+  private static final short[ ] KEY_TO_KEEPER = new short[ HandIndex.NUM_KEYS ];
+
+  // Key and number of dice of every keeper, indexed by keeper index
+  // (keepers are numbered in order of increasing size)
+  private static final int[ ] KEEPER_KEY = new int[ NUM_KEEPERS ];
+  private static final int[ ] KEEPER_SIZE = new int[ NUM_KEEPERS ];
+
+  // Keeper index of holding no dice (rolling all five)
+  public static final int EMPTY = 0;
+
+  // Keeper index of the first keeper holding all five dice (a whole hand)
+  public static final int FIRST_FULL = NUM_KEEPERS - HandIndex.NUM_HANDS;
+
+  // Keeper after adding/removing one die showing face f to/from keeper k,
+  // at index k * NUM_FACES + f - 1 (-1 if there is no such keeper)
+  static final int[ ] ADD = new int[ NUM_KEEPERS * NUM_FACES ];
+  static final int[ ] REMOVE = new int[ NUM_KEEPERS * NUM_FACES ];
+
+  // Hand index of every keeper holding all five dice (-1 for the others)
+  static final int[ ] KEEPER_HAND = new int[ NUM_KEEPERS ];
+
+  // Distinct keepers that can be held from each hand; the keepers of hand h
+  // are at HAND_KEEPER[ HAND_START[ h ] to HAND_START[ h + 1 ] )
+  static final int[ ] HAND_START = new int[ HandIndex.NUM_HANDS + 1 ];
+  static final int[ ] HAND_KEEPER;
+
+  static
+  {
+    Arrays.fill( KEY_TO_KEEPER, NO_KEEPER );
+
+    // Find the number of dice in every key
+    int[ ] keySize = new int[ HandIndex.NUM_KEYS ];
+    for( int key = 0; key < HandIndex.NUM_KEYS; key++ )
+    {
+      for( int rest = key; rest != 0; rest /= NUM_FACES )
+      {
+        keySize[ key ] += rest % NUM_FACES;
+      }
+    }
+
+    // Number the keepers in order of size, then key
+    int keeper = 0;
+    for( int size = 0; size <= ScoreEngine.NUM_OF_DICE; size++ )
+    {
+      for( int key = 0; key < HandIndex.NUM_KEYS; key++ )
+      {
+        if( keySize[ key ] != size ) continue;
+
+        KEY_TO_KEEPER[ key ] = (short) keeper;
+        KEEPER_KEY[ keeper ] = key;
+        KEEPER_SIZE[ keeper ] = size;
+        KEEPER_HAND[ keeper ] = HandIndex.indexOfKey( key );
+        keeper++;
+      }
+    }
+
+    // Link every keeper to the keepers one die bigger and smaller
+    for( int index = 0; index < NUM_KEEPERS; index++ )
+    {
+      int key = KEEPER_KEY[ index ];
+
+      for( int face = 1; face <= NUM_FACES; face++ )
+      {
+        int slot = index * NUM_FACES + face - 1;
+        int faceKey = HandIndex.faceKey( face );
+
+        ADD[ slot ] = ( KEEPER_SIZE[ index ] < ScoreEngine.NUM_OF_DICE )?
+                      KEY_TO_KEEPER[ key + faceKey ]: NO_KEEPER;
+        REMOVE[ slot ] = ( faceCount( index, face ) > 0 )?
+                         KEY_TO_KEEPER[ key - faceKey ]: NO_KEEPER;
+      }
+    }
+
+    // Count the distinct keepers of every hand
+    for( int hand = 0; hand < HandIndex.NUM_HANDS; hand++ )
+    {
+      int subsets = 1;
+      for( int face = 1; face <= NUM_FACES; face++ )
+      {
+        subsets *= HandIndex.faceCount( hand, face ) + 1;
+      }
+      HAND_START[ hand + 1 ] = HAND_START[ hand ] + subsets;
+    }
+
+    HAND_KEEPER = new int[ HAND_START[ HandIndex.NUM_HANDS ] ];
+
+    // Record every keeper whose dice are all contained in each hand
+    for( int hand = 0; hand < HandIndex.NUM_HANDS; hand++ )
+    {
+      int out = HAND_START[ hand ];
+
+      for( int index = 0; index < NUM_KEEPERS; index++ )
+      {
+        if( contains( HandIndex.keyOf( hand ), KEEPER_KEY[ index ] ) )
+        {
+          HAND_KEEPER[ out++ ] = index;
+        }
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      Keepers()
+   * Prototype:      private Keepers( );
+   * Description:    The keeper tables only have static methods, so they are
+   *                 never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private Keepers( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  indexOfKey()
+   * Prototype:      public static int indexOfKey( int key );
+   * Description:    Return the keeper index of a key (the number of held dice
+   *                 showing each face as a base 6 number).
+   * Parameters:
+   *      arg 1:     int key -- Key of the held dice
+   * Return Value:   int -- Keeper index, or -1 if key holds too many dice
+   * ----------------------------------------------------------------------- */
+  public static int indexOfKey( int key )
+  {
+    return KEY_TO_KEEPER[ key ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  keyOf()
+   * Prototype:      public static int keyOf( int keeper );
+   * Description:    Return the key of the passed in keeper.
+   * Parameters:
+   *      arg 1:     int keeper -- Keeper index
+   * Return Value:   int -- Key of the held dice
+   * ----------------------------------------------------------------------- */
+  public static int keyOf( int keeper )
+  {
+    return KEEPER_KEY[ keeper ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  size()
+   * Prototype:      public static int size( int keeper );
+   * Description:    Return the number of dice held by the passed in keeper.
+   * Parameters:
+   *      arg 1:     int keeper -- Keeper index
+   * Return Value:   int -- Number of held dice
+   * ----------------------------------------------------------------------- */
+  public static int size( int keeper )
+  {
+    return KEEPER_SIZE[ keeper ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  ofHand()
+   * Prototype:      public static int ofHand( int hand );
+   * Description:    Return the keeper index of holding every die of the hand.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   * Return Value:   int -- Keeper index
+   * ----------------------------------------------------------------------- */
+  public static int ofHand( int hand )
+  {
+    return KEY_TO_KEEPER[ HandIndex.keyOf( hand ) ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  faceCount()
+   * Prototype:      public static int faceCount( int keeper, int face );
+   * Description:    Return the number of held dice showing the passed in face.
+   * Parameters:
+   *      arg 1:     int keeper -- Keeper index
+   *      arg 2:     int face -- Value of the die (1 to 6)
+   * Return Value:   int -- Number of held dice showing face
+   * ----------------------------------------------------------------------- */
+  public static int faceCount( int keeper, int face )
+  {
+    return ( KEEPER_KEY[ keeper ] / HandIndex.faceKey( face ) ) % NUM_FACES;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  contains()
+   * Prototype:      private static boolean contains( int handKey,
+   *                                                  int keeperKey );
+   * Description:    Return whether every die of the keeper is in the hand.
+   * Parameters:
+   *      arg 1:     int handKey -- Key of the hand
+   *      arg 2:     int keeperKey -- Key of the keeper
+   * Return Value:   boolean -- Whether the keeper can be held from the hand
+   * ----------------------------------------------------------------------- */
+  private static boolean contains( int handKey, int keeperKey )
+  {
+    for( int face = 0; face < NUM_FACES; face++ )
+    {
+      if( keeperKey % NUM_FACES > handKey % NUM_FACES ) return false;
+
+      handKey /= NUM_FACES;
+      keeperKey /= NUM_FACES;
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,92 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     OptimalPolicy.java                                          *
+ * Description:  A policy that plays the optimal strategy by looking up the  *
+ *               best holds and categories in a solved strategy table.  Each *
+ *               policy object has its own scratch buffers, so use one per   *
+ *               thread.                                                     *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public class OptimalPolicy implements Policy
+{
+  private StrategySolver solver;   // Solver (and scratch) for one turn
+
+  // Used mask and upper subtotal of the turn the solver is prepared for
+  private int preparedMask = -1;
+  private int preparedUpper = -1;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      OptimalPolicy()
+   * Prototype:      public OptimalPolicy( StrategyTable table );
+   * Description:    Create a policy that plays by the passed in table.
+   * Parameters:
+   *      arg 1:     StrategyTable table -- Solved strategy table
+   * ----------------------------------------------------------------------- */
+  public OptimalPolicy( StrategyTable table )
+  {
+    solver = new StrategySolver( table );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  chooseKeeper()
+   * Prototype:      public int chooseKeeper( int usedMask, int upper,
+   *                                          int hand, int rollsLeft );
+   * Description:    Hold the dice that maximize the expected final score.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   *      arg 3:     int hand -- Hand index of the dice
+   *      arg 4:     int rollsLeft -- Number of rolls left this turn
+   * Return Value:   int -- Keeper index of the dice to hold
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int chooseKeeper( int usedMask, int upper, int hand, int rollsLeft )
+  {
+    prepare( usedMask, upper );
+    return solver.bestKeeper( hand, rollsLeft );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  chooseCategory()
+   * Prototype:      public int chooseCategory( int usedMask, int upper,
+   *                                            int hand );
+   * Description:    Score the category that maximizes the expected final
+   *                 score.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   *      arg 3:     int hand -- Hand index of the dice
+   * Return Value:   int -- Category index of an open category
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int chooseCategory( int usedMask, int upper, int hand )
+  {
+    prepare( usedMask, upper );
+    return solver.bestCategory( hand );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  prepare()
+   * Prototype:      private void prepare( int usedMask, int upper );
+   * Description:    Work out the turn for the passed in state, unless the
+   *                 solver is already prepared for it.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void prepare( int usedMask, int upper )
+  {
+    if( usedMask != preparedMask || upper != preparedUpper )
+    {
+      solver.prepareTurn( usedMask, upper );
+      preparedMask = usedMask;
+      preparedUpper = upper;
+    }
+  }
+}
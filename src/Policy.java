@@ -0,0 +1,41 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     Policy.java                                                 *
+ * Description:  A Policy decides how a (simulated) player plays: which dice *
+ *               to hold between rolls and which category to score.  Hands,  *
+ *               keepers, and categories are passed as indeces (see          *
+ *               HandIndex, Keepers, and ScoreEngine).                       *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public interface Policy
+{
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  chooseKeeper()
+   * Prototype:      public int chooseKeeper( int usedMask, int upper,
+   *                                          int hand, int rollsLeft );
+   * Description:    Choose which dice to hold before the next roll.  Holding
+   *                 the whole hand ends the turn's rolling early.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   *      arg 3:     int hand -- Hand index of the dice
+   *      arg 4:     int rollsLeft -- Number of rolls left this turn (> 0)
+   * Return Value:   int -- Keeper index of the dice to hold
+   * ----------------------------------------------------------------------- */
+  public int chooseKeeper( int usedMask, int upper, int hand, int rollsLeft );
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  chooseCategory()
+   * Prototype:      public int chooseCategory( int usedMask, int upper,
+   *                                            int hand );
+   * Description:    Choose which open category to score the hand in.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   *      arg 3:     int hand -- Hand index of the dice
+   * Return Value:   int -- Category index of an open category
+   * ----------------------------------------------------------------------- */
+  public int chooseCategory( int usedMask, int upper, int hand );
+}
@@ -0,0 +1,179 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     RenderQueue.java                                            *
+ * Description:  Collects the parts of the GUI changed by a game action and  *
+ *               renders them all with one event on the event dispatch       *
+ *               thread, instead of posting an event per widget change.  The *
+ *               counters show how much work the GUI is doing.               *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.ArrayList;
+import javax.swing.SwingUtilities;
+
+public class RenderQueue
+{
+  // Lock guarding the dirty list and the counters
+  private static final Object LOCK = new Object( );
+
+  // Parts marked dirty since the last render (each at most once), and a
+  // spare list to swap in while they are rendered
+  private static ArrayList<Renderable> dirty = new ArrayList<>( );
+  private static ArrayList<Renderable> rendering = new ArrayList<>( );
+
+  // Whether a flush is posted to the event dispatch thread but hasn't run
+  private static boolean flushPosted;
+
+  // Counters (see the getters)
+  private static long markCount;
+  private static long flushCount;
+  private static long renderCount;
+
+  // Event posted to render the dirty parts (reused by every flush)
+  private static final Runnable RENDER_DIRTY = new Runnable( )
+  {
+    public void run( )
+    {
+      renderDirty( );
+    }
+  };
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      RenderQueue()
+   * Prototype:      private RenderQueue( );
+   * Description:    The queue only has static methods, so it is never
+   *                 instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private RenderQueue( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  markDirty()
+   * Prototype:      public static void markDirty( Renderable part );
+   * Description:    Mark a part of the GUI as changed, so it is rendered by
+   *                 the next flush.
+   * Parameters:
+   *      arg 1:     Renderable part -- Part that changed
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void markDirty( Renderable part )
+  {
+    synchronized( LOCK )
+    {
+      markCount++;
+
+      // There are only a few dozen parts, so a linear search is cheapest
+      if( !dirty.contains( part ) )
+      {
+        dirty.add( part );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  flush()
+   * Prototype:      public static void flush( );
+   * Description:    Render every dirty part with one event on the event
+   *                 dispatch thread.  Nothing is posted if nothing is dirty
+   *                 or an earlier flush hasn't run yet (it will render the
+   *                 parts marked since).  Called after every game action.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void flush( )
+  {
+    synchronized( LOCK )
+    {
+      if( dirty.isEmpty( ) || flushPosted ) return;
+
+      flushPosted = true;
+      flushCount++;
+    }
+
+    SwingUtilities.invokeLater( RENDER_DIRTY );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  renderDirty()
+   * Prototype:      private static void renderDirty( );
+   * Description:    Render every part marked dirty (on the event dispatch
+   *                 thread).
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void renderDirty( )
+  {
+    ArrayList<Renderable> parts;
+
+    // Swap lists so game actions can mark parts while these are rendered
+    synchronized( LOCK )
+    {
+      parts = dirty;
+      dirty = rendering;
+      rendering = parts;
+      flushPosted = false;
+      renderCount += parts.size( );
+    }
+
+    for( int index = 0; index < parts.size( ); index++ )
+    {
+      parts.get( index ).render( );
+    }
+    parts.clear( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getMarkCount()
+   * Prototype:      public static long getMarkCount( );
+   * Description:    Return the number of times parts were marked dirty.
+   * Parameters:     None
+   * Return Value:   long -- Number of changes to the GUI's state
+   * ----------------------------------------------------------------------- */
+  public static long getMarkCount( )
+  {
+    synchronized( LOCK )
+    {
+      return markCount;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getFlushCount()
+   * Prototype:      public static long getFlushCount( );
+   * Description:    Return the number of events posted to the event dispatch
+   *                 thread.
+   * Parameters:     None
+   * Return Value:   long -- Number of flushes posted
+   * ----------------------------------------------------------------------- */
+  public static long getFlushCount( )
+  {
+    synchronized( LOCK )
+    {
+      return flushCount;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getRenderCount()
+   * Prototype:      public static long getRenderCount( );
+   * Description:    Return the number of times parts were rendered.
+   * Parameters:     None
+   * Return Value:   long -- Number of renders
+   * ----------------------------------------------------------------------- */
+  public static long getRenderCount( )
+  {
+    synchronized( LOCK )
+    {
+      return renderCount;
+    }
+  }
+}
@@ -0,0 +1,22 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     Renderable.java                                             *
+ * Description:  A part of the GUI that keeps its state apart from its Swing *
+ *               components and copies the state into them when rendered.    *
+ *               Game actions change the state and mark the part dirty in    *
+ *               the RenderQueue, which renders every dirty part at once.    *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public interface Renderable
+{
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  render()
+   * Prototype:      public void render( );
+   * Description:    Update the Swing components to match the current state.
+   *                 Only called on the event dispatch thread.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void render( );
+}
@@ -0,0 +1,28 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     ReplayListener.java                                         *
+ * Description:  Receives the events of an EventLog as it is replayed, each  *
+ *               with the game state the event leads to.  Listeners see the  *
+ *               games in the order they were played.                        *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public interface ReplayListener
+{
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  event()
+   * Prototype:      public void event( long game, int type, int field,
+   *                                    long state );
+   * Description:    Handle one replayed event.
+   * Parameters:
+   *      arg 1:     long game -- Number of the game in the log (from 0)
+   *      arg 2:     int type -- Type of the event (STARTED, ROLLED, HELD,
+   *                 or SCORED in GameProtocol)
+   *      arg 3:     int field -- Hold mask of a roll, position of a held
+   *                 die, or category scored
+   *      arg 4:     long state -- Game state after the event (see
+   *                 GameState)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void event( long game, int type, int field, long state );
+}
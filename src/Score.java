@@ -9,17 +9,14 @@
 import javax.swing.*;        // For JComponents (GUI)
 import java.awt.GridLayout;
 
-public class Score
+public class Score implements Renderable
 {
   private static final int NUM_GUI_COMP = 3; // Number of GUI components
 
-  // Amount of time to pause thread to make GUI more responsive
-  private static final int PAUSE = 5;
-
   protected JPanel scoreComponent;  // Panel containing entire score component
   protected JLabel name;            // Name to display on score card
   protected JLabel valueLabel;      // Label to display value of score component
-  protected int value;              // Value of this score component
+  protected volatile int value;     // Value of this score component
   protected int section;            // Value denoting which section this score
                                     // is in (0 for upper, 1 for lower)
 
@@ -67,22 +64,22 @@ public class Score
   public void addToValue( int points )
   {
     value += points;
+    RenderQueue.markDirty( this );
+  }
 
-    // Update the value label on the event dispatch thread
-    SwingUtilities.invokeLater( new Runnable( )
-    {
-      public void run( )
-      {
-        valueLabel.setText( "" + value );
-      }
-    } );
-
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    }
-    catch( InterruptedException ex ) {}
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  render()
+   * Prototype:      public void render( );
+   * Description:    Update the value label to match this score's value.
+   *                 Must be called on the event dispatch thread.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  @Override
+  public void render( )
+  {
+    valueLabel.setText( "" + value );
   }
 
 
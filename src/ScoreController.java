@@ -11,16 +11,9 @@ import javax.swing.*;          // For JComponents (GUI)
 import java.awt.Container;
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
-import java.util.Arrays;       // For searching array with binary search
 
 public class ScoreController implements ActionListener
 {
-  // Divide by this to halve a number
-  private static final int HALF_FACTOR = 2;
-
-  // Amount of time to pause thread to make GUI more responsive
-  private static final int PAUSE = 5;
-
   // Number of upper and lower score components (each)
   private static final int NUM_SCORES = 9;
 
@@ -28,10 +21,6 @@ public class ScoreController implements ActionListener
   private static final int UPPER_SECTION = 0;
   private static final int LOWER_SECTION = 1;
 
-  // Min and max possible dice values
-  private static final int MIN_DICE_VAL = 1;
-  private static final int MAX_DICE_VAL = 6;
-
   // Names of upper score elements
   private static final String[ ] UP_NAMES = { "Ones:", "Twos:", "Threes:",
                                               "Fours:", "Fives:", "Sixes:",
@@ -67,39 +56,15 @@ public class ScoreController implements ActionListener
   private static final int LOWER_TOTAL = 7;
   private static final int GRAND_TOTAL = 8;
 
-  // Array of point values for lower scores (parallel array to Score[ ] upper)
-  // (Zero indicates point value = sum of all dice)
-  private static final int[ ] LOWER_SCORES = { 0, 0, 25, 30, 40, 50, 0 };
-
-  // Indeces of lower scores in the order that scores are calculated in
-  private static final int[ ] SCORE_CALC_ORDER = { 5, 1, 0, 2, 3, 4, 6 };
-  
-  // Number of matching dice needed for yahtzee
-  private static final int YAHTZEE_SAME_DICE = 5;
-
-  // Number of matching dice needed for four of a kind
-  private static final int FOUR_KIND_SAME_DICE = 4;
-
-  // Number of matching dice needed for three of a kind
-  private static final int THREE_KIND_SAME_DICE = 3;
-
-  // Number of sequential dice needed for a small straight
-  private static final int SM_STRAIGHT_SEQ = 4;
-
-  // Number of sequential dice needed for a large straight
-  private static final int LG_STRAIGHT_SEQ = 5;
-
-  // Minimum number of points required in upper section to get upper bonus
-  private static final int UP_BONUS_THRESHOLD = 63;
-
-  // Bonus points for getting the upper bonus
-  private static final int UP_BONUS_POINTS = 35;
-
-
   // Score elements
   private Score[ ] upper;   // Array of upper score elements
   private Score[ ] lower;   // Array of lower score elements
 
+  // Category scores for the current dice (copied from the score table)
+  private int[ ] categoryScores = new int[ ScoreEngine.NUM_CATEGORIES ];
+
+  private DiceController diceControl;  // Told when a score is chosen
+
   // GUI Components
   private JPanel scorePanel;      // Outer score panel
   private JPanel upperPanel;      // Inner panel for upper scores
@@ -186,347 +151,207 @@ public class ScoreController implements ActionListener
 
   /* ----------------------------------------------------------------------- *
    * Function Name:  calcScores()
-   * Prototype:      public void calcScores( int[ ] dice );
-   * Description:    Calculate all the score components by delegating to 
-   *                 other functions.
+   * Prototype:      public void calcScores( int hand );
+   * Description:    Look up all the score components in the precomputed
+   *                 score table and display them on the active score buttons.
    * Parameters:
-   *      arg 1:     int[ ] dice -- Array of dice values to calculate scores
-   *                                with, sorted in increasing order
+   *      arg 1:     int hand -- Hand index of the dice (see HandIndex)
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  public void calcScores( int[ ] dice )
+  public void calcScores( int hand )
   {
-    // Reset all the temp values of the active scores
-    resetTempActiveScores( );
-
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    }
-    catch( InterruptedException ex ) {}
-
     // Enable all the score buttons of the active scores
     enableScoreButtons( true );
 
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    }
-    catch( InterruptedException ex ) {}
-
-    // Calculate the upper active scores
-    scoreUpper( dice );
-
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    }
-    catch( InterruptedException ex ) {}
-
-    // Calculate the lower active scores
-    scoreLower( dice );
+    // Look up the score of every category and display the results
+    HandIndex.scoreAll( hand, categoryScores );
+    showTempScores( );
   }
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  resetTempActiveScores()
-   * Prototype:      private void resetTempActiveScores( );
-   * Description:    Reset all the active scores' temp values to zero.
+   * Function Name:  showTempScores()
+   * Prototype:      private void showTempScores( );
+   * Description:    Set the temp values of all the active scores to the
+   *                 category scores looked up in the score table.
    * Parameters:     None
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  private void resetTempActiveScores( )
+  private void showTempScores( )
   {
-    // Reset temp values for all upper active scores
+    // Set temp values for all upper active scores
     for( int index = 0; index < UPPER_SUM; index++ )
     {
-      ( (ActiveScore) upper[ index ] ).resetTempValue( );
+      ( (ActiveScore) upper[ index ] ).setTempValue(
+        categoryScores[ ScoreEngine.ONES + index ] );
     }
 
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    } 
-    catch( InterruptedException ex ) {}
-
-    // Reset temp values for all lower active scores
+    // Set temp values for all lower active scores
     for( int index = 0; index < LOWER_TOTAL; index++ )
     {
-      ( (ActiveScore) lower[ index ] ).resetTempValue( );
+      ( (ActiveScore) lower[ index ] ).setTempValue(
+        categoryScores[ ScoreEngine.THREE_O_KIND + index ] );
     }
   }
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  enableScoreButtons()
-   * Prototype:      private void enableScoreButtons( boolean enable );
-   * Description:    Enable/disable all unused score buttons depending on 
-   *                 boolean passed in.
+   * Function Name:  showHints()
+   * Prototype:      public void showHints( double[ ] categoryValues );
+   * Description:    Show the expected final score of choosing each unused
+   *                 active score on its button.
    * Parameters:
-   *      arg 1:     boolean enable -- Whether to enable or disable buttons
+   *      arg 1:     double[ ] categoryValues -- Expected future score of
+   *                 scoring each category (NaN for used categories)
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  private void enableScoreButtons( boolean enable )
+  public void showHints( double[ ] categoryValues )
   {
-    // Enable/disable upper active score buttons
-    for( int index = 0; index < UPPER_SUM; index++ )
-    {
-      ( (ActiveScore) upper[ index ] ).enableButton( enable );
-    }
+    int points = lower[ GRAND_TOTAL ].getValue( );
 
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
+    // Show hints for all upper active scores
+    for( int index = 0; index < UPPER_SUM; index++ )
     {
-      Thread.sleep( PAUSE );
+      double value = categoryValues[ ScoreEngine.ONES + index ];
+      if( !Double.isNaN( value ) )
+      {
+        ( (ActiveScore) upper[ index ] ).showHint( points + value );
+      }
     }
-    catch( InterruptedException ex ) {}
 
-    // Enable/disable lower active score buttons
+    // Show hints for all lower active scores
     for( int index = 0; index < LOWER_TOTAL; index++ )
     {
-      ( (ActiveScore) lower[ index ] ).enableButton( enable );
-    }
-  }
-
-
-  /* ----------------------------------------------------------------------- *
-   * Function Name:  scoreUpper()
-   * Prototype:      private void scoreUpper( int[ ] dice );
-   * Description:    Calculate the active score components of the upper scores.
-   * Parameters:
-   *      arg 1:     int[ ] dice -- Dice values sorted in increasing order
-   * Return Value:   None
-   * ----------------------------------------------------------------------- */
-  private void scoreUpper( int[ ] dice )
-  {
-    // Iterate through the dice array and tally up the upper score components
-    for( int index = 0; index < dice.length; index++ )
-    {
-      // Add the dice value to the corresponding score component
-      ((ActiveScore) upper[ dice[ index ] - 1 ]).addTempValue( dice[ index ] );
+      double value = categoryValues[ ScoreEngine.THREE_O_KIND + index ];
+      if( !Double.isNaN( value ) )
+      {
+        ( (ActiveScore) lower[ index ] ).showHint( points + value );
+      }
     }
   }
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  scoreLower()
-   * Prototype:      private void scoreLower( int[ ] dice );
-   * Description:    Calculate the active score components of the lower scores
-   *                 based on the upper scores and array of dice values.
-   * Parameters:
-   *      arg 1:     int[ ] dice -- Dice values sorted in increasing order
-   * Return Value:   None
+   * Function Name:  getUsedMask()
+   * Prototype:      public int getUsedMask( );
+   * Description:    Return a bit mask of the active scores that have been
+   *                 used (bit number is the category index in ScoreEngine).
+   * Parameters:     None
+   * Return Value:   int -- Bit mask of used categories
    * ----------------------------------------------------------------------- */
-  private void scoreLower( int[ ] dice )
+  public int getUsedMask( )
   {
-    // Always score chance
-    scoreComponent( CHANCE, dice );
+    int mask = 0;
 
-
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    }
-    catch( InterruptedException ex ) {}
-
-
-    int sameDice = 0;     // Number of matching dice
-    int sameDiceVal = 0;  // Value of the matching dice
-
-    // Use the upper scores to count the largest number of matching dice
     for( int index = 0; index < UPPER_SUM; index++ )
     {
-      // Calculate the number of dice with the value "index + 1"
-      int numDice = ( (ActiveScore) upper[ index ] ).getTempValue( ) /
-                    ( index + 1 );
-
-      // Record the largest number of identical dice
-      if( numDice > sameDice )
+      if( ( (ActiveScore) upper[ index ] ).isUsed( ) )
       {
-        sameDice = numDice;
-        sameDiceVal = index + 1;
+        mask |= 1 << ( ScoreEngine.ONES + index );
       }
     }
 
-
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    }
-    catch( InterruptedException ex ) {}
-
-
-    // Calculate the lower scores based on the number of matching dice
-    int orderIndex = 0;
-    int sameDiceNeeded = YAHTZEE_SAME_DICE;
-
-    // Score the first half of the lower scores
-    while( orderIndex < SCORE_CALC_ORDER.length/HALF_FACTOR )
+    for( int index = 0; index < LOWER_TOTAL; index++ )
     {
-      // Check if the criteria for this score component is met
-      if( sameDice >= sameDiceNeeded )
+      if( ( (ActiveScore) lower[ index ] ).isUsed( ) )
       {
-        // Calculate the score for this component
-        scoreComponent( orderIndex, dice );
+        mask |= 1 << ( ScoreEngine.THREE_O_KIND + index );
       }
-
-      orderIndex++;
-      sameDiceNeeded--;
     }
 
-
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    } 
-    catch( InterruptedException ex ) {}
+    return mask;
+  }
 
 
-    // Check for a full house if three of the dice match
-    if( sameDice == ++sameDiceNeeded )
-    {
-      // Condition 1: the first two dice match and are not sameDiceVal
-      boolean cond1 = ( dice[ 0 ] == dice[ 1 ] ) &&
-                      ( dice[ 0 ] != sameDiceVal );
-
-      // Condition 2: the last two dice match and are not sameDiceVal
-      boolean cond2 = ( dice[ dice.length - 1 ] == dice[ dice.length - 2 ] ) &&
-                      ( dice[ dice.length - 1 ] != sameDiceVal );
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getUpperScore()
+   * Prototype:      public int getUpperScore( );
+   * Description:    Return the upper section subtotal (without the bonus).
+   * Parameters:     None
+   * Return Value:   int -- Upper section subtotal
+   * ----------------------------------------------------------------------- */
+  public int getUpperScore( )
+  {
+    return upper[ UPPER_SUM ].getValue( );
+  }
 
-      // If one of the conditions is met, there is a full house
-      if( cond1 || cond2 )
-      {
-        scoreComponent( orderIndex, dice );
-      }
-    }
 
-    orderIndex++;
-    sameDiceNeeded--;
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getUpperBonus()
+   * Prototype:      public int getUpperBonus( );
+   * Description:    Return the upper section bonus earned so far.
+   * Parameters:     None
+   * Return Value:   int -- Bonus points (0 until it is earned)
+   * ----------------------------------------------------------------------- */
+  public int getUpperBonus( )
+  {
+    return upper[ UP_BONUS ].getValue( );
+  }
 
 
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getActiveScore()
+   * Prototype:      public ActiveScore getActiveScore( int category );
+   * Description:    Return the active score of a category.
+   * Parameters:
+   *      arg 1:     int category -- Category index in ScoreEngine
+   * Return Value:   ActiveScore -- Active score of the category
+   * ----------------------------------------------------------------------- */
+  public ActiveScore getActiveScore( int category )
+  {
+    if( ScoreEngine.isUpper( category ) )
     {
-      Thread.sleep( PAUSE );
+      return (ActiveScore) upper[ category - ScoreEngine.ONES ];
     }
-    catch( InterruptedException ex ) {}
-
-
-    // Check for small and large straights
-    if( sameDice <= sameDiceNeeded )
-    {
-      int sequentialNums = 1;   // Count the number of sequential numbers
-
-      // Iterate through the dice value array to count the # of sequential #'s
-      for( int index = 0; index < dice.length - 1; index++ )
-      {
-        // If the adjacent numbers are sequential
-        if( dice[ index + 1 ] - dice[ index ] == 1 )
-        {
-          sequentialNums++;
-        }
-
-        // Pause this thread to allocate more CPU for the GUI thread
-        try
-        {
-          Thread.sleep( PAUSE );
-        }
-        catch( InterruptedException ex ) {}
-      }
-
-
-      // Pause this thread to allocate more CPU for the GUI thread
-      try
-      {
-        Thread.sleep( PAUSE );
-      }
-      catch( InterruptedException ex ) {}
-
-
-      // Check if there is a small straight
-        // First check if there are enough seq. numbers for a small straight
-      if( ( sequentialNums >= SM_STRAIGHT_SEQ ) &&
-
-        // All small straights must have 3 and 4
-        ( ( Arrays.binarySearch( dice, 3 ) >= 0 ) && 
-          ( Arrays.binarySearch( dice, 4 ) >= 0 ) ) &&
-
-        // The remaining numbers could be 1 and 2
-        ( ( ( Arrays.binarySearch( dice, 1 ) >= 0 ) && 
-            ( Arrays.binarySearch( dice, 2 ) >= 0 ) ) ||
-
-        // Or the remaining numbers could be 2 and 5
-          ( ( Arrays.binarySearch( dice, 2 ) >= 0 ) &&
-            ( Arrays.binarySearch( dice, 5 ) >= 0 ) ) ||
-
-        // Or the remaining numbers could be 5 and 6
-          ( ( Arrays.binarySearch( dice, 5 ) >= 0 ) &&
-            ( Arrays.binarySearch( dice, 6 ) >= 0 ) ) ) )
-      {
-        scoreComponent( orderIndex, dice );
-      }
-
-      // Pause this thread to allocate more CPU for the GUI thread
-      try
-      {
-        Thread.sleep( PAUSE );
-      }
-      catch( InterruptedException ex ) {}
-
-      orderIndex++;
 
-      // Check if there is a large straight
-      if( sequentialNums == LG_STRAIGHT_SEQ )
-      {
-        scoreComponent( orderIndex, dice );
-      }
-    }
+    return (ActiveScore) lower[ category - ScoreEngine.THREE_O_KIND ];
+  }
 
 
-    // Pause this thread to allocate more CPU for the GUI thread
-    try
-    {
-      Thread.sleep( PAUSE );
-    }
-    catch( InterruptedException ex ) {}
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getGrandTotal()
+   * Prototype:      public int getGrandTotal( );
+   * Description:    Return the grand total of the game so far.
+   * Parameters:     None
+   * Return Value:   int -- Grand total (including the bonus)
+   * ----------------------------------------------------------------------- */
+  public int getGrandTotal( )
+  {
+    return lower[ GRAND_TOTAL ].getValue( );
   }
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  scoreComponent()
-   * Prototype:      private void scoreComponent( int orderIndex, int[ ] dice );
-   * Description:    Calculate the point value of a score component by 
-   *                 delegating to scoreTempValue() by interpreting the 
-   *                 orderIndex passed in.
+   * Function Name:  enableScoreButtons()
+   * Prototype:      private void enableScoreButtons( boolean enable );
+   * Description:    Enable/disable all unused score buttons depending on 
+   *                 boolean passed in.
    * Parameters:
-   *      arg 1:     int orderIndex -- Index in SCORE_CALC_ORDER that 
-   *                 corresponds to the index in the lower score array to score
-   *      arg 2:     int[ ] dice -- Dice values sorted in increasing order
+   *      arg 1:     boolean enable -- Whether to enable or disable buttons
    * Return Value:   None
    * ----------------------------------------------------------------------- */
-  private void scoreComponent( int orderIndex, int[ ] dice )
+  private void enableScoreButtons( boolean enable )
   {
-    // Determine index in lower score array from orderIndex
-    int index = SCORE_CALC_ORDER[ orderIndex ];
+    // Enable/disable upper active score buttons
+    for( int index = 0; index < UPPER_SUM; index++ )
+    {
+      ( (ActiveScore) upper[ index ] ).enableButton( enable );
+    }
 
-    // Set the temporary score of the score component at index
-    ( (ActiveScore) lower[ index ] ).scoreTempValue( LOWER_SCORES[ index ],
-                                                     dice );
+    // Enable/disable lower active score buttons
+    for( int index = 0; index < LOWER_TOTAL; index++ )
+    {
+      ( (ActiveScore) lower[ index ] ).enableButton( enable );
+    }
   }
 
 
   /* ----------------------------------------------------------------------- *
    * Function Name:  actionPerformed()
    * Prototype:      public void actionPerformed( ActionEvent evt );
-   * Description:    Respond to active score buttons being clicked by disabling
-   *                 all score buttons.
+   * Description:    Respond to active score buttons being clicked by scoring
+   *                 the dice, updating the totals, disabling all score
+   *                 buttons, and starting the next round.
    * Parameters:
    *      arg 1:     ActionEvent evt -- Provides info on what button was clicked
    * Return Value:   None
@@ -534,28 +359,25 @@ public class ScoreController implements ActionListener
   @Override
   public void actionPerformed( ActionEvent evt )
   {
-    // Start a new thread to handle non-GUI related actions
-    Thread scoreButtonThread = new Thread( )
+    // Handle non-GUI related actions on the game thread
+    GameExecutor.submit( new Runnable( )
     {
       public void run( )
       {
-        // Get the action listeners of the score button just clicked
-        ActionListener[ ] listeners = ( (JButton) evt.getSource( ) )
-                                      .getActionListeners( );
-
         // Get the Active Score object that the clicked score button belongs to
-        ActiveScore clickedScore = ( (ActiveScore) 
-                                     listeners[ listeners.length - 1 ] );
+        int category = findCategory( evt.getSource( ) );
+        ActiveScore clickedScore = getActiveScore( category );
 
-        // Number of new points to be added to totals
-        int newPoints = clickedScore.getTempValue( );
+        // Ignore clicks queued up before the score buttons were disabled
+        if( clickedScore.isUsed( ) || !diceControl.canScore( ) ) return;
 
-        // Pause this thread to allocate more CPU for the GUI thread
-        try
-        {
-          Thread.sleep( PAUSE );
-        }
-        catch( InterruptedException ex ) {}
+        // Score on the server first in a remote game
+        if( !diceControl.confirmScore( category ) ) return;
+
+        clickedScore.choose( );
+
+        // Number of new points to be added to totals
+        int newPoints = clickedScore.getValue( );
 
         // Score button clicked was in the upper section
         if( clickedScore.getSection( ) == UPPER_SECTION )
@@ -566,11 +388,12 @@ public class ScoreController implements ActionListener
 
           // Check for upper bonus
           if( upper[ UP_BONUS ].getValue( ) == 0 && 
-              upper[ UPPER_SUM ].getValue( ) >= UP_BONUS_THRESHOLD )
+              upper[ UPPER_SUM ].getValue( ) >=
+              ScoreEngine.UP_BONUS_THRESHOLD )
           {
-            upper[ UP_BONUS ].addToValue( UP_BONUS_POINTS );
-            upper[ UPPER_TOTAL ].addToValue( UP_BONUS_POINTS );
-            lower[ GRAND_TOTAL ].addToValue( UP_BONUS_POINTS );
+            upper[ UP_BONUS ].addToValue( ScoreEngine.UP_BONUS_POINTS );
+            upper[ UPPER_TOTAL ].addToValue( ScoreEngine.UP_BONUS_POINTS );
+            lower[ GRAND_TOTAL ].addToValue( ScoreEngine.UP_BONUS_POINTS );
           }
         }
 
@@ -584,69 +407,61 @@ public class ScoreController implements ActionListener
         // Update grand total
         lower[ GRAND_TOTAL ].addToValue( newPoints );
 
-        // Pause this thread to allocate more CPU for the GUI thread
-        try
-        {
-          Thread.sleep( PAUSE );
-        }
-        catch( InterruptedException ex ) {}
+        // Record the score (and the whole game once it is over)
+        GameRecorder.scored( category, upper[ UPPER_SUM ].getValue( ),
+                             lower[ GRAND_TOTAL ].getValue( ),
+                             getUsedMask( ) == StrategyTable.ALL_USED );
 
-        // Disable all the score buttons
+        // Disable all the score buttons and start the next round
         enableScoreButtons( false );
+        diceControl.scoreChosen( );
       }
-    };
-    scoreButtonThread.setPriority( Thread.NORM_PRIORITY );
-    scoreButtonThread.start( );
+    } );
   }
 
 
   /* ----------------------------------------------------------------------- *
-   * Function Name:  setUpActionListener()
-   * Prototype:      public void setUpActionListener( Dice[ ] dice, 
-   *                                   DiceController diceControl );
-   * Description:    Set up the dice and dice controller as an action listener
-   *                 for the active score value buttons.
+   * Function Name:  findCategory()
+   * Prototype:      private int findCategory( Object button );
+   * Description:    Return the category of the active score that the passed
+   *                 in value button belongs to.
    * Parameters:
-   *      arg 1:     Dice[ ] dice -- Dice to add as an action listener
-   *      arg 2:     DiceController diceControl -- Dice controller to add as
-   *                 an action listener
-   * Return Value:   None
+   *      arg 1:     Object button -- Value button that was clicked
+   * Return Value:   int -- Category index in ScoreEngine
    * ----------------------------------------------------------------------- */
-  public void setUpActionListener( Dice[ ] dice, DiceController diceControl )
+  private int findCategory( Object button )
   {
-    JButton temp;       // Temporary JButton to store active score button
-
-    // Add as action listener for upper active score buttons
-    for( int scoreIndex = 0; scoreIndex < UPPER_SUM; scoreIndex++ )
+    for( int index = 0; index < UPPER_SUM; index++ )
     {
-      // Get the button
-      temp = ( (ActiveScore) upper[ scoreIndex ] ).getButton( );
-
-      // Add dice control as an action listener
-      temp.addActionListener( diceControl );
-
-      // Add all dice as action listeners
-      for( int diceIndex = 0; diceIndex < dice.length; diceIndex++ )
+      if( ( (ActiveScore) upper[ index ] ).getButton( ) == button )
       {
-        temp.addActionListener( dice[ diceIndex ] );
+        return ScoreEngine.ONES + index;
       }
     }
 
-    // Add as action listener for lower active score buttons
-    for( int scoreIndex = 0; scoreIndex < LOWER_TOTAL; scoreIndex++ )
+    for( int index = 0; index < LOWER_TOTAL; index++ )
     {
-      // Get the button
-      temp = ( (ActiveScore) lower[ scoreIndex ] ).getButton( );
-
-      // Add dice control as an action listener
-      temp.addActionListener( diceControl );
-
-      // Add all dice as action listeners
-      for( int diceIndex = 0; diceIndex < dice.length; diceIndex++ )
+      if( ( (ActiveScore) lower[ index ] ).getButton( ) == button )
       {
-        temp.addActionListener( dice[ diceIndex ] );
+        return ScoreEngine.THREE_O_KIND + index;
       }
     }
+
+    throw new IllegalArgumentException( "Not a score button: " + button );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setDiceController()
+   * Prototype:      public void setDiceController( DiceController control );
+   * Description:    Set the dice controller to tell when a score is chosen.
+   * Parameters:
+   *      arg 1:     DiceController control -- Dice controller of the game
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void setDiceController( DiceController control )
+  {
+    diceControl = control;
   }
 
 
@@ -0,0 +1,267 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     ScoreEngine.java                                            *
+ * Description:  GUI-free scoring engine for the Yahtzee game.  Given a hand  *
+ *               of dice, the engine fills in the score of all 13 scoring    *
+ *               categories without allocating, sleeping, or touching Swing. *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public class ScoreEngine
+{
+  // Number of dice in a hand
+  public static final int NUM_OF_DICE = 5;
+
+  // Min and max possible dice values
+  public static final int MIN_DICE_VAL = 1;
+  public static final int MAX_DICE_VAL = 6;
+
+  // Number of scoring categories (upper and lower) on the score card
+  public static final int NUM_CATEGORIES = 13;
+
+  // Number of scoring categories in the upper section
+  public static final int NUM_UPPER = 6;
+
+  // Category indeces of upper scores
+  public static final int ONES = 0;
+  public static final int TWOS = 1;
+  public static final int THREES = 2;
+  public static final int FOURS = 3;
+  public static final int FIVES = 4;
+  public static final int SIXES = 5;
+
+  // Category indeces of lower scores
+  public static final int THREE_O_KIND = 6;
+  public static final int FOUR_O_KIND = 7;
+  public static final int FULL_HOUSE = 8;
+  public static final int SM_STRAIGHT = 9;
+  public static final int LG_STRAIGHT = 10;
+  public static final int YAHTZEE = 11;
+  public static final int CHANCE = 12;
+
+  // Array of point values for lower scores (indexed from THREE_O_KIND)
+  // (Zero indicates point value = sum of all dice)
+  public static final int[ ] LOWER_SCORES = { 0, 0, 25, 30, 40, 50, 0 };
+
+  // Minimum number of points required in upper section to get upper bonus
+  public static final int UP_BONUS_THRESHOLD = 63;
+
+  // Bonus points for getting the upper bonus
+  public static final int UP_BONUS_POINTS = 35;
+
+  // Number of matching dice needed for yahtzee
+  private static final int YAHTZEE_SAME_DICE = 5;
+
+  // Number of matching dice needed for four of a kind
+  private static final int FOUR_KIND_SAME_DICE = 4;
+
+  // Number of matching dice needed for three of a kind
+  private static final int THREE_KIND_SAME_DICE = 3;
+
+  // Number of matching dice in the pair of a full house
+  private static final int FULL_HOUSE_PAIR = 2;
+
+  // Bit masks of the faces that make up each small and large straight
+  private static final int SM_STRAIGHT_LOW = 0x0F;     // 1 2 3 4
+  private static final int SM_STRAIGHT_MID = 0x1E;     // 2 3 4 5
+  private static final int SM_STRAIGHT_HIGH = 0x3C;    // 3 4 5 6
+  private static final int LG_STRAIGHT_LOW = 0x1F;     // 1 2 3 4 5
+  private static final int LG_STRAIGHT_HIGH = 0x3E;    // 2 3 4 5 6
+
+  // Number of bits used to store one die (or one face count) when packed
+  public static final int BITS_PER_DIE = 3;
+
+  // Mask to extract one die (or one face count) from a packed int
+  public static final int DIE_MASK = 0x7;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      ScoreEngine()
+   * Prototype:      private ScoreEngine( );
+   * Description:    The scoring engine only has static methods, so it is
+   *                 never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private ScoreEngine( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreAll()
+   * Prototype:      public static void scoreAll( int[ ] dice, int[ ] scores );
+   * Description:    Fill in the score of every category for the passed in
+   *                 dice.  The dice do not need to be sorted.
+   * Parameters:
+   *      arg 1:     int[ ] dice -- Dice values to score
+   *      arg 2:     int[ ] scores -- Array of at least NUM_CATEGORIES ints to
+   *                 store the category scores in (indexed by category)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void scoreAll( int[ ] dice, int[ ] scores )
+  {
+    int counts = 0;   // Packed number of dice showing each face
+    int sum = 0;      // Sum of all the dice
+
+    // Tally up the number of each face and the sum of the dice
+    for( int index = 0; index < dice.length; index++ )
+    {
+      counts += 1 << ( ( dice[ index ] - 1 ) * BITS_PER_DIE );
+      sum += dice[ index ];
+    }
+
+    scoreCounts( counts, sum, scores );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreAllPacked()
+   * Prototype:      public static void scoreAllPacked( int packedDice,
+   *                                                    int[ ] scores );
+   * Description:    Fill in the score of every category for a hand packed by
+   *                 pack() (three bits per die).
+   * Parameters:
+   *      arg 1:     int packedDice -- Dice values packed three bits per die
+   *      arg 2:     int[ ] scores -- Array of at least NUM_CATEGORIES ints to
+   *                 store the category scores in (indexed by category)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void scoreAllPacked( int packedDice, int[ ] scores )
+  {
+    int counts = 0;   // Packed number of dice showing each face
+    int sum = 0;      // Sum of all the dice
+
+    // Tally up the number of each face and the sum of the dice
+    for( int index = 0; index < NUM_OF_DICE; index++ )
+    {
+      int die = ( packedDice >>> ( index * BITS_PER_DIE ) ) & DIE_MASK;
+      counts += 1 << ( ( die - 1 ) * BITS_PER_DIE );
+      sum += die;
+    }
+
+    scoreCounts( counts, sum, scores );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  pack()
+   * Prototype:      public static int pack( int[ ] dice );
+   * Description:    Pack the passed in dice values into a single int using
+   *                 three bits per die (first die in the lowest bits).
+   * Parameters:
+   *      arg 1:     int[ ] dice -- Dice values to pack
+   * Return Value:   int -- Packed dice values
+   * ----------------------------------------------------------------------- */
+  public static int pack( int[ ] dice )
+  {
+    int packed = 0;
+
+    for( int index = 0; index < dice.length; index++ )
+    {
+      packed |= dice[ index ] << ( index * BITS_PER_DIE );
+    }
+
+    return packed;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  scoreCounts()
+   * Prototype:      private static void scoreCounts( int counts, int sum,
+   *                                                  int[ ] scores );
+   * Description:    Score every category from the number of dice showing
+   *                 each face and the sum of the dice.
+   * Parameters:
+   *      arg 1:     int counts -- Number of dice showing each face, packed
+   *                 three bits per face (ones in the lowest bits)
+   *      arg 2:     int sum -- Sum of all the dice
+   *      arg 3:     int[ ] scores -- Array to store the category scores in
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void scoreCounts( int counts, int sum, int[ ] scores )
+  {
+    int sameDice = 0;   // Largest number of matching dice
+    int pairs = 0;      // Number of faces showing exactly two dice
+    int faces = 0;      // Bit mask of the faces showing on at least one die
+
+    // Score the upper section and gather what the lower section needs
+    for( int face = MIN_DICE_VAL; face <= MAX_DICE_VAL; face++ )
+    {
+      int numDice = ( counts >>> ( ( face - 1 ) * BITS_PER_DIE ) ) & DIE_MASK;
+
+      scores[ ONES + face - 1 ] = numDice * face;
+
+      if( numDice > sameDice )
+      {
+        sameDice = numDice;
+      }
+
+      if( numDice == FULL_HOUSE_PAIR )
+      {
+        pairs++;
+      }
+
+      if( numDice != 0 )
+      {
+        faces |= 1 << ( face - 1 );
+      }
+    }
+
+    // Score the categories based on the number of matching dice
+    scores[ THREE_O_KIND ] = ( sameDice >= THREE_KIND_SAME_DICE )? sum: 0;
+    scores[ FOUR_O_KIND ] = ( sameDice >= FOUR_KIND_SAME_DICE )? sum: 0;
+    scores[ YAHTZEE ] = ( sameDice >= YAHTZEE_SAME_DICE )?
+                        lowerPoints( YAHTZEE, sum ): 0;
+
+    // A full house is three of one face and two of another
+    scores[ FULL_HOUSE ] = ( sameDice == THREE_KIND_SAME_DICE && pairs == 1 )?
+                           lowerPoints( FULL_HOUSE, sum ): 0;
+
+    // Check for small and large straights using the faces showing
+    boolean smStraight = ( faces & SM_STRAIGHT_LOW ) == SM_STRAIGHT_LOW ||
+                         ( faces & SM_STRAIGHT_MID ) == SM_STRAIGHT_MID ||
+                         ( faces & SM_STRAIGHT_HIGH ) == SM_STRAIGHT_HIGH;
+    boolean lgStraight = faces == LG_STRAIGHT_LOW ||
+                         faces == LG_STRAIGHT_HIGH;
+
+    scores[ SM_STRAIGHT ] = smStraight? lowerPoints( SM_STRAIGHT, sum ): 0;
+    scores[ LG_STRAIGHT ] = lgStraight? lowerPoints( LG_STRAIGHT, sum ): 0;
+
+    // Always score chance
+    scores[ CHANCE ] = lowerPoints( CHANCE, sum );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  lowerPoints()
+   * Prototype:      private static int lowerPoints( int category, int sum );
+   * Description:    Return the points awarded for a lower category whose
+   *                 criteria has been met.
+   * Parameters:
+   *      arg 1:     int category -- Category index of the lower score
+   *      arg 2:     int sum -- Sum of all the dice
+   * Return Value:   int -- Points awarded for the category
+   * ----------------------------------------------------------------------- */
+  private static int lowerPoints( int category, int sum )
+  {
+    int points = LOWER_SCORES[ category - THREE_O_KIND ];
+
+    // Zero indicates the point value is the sum of the dice
+    return ( points != 0 )? points: sum;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  isUpper()
+   * Prototype:      public static boolean isUpper( int category );
+   * Description:    Return whether the passed in category is in the upper
+   *                 section of the score card.
+   * Parameters:
+   *      arg 1:     int category -- Category index
+   * Return Value:   boolean -- Whether the category is an upper score
+   * ----------------------------------------------------------------------- */
+  public static boolean isUpper( int category )
+  {
+    return category < NUM_UPPER;
+  }
+}
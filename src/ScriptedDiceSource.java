@@ -0,0 +1,69 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     ScriptedDiceSource.java                                     *
+ * Description:  Dice source that replays a fixed script of faces in order,  *
+ *               for replaying recorded games and reproducing bugs.          *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+public class ScriptedDiceSource implements DiceSource
+{
+  private int[ ] faces;    // Faces to replay, in order
+  private int next;        // Index of the next face to replay
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      ScriptedDiceSource()
+   * Prototype:      public ScriptedDiceSource( int... faces );
+   * Description:    Create a dice source that replays the passed in faces.
+   * Parameters:
+   *      arg 1:     int... faces -- Faces to replay (1 to 6 each)
+   * ----------------------------------------------------------------------- */
+  public ScriptedDiceSource( int... faces )
+  {
+    for( int index = 0; index < faces.length; index++ )
+    {
+      if( faces[ index ] < ScoreEngine.MIN_DICE_VAL ||
+          faces[ index ] > ScoreEngine.MAX_DICE_VAL )
+      {
+        throw new IllegalArgumentException( "Not a die face: " +
+                                            faces[ index ] );
+      }
+    }
+
+    this.faces = faces.clone( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextFace()
+   * Prototype:      public int nextFace( );
+   * Description:    Replay the next face of the script.
+   * Parameters:     None
+   * Return Value:   int -- Next face (1 to 6)
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int nextFace( )
+  {
+    if( next == faces.length )
+    {
+      throw new IllegalStateException( "Dice script ran out after " +
+                                       faces.length + " faces" );
+    }
+
+    return faces[ next++ ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  remaining()
+   * Prototype:      public int remaining( );
+   * Description:    Return the number of faces left to replay.
+   * Parameters:     None
+   * Return Value:   int -- Number of faces left in the script
+   * ----------------------------------------------------------------------- */
+  public int remaining( )
+  {
+    return faces.length - next;
+  }
+}
@@ -0,0 +1,57 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     SeededDiceSource.java                                       *
+ * Description:  Dice source that rolls each die with its own draw from a    *
+ *               seeded SplittableRandom, so a seed always gives the same    *
+ *               rolls and no two sources share (or contend on) a generator. *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.SplittableRandom;
+
+public class SeededDiceSource implements DiceSource
+{
+  private SplittableRandom random;   // Generator the dice are rolled with
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      SeededDiceSource()
+   * Prototype:      public SeededDiceSource( long seed );
+   * Description:    Create a dice source with the passed in seed.
+   * Parameters:
+   *      arg 1:     long seed -- Seed of the generator
+   * ----------------------------------------------------------------------- */
+  public SeededDiceSource( long seed )
+  {
+    this( new SplittableRandom( seed ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      SeededDiceSource()
+   * Prototype:      public SeededDiceSource( SplittableRandom random );
+   * Description:    Create a dice source that draws from the passed in
+   *                 generator (which it must not share with other threads).
+   * Parameters:
+   *      arg 1:     SplittableRandom random -- Generator to roll with
+   * ----------------------------------------------------------------------- */
+  public SeededDiceSource( SplittableRandom random )
+  {
+    this.random = random;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  nextFace()
+   * Prototype:      public int nextFace( );
+   * Description:    Roll one die.
+   * Parameters:     None
+   * Return Value:   int -- Face the die landed on (1 to 6)
+   * ----------------------------------------------------------------------- */
+  @Override
+  public int nextFace( )
+  {
+    return random.nextInt( ScoreEngine.MAX_DICE_VAL ) +
+           ScoreEngine.MIN_DICE_VAL;
+  }
+}
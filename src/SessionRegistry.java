@@ -0,0 +1,130 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     SessionRegistry.java                                        *
+ * Description:  Every game session hosted by the process, by id.  Sessions  *
+ *               can be created, looked up, and removed from any thread, and *
+ *               sessions nobody has played for a while can be dropped.      *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.Iterator;
+import java.util.SplittableRandom;   // For seeding each session's dice
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SessionRegistry
+{
+  // Hosted sessions by id
+  private final ConcurrentHashMap<Long, GameSession> sessions =
+    new ConcurrentHashMap<>( );
+
+  // Id of the next session created
+  private final AtomicLong nextId = new AtomicLong( 1 );
+
+  // Seeds every session's dice (guarded by itself)
+  private final SplittableRandom seeds;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      SessionRegistry()
+   * Prototype:      public SessionRegistry( long seed );
+   * Description:    Create an empty registry whose sessions' dice all come
+   *                 from one master seed.
+   * Parameters:
+   *      arg 1:     long seed -- Master seed of every session's dice
+   * ----------------------------------------------------------------------- */
+  public SessionRegistry( long seed )
+  {
+    seeds = new SplittableRandom( seed );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  create()
+   * Prototype:      public GameSession create( );
+   * Description:    Create and register a session at the start of a game.
+   * Parameters:     None
+   * Return Value:   GameSession -- New session
+   * ----------------------------------------------------------------------- */
+  public GameSession create( )
+  {
+    long seed;
+    synchronized( seeds )
+    {
+      seed = seeds.nextLong( );
+    }
+
+    GameSession session = new GameSession( nextId.getAndIncrement( ), seed );
+    sessions.put( session.getId( ), session );
+    return session;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  get()
+   * Prototype:      public GameSession get( long id );
+   * Description:    Return the session with an id.
+   * Parameters:
+   *      arg 1:     long id -- Id of the session
+   * Return Value:   GameSession -- Session (null if there is none)
+   * ----------------------------------------------------------------------- */
+  public GameSession get( long id )
+  {
+    return sessions.get( id );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  remove()
+   * Prototype:      public GameSession remove( long id );
+   * Description:    Stop hosting the session with an id.
+   * Parameters:
+   *      arg 1:     long id -- Id of the session
+   * Return Value:   GameSession -- Removed session (null if there was none)
+   * ----------------------------------------------------------------------- */
+  public GameSession remove( long id )
+  {
+    return sessions.remove( id );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  removeIdle()
+   * Prototype:      public int removeIdle( long idleMillis );
+   * Description:    Stop hosting every session with no action for at least
+   *                 the passed in time.
+   * Parameters:
+   *      arg 1:     long idleMillis -- Idle time in milliseconds
+   * Return Value:   int -- Number of sessions removed
+   * ----------------------------------------------------------------------- */
+  public int removeIdle( long idleMillis )
+  {
+    long cutoff = System.currentTimeMillis( ) - idleMillis;
+    int removed = 0;
+
+    Iterator<GameSession> iterator = sessions.values( ).iterator( );
+    while( iterator.hasNext( ) )
+    {
+      if( iterator.next( ).getLastActive( ) <= cutoff )
+      {
+        iterator.remove( );
+        removed++;
+      }
+    }
+
+    return removed;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  size()
+   * Prototype:      public int size( );
+   * Description:    Return the number of sessions hosted.
+   * Parameters:     None
+   * Return Value:   int -- Number of sessions
+   * ----------------------------------------------------------------------- */
+  public int size( )
+  {
+    return sessions.size( );
+  }
+}
@@ -0,0 +1,204 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     SessionScheduler.java                                       *
+ * Description:  Runs the actions of many game sessions on a small pool of   *
+ *               worker threads.  Each session's actions run one at a time   *
+ *               in the order they were submitted (like GameExecutor does    *
+ *               for the window's game), while different sessions run in     *
+ *               parallel.  Only sessions with actions waiting have a queue, *
+ *               so idle sessions cost the scheduler nothing.                *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SessionScheduler
+{
+  // Prefix of the worker threads' names
+  private static final String THREAD_NAME = "game-session-";
+
+  // Workers running the sessions' actions
+  private final ExecutorService workers;
+
+  // Actions waiting behind the running one, for each session with an action
+  // running (a session's entry is guarded by the session; adding or removing
+  // an entry also holds this scheduler)
+  private final ConcurrentHashMap<GameSession, ArrayDeque<Runnable>> busy =
+    new ConcurrentHashMap<>( );
+
+  private boolean stopping;   // Whether shutdown() was called (guarded by
+                              // this scheduler)
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      SessionScheduler()
+   * Prototype:      public SessionScheduler( int threads );
+   * Description:    Create a scheduler with a pool of daemon worker threads.
+   * Parameters:
+   *      arg 1:     int threads -- Number of worker threads
+   * ----------------------------------------------------------------------- */
+  public SessionScheduler( int threads )
+  {
+    AtomicInteger count = new AtomicInteger( );
+
+    workers = Executors.newFixedThreadPool( threads, new ThreadFactory( )
+    {
+      public Thread newThread( Runnable action )
+      {
+        Thread worker = new Thread( action, THREAD_NAME +
+                                            count.incrementAndGet( ) );
+        worker.setDaemon( true );
+        return worker;
+      }
+    } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  submit()
+   * Prototype:      public CompletableFuture<Long> submit(
+   *                                 GameSession session, int action,
+   *                                 int argument );
+   * Description:    Queue an action to run on the session after every action
+   *                 submitted to it before.  The future completes with the
+   *                 state after the action, or with the exception an illegal
+   *                 action threw (a RejectedExecutionException once the
+   *                 scheduler is shut down).
+   * Parameters:
+   *      arg 1:     GameSession session -- Session to apply the action to
+   *      arg 2:     int action -- Action (see GameSession)
+   *      arg 3:     int argument -- Argument of the action
+   * Return Value:   CompletableFuture<Long> -- State after the action
+   * ----------------------------------------------------------------------- */
+  public CompletableFuture<Long> submit( GameSession session, int action,
+                                         int argument )
+  {
+    CompletableFuture<Long> result = new CompletableFuture<>( );
+
+    Runnable task = new Runnable( )
+    {
+      public void run( )
+      {
+        try
+        {
+          result.complete( session.apply( action, argument ) );
+        }
+        catch( RuntimeException ex )
+        {
+          result.completeExceptionally( ex );
+        }
+      }
+    };
+
+    // Wait behind the session's running action if it has one
+    synchronized( session )
+    {
+      synchronized( this )
+      {
+        if( stopping )
+        {
+          result.completeExceptionally(
+            new RejectedExecutionException( "Scheduler is shut down" ) );
+          return result;
+        }
+
+        ArrayDeque<Runnable> waiting = busy.get( session );
+        if( waiting != null )
+        {
+          waiting.add( task );
+          return result;
+        }
+
+        busy.put( session, new ArrayDeque<Runnable>( ) );
+      }
+    }
+
+    workers.execute( turn( session, task ) );
+    return result;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  turn()
+   * Prototype:      private Runnable turn( GameSession session,
+   *                                        Runnable task );
+   * Description:    Return a worker task that runs one of a session's
+   *                 actions and then hands the session's next action back to
+   *                 the pool (so a busy session can't starve the others).
+   *                 The last session to go idle after shutdown() stops the
+   *                 workers, so a queued action is never rejected.
+   * Parameters:
+   *      arg 1:     GameSession session -- Session the action belongs to
+   *      arg 2:     Runnable task -- Action to run
+   * Return Value:   Runnable -- Worker task
+   * ----------------------------------------------------------------------- */
+  private Runnable turn( GameSession session, Runnable task )
+  {
+    return new Runnable( )
+    {
+      public void run( )
+      {
+        task.run( );
+
+        Runnable next;
+        synchronized( session )
+        {
+          next = busy.get( session ).poll( );
+          if( next == null )
+          {
+            idle( session );
+            return;
+          }
+        }
+
+        workers.execute( turn( session, next ) );
+      }
+    };
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  idle()
+   * Prototype:      private synchronized void idle( GameSession session );
+   * Description:    Forget a session that has no actions left, and stop the
+   *                 workers if it was the last busy session after shutdown().
+   * Parameters:
+   *      arg 1:     GameSession session -- Session with no actions left
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private synchronized void idle( GameSession session )
+  {
+    busy.remove( session );
+
+    if( stopping && busy.isEmpty( ) )
+    {
+      workers.shutdown( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  shutdown()
+   * Prototype:      public synchronized void shutdown( );
+   * Description:    Refuse new actions, and stop the workers once the queued
+   *                 actions have run.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public synchronized void shutdown( )
+  {
+    stopping = true;
+
+    if( busy.isEmpty( ) )
+    {
+      workers.shutdown( );
+    }
+  }
+}
@@ -0,0 +1,270 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     SimulationRunner.java                                       *
+ * Description:  Splits a batch of simulated games across worker threads.    *
+ *               Every worker has its own policy and its own dice source     *
+ *               split from one master seed, and the workers' stats are      *
+ *               merged at the end, so a batch gives exactly the same        *
+ *               results for the same seed and number of threads.  Games     *
+ *               recorded to a game history are each played from a seed of  *
+ *               their own instead, so any one of them can be played again.  *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;   // For per-thread random streams
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+public class SimulationRunner
+{
+  // Default number of games to simulate from the command line
+  private static final long DEFAULT_GAMES = 100000;
+
+  // Number of nanoseconds per second (for throughput)
+  private static final double NANOS_PER_SEC = 1e9;
+
+  // Constants of the SplitMix64 step that mixes each recorded game's seed
+  // (consecutive games' seeds are SplitMix64 outputs, not raw states, so no
+  // game's dice stream is another's shifted by a draw)
+  private static final long SEED_STEP = 0x9e3779b97f4a7c15L;
+  private static final long MIX_1 = 0xbf58476d1ce4e5b9L;
+  private static final long MIX_2 = 0x94d049bb133111ebL;
+  private static final int SHIFT_1 = 30;
+  private static final int SHIFT_2 = 27;
+  private static final int SHIFT_3 = 31;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      SimulationRunner()
+   * Prototype:      private SimulationRunner( );
+   * Description:    The runner only has static methods, so it is never
+   *                 instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private SimulationRunner( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  run()
+   * Prototype:      public static SimulationStats run( long games,
+   *                                   int threads, long seed,
+   *                                   Supplier<Policy> policies )
+   *                                   throws InterruptedException;
+   * Description:    Play the passed in number of games split evenly across
+   *                 the worker threads and return the merged stats.
+   * Parameters:
+   *      arg 1:     long games -- Total number of games to play
+   *      arg 2:     int threads -- Number of worker threads
+   *      arg 3:     long seed -- Master seed for all the random streams
+   *      arg 4:     Supplier<Policy> policies -- Makes a policy per worker
+   * Return Value:   SimulationStats -- Stats of every game played
+   * ----------------------------------------------------------------------- */
+  public static SimulationStats run( long games, int threads, long seed,
+                                     Supplier<Policy> policies )
+    throws InterruptedException
+  {
+    SplittableRandom master = new SplittableRandom( seed );
+    List<Callable<SimulationStats>> workers = new ArrayList<>( );
+
+    // Give every worker its share of the games and its own dice source
+    // (split in worker order, so the streams only depend on the seed)
+    for( int worker = 0; worker < threads; worker++ )
+    {
+      long share = games / threads + ( ( worker < games % threads )? 1: 0 );
+      DiceSource source = new BulkDiceSource( master.split( ) );
+
+      workers.add( new Callable<SimulationStats>( )
+      {
+        public SimulationStats call( )
+        {
+          SimulationStats stats = new SimulationStats( );
+          new GameSimulator( policies.get( ), source ).run( share, stats );
+          return stats;
+        }
+      } );
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool( threads );
+    try
+    {
+      // Merge the workers' stats in worker order
+      SimulationStats total = new SimulationStats( );
+      for( Future<SimulationStats> result : pool.invokeAll( workers ) )
+      {
+        total.merge( result.get( ) );
+      }
+      return total;
+    }
+    catch( ExecutionException ex )
+    {
+      throw new IllegalStateException( "Simulation failed", ex.getCause( ) );
+    }
+    finally
+    {
+      pool.shutdown( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  record()
+   * Prototype:      public static void record( HistoryWriter out,
+   *                                      long games, int threads, long seed,
+   *                                      Supplier<Policy> policies )
+   *                                      throws IOException,
+   *                                             InterruptedException;
+   * Description:    Play the passed in number of games and write them to a
+   *                 game history.  The worker threads each fill a chunk of
+   *                 games at a time, and the chunks are written in order,
+   *                 so the history only depends on the seed.
+   * Parameters:
+   *      arg 1:     HistoryWriter out -- History to write the games to
+   *      arg 2:     long games -- Total number of games to play
+   *      arg 3:     int threads -- Number of worker threads
+   *      arg 4:     long seed -- Master seed of the games' seeds
+   *      arg 5:     Supplier<Policy> policies -- Makes a policy per chunk
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void record( HistoryWriter out, long games, int threads,
+                             long seed, Supplier<Policy> policies )
+    throws IOException, InterruptedException
+  {
+    long chunks = ( games + HistoryChunk.CAPACITY - 1 ) /
+                  HistoryChunk.CAPACITY;
+
+    ExecutorService pool = Executors.newFixedThreadPool( threads );
+    try
+    {
+      // Fill a chunk per thread, then write them, until every game is out
+      for( long first = 0; first < chunks; first += threads )
+      {
+        List<Callable<HistoryChunk>> workers = new ArrayList<>( );
+
+        for( long chunk = first; chunk < Math.min( first + threads, chunks );
+             chunk++ )
+        {
+          long start = chunk * HistoryChunk.CAPACITY;
+          long end = Math.min( start + HistoryChunk.CAPACITY, games );
+
+          workers.add( new Callable<HistoryChunk>( )
+          {
+            public HistoryChunk call( )
+            {
+              return playChunk( policies.get( ), seed, start, end );
+            }
+          } );
+        }
+
+        for( Future<HistoryChunk> result : pool.invokeAll( workers ) )
+        {
+          out.write( result.get( ) );
+        }
+      }
+    }
+    catch( ExecutionException ex )
+    {
+      throw new IllegalStateException( "Simulation failed", ex.getCause( ) );
+    }
+    finally
+    {
+      pool.shutdown( );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  playChunk()
+   * Prototype:      private static HistoryChunk playChunk( Policy policy,
+   *                                      long seed, long start, long end );
+   * Description:    Play a range of recorded games, each from its own seed.
+   * Parameters:
+   *      arg 1:     Policy policy -- Makes the player's decisions
+   *      arg 2:     long seed -- Master seed of the games' seeds
+   *      arg 3:     long start -- Number of the first game
+   *      arg 4:     long end -- One past the number of the last game
+   * Return Value:   HistoryChunk -- The games played
+   * ----------------------------------------------------------------------- */
+  private static HistoryChunk playChunk( Policy policy, long seed, long start,
+                                         long end )
+  {
+    HistoryChunk chunk = new HistoryChunk( );
+    byte[ ] scores = new byte[ ScoreEngine.NUM_CATEGORIES ];
+    byte[ ] rounds = new byte[ ScoreEngine.NUM_CATEGORIES ];
+
+    for( long game = start; game < end; game++ )
+    {
+      long gameSeed = gameSeed( seed, game );
+      GameSimulator simulator =
+        new GameSimulator( policy, new BulkDiceSource( gameSeed ) );
+      long state = simulator.playGame( scores, rounds );
+      chunk.add( gameSeed, scores, rounds, state );
+    }
+
+    return chunk;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  gameSeed()
+   * Prototype:      public static long gameSeed( long seed, long game );
+   * Description:    Return the seed a recorded game is played from (the
+   *                 game plays again with a BulkDiceSource of this seed).
+   *                 The seeds are the master seed's SplitMix64 outputs, so
+   *                 the games' dice streams don't overlap.
+   * Parameters:
+   *      arg 1:     long seed -- Master seed of the games' seeds
+   *      arg 2:     long game -- Number of the game
+   * Return Value:   long -- Seed of the game
+   * ----------------------------------------------------------------------- */
+  public static long gameSeed( long seed, long game )
+  {
+    long mixed = seed + ( game + 1 ) * SEED_STEP;
+    mixed = ( mixed ^ ( mixed >>> SHIFT_1 ) ) * MIX_1;
+    mixed = ( mixed ^ ( mixed >>> SHIFT_2 ) ) * MIX_2;
+    return mixed ^ ( mixed >>> SHIFT_3 );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  main()
+   * Prototype:      public static void main( String[ ] args )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Simulate games on every core and print the throughput
+   *                 and score distribution.
+   * Parameters:
+   *      arg 1:     String[ ] args -- [games] [greedy|optimal] [seed]
+   *                 [threads]
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void main( String[ ] args )
+    throws IOException, InterruptedException
+  {
+    long games = ( args.length > 0 )? Long.parseLong( args[ 0 ] ):
+                 DEFAULT_GAMES;
+    String policyName = ( args.length > 1 )? args[ 1 ]: "optimal";
+    long seed = ( args.length > 2 )? Long.parseLong( args[ 2 ] ):
+                System.nanoTime( );
+    int threads = ( args.length > 3 )? Integer.parseInt( args[ 3 ] ):
+                  Runtime.getRuntime( ).availableProcessors( );
+
+    Supplier<Policy> policies = GameSimulator.policyFactory( policyName );
+
+    long start = System.nanoTime( );
+    SimulationStats stats = run( games, threads, seed, policies );
+    double seconds = ( System.nanoTime( ) - start ) / NANOS_PER_SEC;
+
+    System.out.println( "policy: " + policyName + "  seed: " + seed +
+                        "  threads: " + threads );
+    System.out.printf( "%s%ngames/sec: %.0f%n", stats, games / seconds );
+    stats.printHistogram( System.out );
+  }
+}
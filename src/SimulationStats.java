@@ -0,0 +1,282 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     SimulationStats.java                                        *
+ * Description:  Accumulates the final scores of simulated games: count,     *
+ *               mean, standard deviation, and a histogram of every score.   *
+ *               All sums are exact integers, so stats gathered separately   *
+ *               merge into exactly the same result in any order.            *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.PrintStream;
+
+public class SimulationStats
+{
+  // Width of the score ranges printed in the histogram
+  private static final int BUCKET_WIDTH = 25;
+
+  // Highest possible final score (best score of every category plus bonus)
+  public static final int MAX_SCORE = maxScore( );
+
+  private long count;          // Number of games
+  private long sum;            // Sum of the final scores
+  private long sumSquares;     // Sum of the squares of the final scores
+  private long[ ] histogram;   // Number of games with each final score
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      SimulationStats()
+   * Prototype:      public SimulationStats( );
+   * Description:    Create empty stats.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  public SimulationStats( )
+  {
+    histogram = new long[ MAX_SCORE + 1 ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  add()
+   * Prototype:      public void add( int score );
+   * Description:    Add the final score of one game.
+   * Parameters:
+   *      arg 1:     int score -- Final score of the game
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void add( int score )
+  {
+    count++;
+    sum += score;
+    sumSquares += (long) score * score;
+    histogram[ score ]++;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  add()
+   * Prototype:      public void add( int score, long games );
+   * Description:    Add a number of games that all had the same final score.
+   * Parameters:
+   *      arg 1:     int score -- Final score of the games
+   *      arg 2:     long games -- Number of games
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void add( int score, long games )
+  {
+    count += games;
+    sum += score * games;
+    sumSquares += (long) score * score * games;
+    histogram[ score ] += games;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  merge()
+   * Prototype:      public void merge( SimulationStats other );
+   * Description:    Add all the games of the other stats to these stats.
+   * Parameters:
+   *      arg 1:     SimulationStats other -- Stats to merge in
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void merge( SimulationStats other )
+  {
+    count += other.count;
+    sum += other.sum;
+    sumSquares += other.sumSquares;
+
+    for( int score = 0; score <= MAX_SCORE; score++ )
+    {
+      histogram[ score ] += other.histogram[ score ];
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getCount()
+   * Prototype:      public long getCount( );
+   * Description:    Return the number of games.
+   * Parameters:     None
+   * Return Value:   long -- Number of games
+   * ----------------------------------------------------------------------- */
+  public long getCount( )
+  {
+    return count;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getMean()
+   * Prototype:      public double getMean( );
+   * Description:    Return the mean final score.
+   * Parameters:     None
+   * Return Value:   double -- Mean final score (NaN if there are no games)
+   * ----------------------------------------------------------------------- */
+  public double getMean( )
+  {
+    return (double) sum / count;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getStdDev()
+   * Prototype:      public double getStdDev( );
+   * Description:    Return the (population) standard deviation of the final
+   *                 scores.
+   * Parameters:     None
+   * Return Value:   double -- Standard deviation of the final scores
+   * ----------------------------------------------------------------------- */
+  public double getStdDev( )
+  {
+    double mean = getMean( );
+    double variance = (double) sumSquares / count - mean * mean;
+
+    return Math.sqrt( Math.max( 0, variance ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getMin()
+   * Prototype:      public int getMin( );
+   * Description:    Return the lowest final score.
+   * Parameters:     None
+   * Return Value:   int -- Lowest final score (-1 if there are no games)
+   * ----------------------------------------------------------------------- */
+  public int getMin( )
+  {
+    for( int score = 0; score <= MAX_SCORE; score++ )
+    {
+      if( histogram[ score ] != 0 ) return score;
+    }
+
+    return -1;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getMax()
+   * Prototype:      public int getMax( );
+   * Description:    Return the highest final score.
+   * Parameters:     None
+   * Return Value:   int -- Highest final score (-1 if there are no games)
+   * ----------------------------------------------------------------------- */
+  public int getMax( )
+  {
+    for( int score = MAX_SCORE; score >= 0; score-- )
+    {
+      if( histogram[ score ] != 0 ) return score;
+    }
+
+    return -1;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getPercentile()
+   * Prototype:      public int getPercentile( double percent );
+   * Description:    Return the lowest final score that at least the passed
+   *                 in percent of games scored at or below.
+   * Parameters:
+   *      arg 1:     double percent -- Percent of games (0 to 100)
+   * Return Value:   int -- Final score at the percentile
+   * ----------------------------------------------------------------------- */
+  public int getPercentile( double percent )
+  {
+    long target = (long) Math.ceil( count * percent / 100 );
+    long seen = 0;
+
+    for( int score = 0; score <= MAX_SCORE; score++ )
+    {
+      seen += histogram[ score ];
+      if( seen >= target && seen > 0 ) return score;
+    }
+
+    return getMax( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getHistogram()
+   * Prototype:      public long getHistogram( int score );
+   * Description:    Return the number of games with the passed in score.
+   * Parameters:
+   *      arg 1:     int score -- Final score (0 to MAX_SCORE)
+   * Return Value:   long -- Number of games with that final score
+   * ----------------------------------------------------------------------- */
+  public long getHistogram( int score )
+  {
+    return histogram[ score ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  printHistogram()
+   * Prototype:      public void printHistogram( PrintStream out );
+   * Description:    Print the share of games in each range of final scores.
+   * Parameters:
+   *      arg 1:     PrintStream out -- Stream to print to
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void printHistogram( PrintStream out )
+  {
+    for( int low = 0; low <= MAX_SCORE; low += BUCKET_WIDTH )
+    {
+      long games = 0;
+      for( int score = low; score < low + BUCKET_WIDTH && score <= MAX_SCORE;
+           score++ )
+      {
+        games += histogram[ score ];
+      }
+
+      if( games != 0 )
+      {
+        out.printf( "%4d-%-4d %8.4f%%%n", low, low + BUCKET_WIDTH - 1,
+                    100.0 * games / count );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  toString()
+   * Prototype:      public String toString( );
+   * Description:    Return a summary of these stats.
+   * Parameters:     None
+   * Return Value:   String -- Count, mean, standard deviation, and range
+   * ----------------------------------------------------------------------- */
+  @Override
+  public String toString( )
+  {
+    return String.format( "games: %d  mean: %.3f  std dev: %.3f  " +
+                          "min: %d  p50: %d  p99: %d  max: %d",
+                          count, getMean( ), getStdDev( ), getMin( ),
+                          getPercentile( 50 ), getPercentile( 99 ),
+                          getMax( ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  maxScore()
+   * Prototype:      private static int maxScore( );
+   * Description:    Add up the best score any hand gets in every category,
+   *                 plus the upper bonus.
+   * Parameters:     None
+   * Return Value:   int -- Highest possible final score
+   * ----------------------------------------------------------------------- */
+  private static int maxScore( )
+  {
+    int total = ScoreEngine.UP_BONUS_POINTS;
+
+    for( int category = 0; category < ScoreEngine.NUM_CATEGORIES; category++ )
+    {
+      int best = 0;
+      for( int hand = 0; hand < HandIndex.NUM_HANDS; hand++ )
+      {
+        best = Math.max( best, HandIndex.score( hand, category ) );
+      }
+      total += best;
+    }
+
+    return total;
+  }
+}
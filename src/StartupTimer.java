@@ -0,0 +1,171 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     StartupTimer.java                                           *
+ * Description:  Times the phases of starting the game (class load, image    *
+ *               decode, pack, show, the first paint of the window's         *
+ *               placeholder, component build, and the first paint of the    *
+ *               game) and prints them once the game is first painted.  Only *
+ *               enabled when the yahtzee.startup.timing system property is  *
+ *               true, so a normal start pays nothing for it.                *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class StartupTimer
+{
+  // System property that turns the timing on
+  public static final String TIMING_PROPERTY = "yahtzee.startup.timing";
+
+  // Names of the phases (in the order they happen)
+  public static final String CLASS_LOAD = "class load";
+  public static final String IMAGE_DECODE = "image decode";
+  public static final String PACK = "pack";
+  public static final String SHOW = "show";
+  public static final String FIRST_PAINT = "first paint";
+  public static final String COMPONENT_BUILD = "component build";
+  public static final String GAME_PAINT = "game paint";
+
+  private static final boolean ENABLED = Boolean.getBoolean( TIMING_PROPERTY );
+
+  private static final double NANOS_PER_MILLI = 1e6;
+
+  // Nanoseconds spent in each phase, in the order first recorded (guarded
+  // by the class lock)
+  private static final Map<String, Long> PHASES = new LinkedHashMap<>( );
+
+  private static long jvmStartNanos;  // System.nanoTime( ) when the JVM started
+  private static boolean painted;     // Whether the first paint was recorded
+  private static boolean gamePainted; // Whether the game paint was recorded
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      StartupTimer()
+   * Prototype:      private StartupTimer( );
+   * Description:    Phases are only recorded through static methods, so this
+   *                 class is never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private StartupTimer( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  start()
+   * Prototype:      public static synchronized void start( );
+   * Description:    Record the time from the JVM starting to main() being
+   *                 called as the class load phase.  Called first in main().
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static synchronized void start( )
+  {
+    if( !ENABLED ) return;
+
+    long now = System.nanoTime( );
+    Instant jvmStart =
+      ProcessHandle.current( ).info( ).startInstant( ).orElse( null );
+    long sinceStart = ( jvmStart == null )? 0:
+                      System.currentTimeMillis( ) - jvmStart.toEpochMilli( );
+
+    jvmStartNanos = now - (long)( sinceStart * NANOS_PER_MILLI );
+    PHASES.put( CLASS_LOAD, now - jvmStartNanos );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  begin()
+   * Prototype:      public static long begin( );
+   * Description:    Return the time a phase began, to pass to end().
+   * Parameters:     None
+   * Return Value:   long -- Start time in nanoseconds (0 when disabled)
+   * ----------------------------------------------------------------------- */
+  public static long begin( )
+  {
+    return ENABLED? System.nanoTime( ): 0;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  end()
+   * Prototype:      public static synchronized void end( String phase,
+   *                                                      long began );
+   * Description:    Add the time since a phase began to the phase (so a
+   *                 phase can be timed in several pieces).
+   * Parameters:
+   *      arg 1:     String phase -- Name of the phase
+   *      arg 2:     long began -- Time returned by begin()
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static synchronized void end( String phase, long began )
+  {
+    if( !ENABLED ) return;
+
+    long nanos = System.nanoTime( ) - began;
+    Long before = PHASES.get( phase );
+    PHASES.put( phase, ( before == null )? nanos: before + nanos );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  firstPaint()
+   * Prototype:      public static synchronized void firstPaint( );
+   * Description:    Record the time from the JVM starting to the window
+   *                 (holding only its placeholder) being painted.  Only the
+   *                 first call does anything.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static synchronized void firstPaint( )
+  {
+    if( !ENABLED || painted ) return;
+    painted = true;
+
+    PHASES.put( FIRST_PAINT, System.nanoTime( ) - jvmStartNanos );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  gamePaint()
+   * Prototype:      public static synchronized void gamePaint( );
+   * Description:    Record the time from the JVM starting to the game's
+   *                 components being painted and print every phase.  Only
+   *                 the first call does anything.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static synchronized void gamePaint( )
+  {
+    if( !ENABLED || gamePainted ) return;
+    gamePainted = true;
+
+    PHASES.put( GAME_PAINT, System.nanoTime( ) - jvmStartNanos );
+
+    for( Map.Entry<String, Long> phase: PHASES.entrySet( ) )
+    {
+      System.err.printf( "startup %-16s %8.1f ms%s%n", phase.getKey( ),
+                         phase.getValue( ) / NANOS_PER_MILLI,
+                         isSinceStart( phase.getKey( ) )?
+                         " (since JVM start)": "" );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  isSinceStart()
+   * Prototype:      private static boolean isSinceStart( String phase );
+   * Description:    Return whether a phase is timed from the JVM starting
+   *                 (rather than being a duration of its own).
+   * Parameters:
+   *      arg 1:     String phase -- Name of the phase
+   * Return Value:   boolean -- Whether the phase is timed from JVM start
+   * ----------------------------------------------------------------------- */
+  private static boolean isSinceStart( String phase )
+  {
+    return phase.equals( CLASS_LOAD ) || phase.equals( FIRST_PAINT ) ||
+           phase.equals( GAME_PAINT );
+  }
+}
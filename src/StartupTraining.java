@@ -0,0 +1,128 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     StartupTraining.java                                        *
+ * Description:  Training run for the class data sharing (CDS) archive.      *
+ *               Builds the game's components headless, plays a round       *
+ *               through them, and simulates a few games, so the archive     *
+ *               made from this run holds the classes the game and the       *
+ *               simulation tools load when they start.  Run by "ant cds"    *
+ *               (see build.xml).                                            *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import javax.swing.*;         // For JComponents (GUI)
+import java.awt.BorderLayout;
+import java.util.concurrent.CountDownLatch;
+
+public class StartupTraining
+{
+  // Number of games simulated (enough to load every class used to play)
+  private static final int SIM_GAMES = 2000;
+
+  // Seed of the dice
+  private static final long SEED = 1;
+
+  // Classes the window needs that can't be created headless
+  private static final String[ ] WINDOW_CLASSES = { "javax.swing.JFrame",
+                                                    "Yahtzee" };
+
+  // Controllers of the game built for training
+  private static ScoreController scoreControl;
+  private static DiceController diceControl;
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      StartupTraining()
+   * Prototype:      private StartupTraining( );
+   * Description:    Training is only run through main(), so this class is
+   *                 never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private StartupTraining( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  main()
+   * Prototype:      public static void main( String[ ] args )
+   *                                 throws Exception;
+   * Description:    Load the classes the game and the simulation tools use
+   *                 at startup, then exit (which writes the archive).
+   * Parameters:
+   *      arg 1:     String[ ] args -- Command line arguments (not used)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void main( String[ ] args ) throws Exception
+  {
+    for( String name: WINDOW_CLASSES )
+    {
+      Class.forName( name, false, StartupTraining.class.getClassLoader( ) );
+    }
+
+    // Build the game's components on the event dispatch thread
+    SwingUtilities.invokeAndWait( new Runnable( )
+    {
+      public void run( )
+      {
+        JPanel contentPane = new JPanel( new BorderLayout( ) );
+        scoreControl = new ScoreController( contentPane );
+        diceControl = new DiceController( contentPane, scoreControl );
+      }
+    } );
+
+    // Play a round through the controllers
+    for( int roll = 0; roll < DiceController.MAX_ROLLS; roll++ )
+    {
+      click( diceControl.getRollButton( ) );
+    }
+    click( scoreControl.getActiveScore( ScoreEngine.CHANCE ).getButton( ) );
+
+    // Decode every dice image
+    for( int face = ScoreEngine.MIN_DICE_VAL;
+         face <= ScoreEngine.MAX_DICE_VAL; face++ )
+    {
+      DiceImageCache.getIcon( face, false, DiceImageCache.NATURAL_SIZE );
+      DiceImageCache.getIcon( face, true, DiceImageCache.NATURAL_SIZE );
+    }
+
+    // Simulate games the way SimulationRunner does
+    SimulationRunner.run( SIM_GAMES, 1, SEED,
+                          GameSimulator.policyFactory( "greedy" ) );
+
+    System.exit( 0 );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  click()
+   * Prototype:      private static void click( JButton button )
+   *                                 throws Exception;
+   * Description:    Click a button on the EDT and wait for the game thread
+   *                 to run its action.
+   * Parameters:
+   *      arg 1:     JButton button -- Button to click
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void click( JButton button ) throws Exception
+  {
+    SwingUtilities.invokeAndWait( new Runnable( )
+    {
+      public void run( )
+      {
+        button.doClick( 0 );
+      }
+    } );
+
+    // Actions run in order, so this runs after the click's action
+    CountDownLatch done = new CountDownLatch( 1 );
+    GameExecutor.submit( new Runnable( )
+    {
+      public void run( )
+      {
+        done.countDown( );
+      }
+    } );
+    done.await( );
+  }
+}
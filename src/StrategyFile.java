@@ -0,0 +1,308 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     StrategyFile.java                                           *
+ * Description:  Reads and writes solved strategy tables as compact binary   *
+ *               files.  Files are loaded through a read-only memory map, so *
+ *               loading is nearly instant and every JVM on the host shares  *
+ *               the same pages instead of holding its own copy on the heap. *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;   // For loading in background
+import java.util.zip.CRC32;                      // For checksums
+
+public class StrategyFile
+{
+  // System property to override the location of the strategy file
+  public static final String FILE_PROPERTY = "yahtzee.strategy.file";
+
+  // Default name of the strategy file (in the user's home directory)
+  private static final String DEFAULT_NAME = ".yahtzee_v1.strategy";
+
+  // First four bytes of every strategy file ("YSTR")
+  private static final int MAGIC = 0x59535452;
+
+  // Version of the file layout
+  private static final int FORMAT_VERSION = 1;
+
+  // Version of the solver (change when the solver's results change)
+  private static final int SOLVER_VERSION = 1;
+
+  // Number of bytes before the values (magic, format version, rule version,
+  // number of states, checksum, and padding to keep the values aligned)
+  private static final int HEADER_SIZE = 32;
+
+  // Offsets of the header fields
+  private static final int MAGIC_OFFSET = 0;
+  private static final int FORMAT_OFFSET = 4;
+  private static final int RULES_OFFSET = 8;
+  private static final int STATES_OFFSET = 12;
+  private static final int CHECKSUM_OFFSET = 16;
+
+  // Size of the values in bytes
+  private static final int VALUES_SIZE = StrategyTable.NUM_STATES * Float.BYTES;
+
+  // Byte order of the file (the same on every platform)
+  private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  // Number of bytes with room for every rule constant in ruleVersion()
+  private static final int RULE_BYTES = 64;
+
+  // Suffix of the temp file written before replacing the strategy file
+  private static final String TEMP_SUFFIX = ".tmp";
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      StrategyFile()
+   * Prototype:      private StrategyFile( );
+   * Description:    Strategy files are only read and written through static
+   *                 methods, so this class is never instantiated.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  private StrategyFile( )
+  {
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  defaultPath()
+   * Prototype:      public static Path defaultPath( );
+   * Description:    Return the path of the strategy file, which is set by
+   *                 the yahtzee.strategy.file property or is in the user's
+   *                 home directory.
+   * Parameters:     None
+   * Return Value:   Path -- Path of the strategy file
+   * ----------------------------------------------------------------------- */
+  public static Path defaultPath( )
+  {
+    String name = System.getProperty( FILE_PROPERTY );
+
+    if( name == null )
+    {
+      name = System.getProperty( "user.home" ) + File.separator + DEFAULT_NAME;
+    }
+
+    return new File( name ).toPath( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  loadAsync()
+   * Prototype:      public static CompletableFuture<StrategyTable>
+   *                                 loadAsync( Path path );
+   * Description:    Load the strategy table (see loadOrSolve()) on a
+   *                 background daemon thread.
+   * Parameters:
+   *      arg 1:     Path path -- Path of the strategy file
+   * Return Value:   CompletableFuture<StrategyTable> -- Table once loaded
+   * ----------------------------------------------------------------------- */
+  public static CompletableFuture<StrategyTable> loadAsync( Path path )
+  {
+    CompletableFuture<StrategyTable> result = new CompletableFuture<>( );
+
+    Thread loadThread = new Thread( "strategy-loader" )
+    {
+      public void run( )
+      {
+        try
+        {
+          result.complete( loadOrSolve( path ) );
+        }
+        catch( IOException | RuntimeException ex )
+        {
+          result.completeExceptionally( ex );
+        }
+      }
+    };
+    loadThread.setDaemon( true );
+    loadThread.setPriority( Thread.MIN_PRIORITY );
+    loadThread.start( );
+
+    return result;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  loadOrSolve()
+   * Prototype:      public static StrategyTable loadOrSolve( Path path )
+   *                                 throws IOException;
+   * Description:    Map the strategy file if it exists and is valid for the
+   *                 current rules.  Otherwise solve the game, write the file,
+   *                 and map the newly written file.
+   * Parameters:
+   *      arg 1:     Path path -- Path of the strategy file
+   * Return Value:   StrategyTable -- Table backed by the mapped file
+   * ----------------------------------------------------------------------- */
+  public static StrategyTable loadOrSolve( Path path ) throws IOException
+  {
+    if( Files.isReadable( path ) )
+    {
+      try
+      {
+        return map( path );
+      }
+      catch( IOException ex )
+      {
+        // The file is stale or damaged, so solve the game again below
+      }
+    }
+
+    write( StrategySolver.solve( ), path );
+    return map( path );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  map()
+   * Prototype:      public static StrategyTable map( Path path )
+   *                                 throws IOException;
+   * Description:    Map the strategy file read-only and check its header and
+   *                 checksum.
+   * Parameters:
+   *      arg 1:     Path path -- Path of the strategy file
+   * Return Value:   StrategyTable -- Table backed by the mapped file
+   * ----------------------------------------------------------------------- */
+  public static StrategyTable map( Path path ) throws IOException
+  {
+    MappedByteBuffer buffer;
+
+    // The mapping stays valid after the channel is closed
+    try( FileChannel channel = FileChannel.open( path,
+                                                 StandardOpenOption.READ ) )
+    {
+      if( channel.size( ) != HEADER_SIZE + VALUES_SIZE )
+      {
+        throw new IOException( path + ": wrong size for a strategy file" );
+      }
+
+      buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size( ) );
+    }
+    buffer.order( ORDER );
+
+    // Check that the file was written for these rules by this solver
+    if( buffer.getInt( MAGIC_OFFSET ) != MAGIC ||
+        buffer.getInt( FORMAT_OFFSET ) != FORMAT_VERSION ||
+        buffer.getInt( RULES_OFFSET ) != ruleVersion( ) ||
+        buffer.getInt( STATES_OFFSET ) != StrategyTable.NUM_STATES )
+    {
+      throw new IOException( path + ": strategy file is for other rules" );
+    }
+
+    // Check that the values weren't damaged
+    ByteBuffer values = buffer.duplicate( ).position( HEADER_SIZE ).slice( );
+    if( buffer.getLong( CHECKSUM_OFFSET ) != checksum( values ) )
+    {
+      throw new IOException( path + ": strategy file checksum mismatch" );
+    }
+
+    FloatBuffer floats = values.order( ORDER ).asFloatBuffer( );
+    return new StrategyTable( floats.asReadOnlyBuffer( ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  write()
+   * Prototype:      public static void write( StrategyTable table, Path path )
+   *                                 throws IOException;
+   * Description:    Write the table to a temp file and then move it over the
+   *                 strategy file, so readers never see half of a file.
+   * Parameters:
+   *      arg 1:     StrategyTable table -- Table to write
+   *      arg 2:     Path path -- Path of the strategy file
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void write( StrategyTable table, Path path ) throws IOException
+  {
+    ByteBuffer values = ByteBuffer.allocate( VALUES_SIZE ).order( ORDER );
+    values.asFloatBuffer( ).put( table.getValues( ).rewind( ) );
+
+    ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE ).order( ORDER );
+    header.putInt( MAGIC_OFFSET, MAGIC );
+    header.putInt( FORMAT_OFFSET, FORMAT_VERSION );
+    header.putInt( RULES_OFFSET, ruleVersion( ) );
+    header.putInt( STATES_OFFSET, StrategyTable.NUM_STATES );
+    header.putLong( CHECKSUM_OFFSET, checksum( values ) );
+
+    Path parent = path.toAbsolutePath( ).getParent( );
+    Files.createDirectories( parent );
+    Path temp = Files.createTempFile( parent, path.getFileName( ).toString( ),
+                                      TEMP_SUFFIX );
+    try
+    {
+      try( FileChannel channel = FileChannel.open( temp,
+                                                   StandardOpenOption.WRITE ) )
+      {
+        ByteBuffer[ ] buffers = { header, values };
+        while( values.hasRemaining( ) )
+        {
+          channel.write( buffers );
+        }
+      }
+
+      Files.move( temp, path, StandardCopyOption.REPLACE_EXISTING,
+                  StandardCopyOption.ATOMIC_MOVE );
+    }
+    finally
+    {
+      Files.deleteIfExists( temp );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  ruleVersion()
+   * Prototype:      public static int ruleVersion( );
+   * Description:    Return a number identifying the rules and solver a
+   *                 strategy file was made for, so that files made for other
+   *                 rules are never used.
+   * Parameters:     None
+   * Return Value:   int -- Rule version
+   * ----------------------------------------------------------------------- */
+  public static int ruleVersion( )
+  {
+    CRC32 crc = new CRC32( );
+    ByteBuffer rules = ByteBuffer.allocate( RULE_BYTES ).order( ORDER );
+
+    rules.putInt( SOLVER_VERSION );
+    rules.putInt( ScoreEngine.NUM_OF_DICE );
+    rules.putInt( ScoreEngine.MAX_DICE_VAL );
+    rules.putInt( ScoreEngine.NUM_CATEGORIES );
+    rules.putInt( ScoreEngine.UP_BONUS_THRESHOLD );
+    rules.putInt( ScoreEngine.UP_BONUS_POINTS );
+    for( int index = 0; index < ScoreEngine.LOWER_SCORES.length; index++ )
+    {
+      rules.putInt( ScoreEngine.LOWER_SCORES[ index ] );
+    }
+
+    crc.update( rules.flip( ) );
+    return (int) crc.getValue( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  checksum()
+   * Prototype:      private static long checksum( ByteBuffer values );
+   * Description:    Return the CRC-32 of the remaining bytes of the buffer
+   *                 (without moving the buffer's position).
+   * Parameters:
+   *      arg 1:     ByteBuffer values -- Bytes to check
+   * Return Value:   long -- CRC-32 of the bytes
+   * ----------------------------------------------------------------------- */
+  private static long checksum( ByteBuffer values )
+  {
+    CRC32 crc = new CRC32( );
+    crc.update( values.duplicate( ) );
+    return crc.getValue( );
+  }
+}
@@ -0,0 +1,650 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     StrategySolver.java                                         *
+ * Description:  Solves solitaire Yahtzee by backward induction: the value   *
+ *               of every state between turns is the expected score of the   *
+ *               turn played optimally (best holds for both rerolls and best *
+ *               category) plus the value of the state it leads to.  A       *
+ *               solver object also holds the scratch buffers for one turn,  *
+ *               so it can tell a player the best hold and category.         *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.util.concurrent.ForkJoinPool;      // For solving in parallel
+import java.util.concurrent.RecursiveAction;
+
+public class StrategySolver
+{
+  // System property to set the default number of solver threads
+  public static final String THREADS_PROPERTY = "yahtzee.solver.threads";
+
+  // Number of used category masks a task solves without splitting
+  private static final int MASKS_PER_TASK = 8;
+
+  // Nanoseconds per millisecond (for timing solves)
+  private static final long NANOS_PER_MS = 1000000L;
+
+  // Number of upper section categories (and bits of the upper mask)
+  private static final int NUM_UPPER = ScoreEngine.NUM_UPPER;
+
+  // Number of faces on a die
+  private static final int NUM_FACES = ScoreEngine.MAX_DICE_VAL;
+
+  // Mask to extract the upper section categories from a used mask
+  private static final int UPPER_MASK = ( 1 << NUM_UPPER ) - 1;
+
+  // Highest score an upper category can get plus one
+  private static final int UPPER_SCORES =
+    ScoreEngine.NUM_OF_DICE * ScoreEngine.MAX_DICE_VAL + 1;
+
+  // Bit set of the reachable (capped) upper subtotals for every set of used
+  // upper categories (bit n is set if a subtotal of n is reachable)
+  private static final long[ ] UPPER_REACHABLE = new long[ UPPER_MASK + 1 ];
+
+  static
+  {
+    UPPER_REACHABLE[ 0 ] = 1L;
+
+    for( int upperMask = 1; upperMask <= UPPER_MASK; upperMask++ )
+    {
+      // Add every possible score of one used category to the subtotals
+      // reachable without it
+      int category = Integer.numberOfTrailingZeros( upperMask );
+      long without = UPPER_REACHABLE[ upperMask & ~( 1 << category ) ];
+      long reachable = 0;
+
+      for( int count = 0; count <= ScoreEngine.NUM_OF_DICE; count++ )
+      {
+        reachable |= addCapped( without, count * ( category + 1 ) );
+      }
+
+      UPPER_REACHABLE[ upperMask ] = reachable;
+    }
+  }
+
+
+  private StrategyTable table;   // Values of the states after this turn
+
+  // Categories still open in the prepared state
+  private int[ ] open = new int[ ScoreEngine.NUM_CATEGORIES ];
+  private int numOpen;
+
+  // Points plus future value of scoring each open upper category, indexed
+  // by category * UPPER_SCORES + score
+  private double[ ] upperGain = new double[ NUM_UPPER * UPPER_SCORES ];
+
+  // Future value of scoring each open lower category
+  private double[ ] lowerFuture = new double[ ScoreEngine.NUM_CATEGORIES ];
+
+  // Value of every hand when it must be scored (no rolls left)
+  private double[ ] scored = new double[ HandIndex.NUM_HANDS ];
+
+  // Value of every keeper with one roll left
+  private double[ ] keepOne = new double[ Keepers.NUM_KEEPERS ];
+
+  // Value of every hand after the second roll (one reroll left)
+  private double[ ] afterSecond = new double[ HandIndex.NUM_HANDS ];
+
+  // Value of every keeper with two rolls left
+  private double[ ] keepTwo = new double[ Keepers.NUM_KEEPERS ];
+
+  // Value of every hand after the first roll (two rerolls left)
+  private double[ ] afterFirst = new double[ HandIndex.NUM_HANDS ];
+
+  // Value of every keeper before the first roll (only EMPTY is used)
+  private double[ ] keepNone = new double[ Keepers.NUM_KEEPERS ];
+
+  // Value of the best keeper inside every keeper
+  private double[ ] bestInside = new double[ Keepers.NUM_KEEPERS ];
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      StrategySolver()
+   * Prototype:      public StrategySolver( StrategyTable table );
+   * Description:    Create a solver that looks up future values in the passed
+   *                 in table.
+   * Parameters:
+   *      arg 1:     StrategyTable table -- Values of the states between turns
+   * ----------------------------------------------------------------------- */
+  public StrategySolver( StrategyTable table )
+  {
+    this.table = table;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  solve()
+   * Prototype:      public static StrategyTable solve( );
+   * Description:    Compute the value of every reachable state using the
+   *                 default number of threads (see defaultThreads()).
+   * Parameters:     None
+   * Return Value:   StrategyTable -- Solved table
+   * ----------------------------------------------------------------------- */
+  public static StrategyTable solve( )
+  {
+    return solve( defaultThreads( ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  solve()
+   * Prototype:      public static StrategyTable solve( int threads );
+   * Description:    Compute the value of every reachable state, starting
+   *                 from the end of the game and working backwards one layer
+   *                 (number of used categories) at a time.  Every state in a
+   *                 layer only depends on the next layer, so each layer is
+   *                 split across a fork/join pool.
+   * Parameters:
+   *      arg 1:     int threads -- Number of worker threads to use
+   * Return Value:   StrategyTable -- Solved table
+   * ----------------------------------------------------------------------- */
+  public static StrategyTable solve( int threads )
+  {
+    StrategyTable table = new StrategyTable( );
+    int[ ][ ] layers = layers( );
+
+    // Each worker thread gets its own solver (and scratch buffers)
+    ThreadLocal<StrategySolver> solvers = new ThreadLocal<StrategySolver>( )
+    {
+      @Override
+      protected StrategySolver initialValue( )
+      {
+        return new StrategySolver( table );
+      }
+    };
+
+    ForkJoinPool pool = new ForkJoinPool( threads );
+    try
+    {
+      // The last layer (every category used) is worth nothing
+      for( int used = ScoreEngine.NUM_CATEGORIES - 1; used >= 0; used-- )
+      {
+        int[ ] layer = layers[ used ];
+        pool.invoke( new LayerTask( solvers, layer, 0, layer.length ) );
+      }
+    }
+    finally
+    {
+      pool.shutdown( );
+    }
+
+    return table;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  defaultThreads()
+   * Prototype:      public static int defaultThreads( );
+   * Description:    Return the number of solver threads set by the
+   *                 yahtzee.solver.threads property, or the number of
+   *                 available processors if it isn't set.
+   * Parameters:     None
+   * Return Value:   int -- Default number of solver threads
+   * ----------------------------------------------------------------------- */
+  public static int defaultThreads( )
+  {
+    int processors = Runtime.getRuntime( ).availableProcessors( );
+    return Math.max( 1, Integer.getInteger( THREADS_PROPERTY, processors ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  layers()
+   * Prototype:      private static int[ ][ ] layers( );
+   * Description:    Group every used category mask by the number of used
+   *                 categories.
+   * Parameters:     None
+   * Return Value:   int[ ][ ] -- Masks with n categories used at index n
+   * ----------------------------------------------------------------------- */
+  private static int[ ][ ] layers( )
+  {
+    int[ ][ ] layers = new int[ ScoreEngine.NUM_CATEGORIES + 1 ][ ];
+    int[ ] sizes = new int[ ScoreEngine.NUM_CATEGORIES + 1 ];
+
+    for( int mask = 0; mask < StrategyTable.NUM_MASKS; mask++ )
+    {
+      sizes[ Integer.bitCount( mask ) ]++;
+    }
+
+    for( int used = 0; used < layers.length; used++ )
+    {
+      layers[ used ] = new int[ sizes[ used ] ];
+      sizes[ used ] = 0;
+    }
+
+    for( int mask = 0; mask < StrategyTable.NUM_MASKS; mask++ )
+    {
+      int used = Integer.bitCount( mask );
+      layers[ used ][ sizes[ used ]++ ] = mask;
+    }
+
+    return layers;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  main()
+   * Prototype:      public static void main( String[ ] args );
+   * Description:    Solve the game once for every thread count passed in (or
+   *                 1 up to the number of processors) and print the time each
+   *                 solve took, to measure how the solver scales.
+   * Parameters:
+   *      arg 1:     String[ ] args -- Thread counts to time
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void main( String[ ] args )
+  {
+    int processors = Runtime.getRuntime( ).availableProcessors( );
+    int runs = ( args.length > 0 )? args.length: processors;
+
+    for( int run = 0; run < runs; run++ )
+    {
+      int threads = ( args.length > 0 )? Integer.parseInt( args[ run ] ):
+                    run + 1;
+
+      long start = System.nanoTime( );
+      StrategyTable table = solve( threads );
+      long elapsed = ( System.nanoTime( ) - start ) / NANOS_PER_MS;
+
+      System.out.println( "threads: " + threads + "  time: " + elapsed +
+                          " ms  expected score: " + table.getValue( 0, 0 ) );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  solveMask()
+   * Prototype:      public void solveMask( int usedMask );
+   * Description:    Compute and store the value of every reachable upper
+   *                 subtotal with the passed in categories used.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void solveMask( int usedMask )
+  {
+    // Once every upper category is used, the subtotal can't change anything
+    if( ( usedMask & UPPER_MASK ) == UPPER_MASK )
+    {
+      float value = (float) evaluateState( usedMask, 0 );
+
+      for( int upper = 0; upper < StrategyTable.NUM_UPPER; upper++ )
+      {
+        table.setValue( usedMask, upper, value );
+      }
+      return;
+    }
+
+    for( int upper = 0; upper < StrategyTable.NUM_UPPER; upper++ )
+    {
+      if( isReachable( usedMask, upper ) )
+      {
+        table.setValue( usedMask, upper,
+                        (float) evaluateState( usedMask, upper ) );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  isReachable()
+   * Prototype:      public static boolean isReachable( int usedMask,
+   *                                                    int upper );
+   * Description:    Return whether the upper subtotal can be reached by
+   *                 scoring the used upper categories.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal (capped)
+   * Return Value:   boolean -- Whether the state can occur in a game
+   * ----------------------------------------------------------------------- */
+  public static boolean isReachable( int usedMask, int upper )
+  {
+    long reachable = UPPER_REACHABLE[ usedMask & UPPER_MASK ];
+    return ( ( reachable >>> StrategyTable.capUpper( upper ) ) & 1L ) != 0;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  evaluateState()
+   * Prototype:      public double evaluateState( int usedMask, int upper );
+   * Description:    Play out one turn optimally from the passed in state and
+   *                 return its expected future score.  Leaves the turn
+   *                 prepared for bestKeeper() and bestCategory().
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   * Return Value:   double -- Expected future score of the state
+   * ----------------------------------------------------------------------- */
+  public double evaluateState( int usedMask, int upper )
+  {
+    prepareTurn( usedMask, upper );
+
+    // Average the value of every first roll of all five dice
+    rollValues( afterFirst, keepNone );
+    return keepNone[ Keepers.EMPTY ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  prepareTurn()
+   * Prototype:      public void prepareTurn( int usedMask, int upper );
+   * Description:    Compute the value of every hand and keeper of a turn
+   *                 played from the passed in state.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void prepareTurn( int usedMask, int upper )
+  {
+    prepareCategories( usedMask, StrategyTable.capUpper( upper ) );
+
+    // Value of every hand once it must be scored
+    for( int hand = 0; hand < HandIndex.NUM_HANDS; hand++ )
+    {
+      scored[ hand ] = categoryValue( hand, bestCategory( hand ) );
+    }
+
+    // Work back through the two rerolls
+    rollValues( scored, keepOne );
+    handValues( keepOne, afterSecond );
+    rollValues( afterSecond, keepTwo );
+    handValues( keepTwo, afterFirst );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  bestCategory()
+   * Prototype:      public int bestCategory( int hand );
+   * Description:    Return the open category that maximizes the expected
+   *                 final score of the prepared turn for the passed in hand.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   * Return Value:   int -- Best category index
+   * ----------------------------------------------------------------------- */
+  public int bestCategory( int hand )
+  {
+    int best = open[ 0 ];
+    double bestValue = Double.NEGATIVE_INFINITY;
+
+    for( int index = 0; index < numOpen; index++ )
+    {
+      double value = categoryValue( hand, open[ index ] );
+
+      if( value > bestValue )
+      {
+        bestValue = value;
+        best = open[ index ];
+      }
+    }
+
+    return best;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  categoryValue()
+   * Prototype:      public double categoryValue( int hand, int category );
+   * Description:    Return the points the hand scores in the category (with
+   *                 any upper bonus it earns) plus the expected future score
+   *                 afterwards, for the prepared turn.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   *      arg 2:     int category -- Open category index
+   * Return Value:   double -- Expected score from now to the end of the game
+   * ----------------------------------------------------------------------- */
+  public double categoryValue( int hand, int category )
+  {
+    int points = HandIndex.score( hand, category );
+
+    if( ScoreEngine.isUpper( category ) )
+    {
+      return upperGain[ category * UPPER_SCORES + points ];
+    }
+
+    return points + lowerFuture[ category ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  bestKeeper()
+   * Prototype:      public int bestKeeper( int hand, int rollsLeft );
+   * Description:    Return the dice to hold from the hand that maximize the
+   *                 expected final score of the prepared turn.
+   * Parameters:
+   *      arg 1:     int hand -- Hand index
+   *      arg 2:     int rollsLeft -- Number of rolls left this turn (1 or 2)
+   * Return Value:   int -- Best keeper index (see Keepers)
+   * ----------------------------------------------------------------------- */
+  public int bestKeeper( int hand, int rollsLeft )
+  {
+    double[ ] keep = ( rollsLeft > 1 )? keepTwo: keepOne;
+    int best = Keepers.EMPTY;
+    double bestValue = Double.NEGATIVE_INFINITY;
+
+    for( int index = Keepers.HAND_START[ hand ];
+         index < Keepers.HAND_START[ hand + 1 ]; index++ )
+    {
+      int keeper = Keepers.HAND_KEEPER[ index ];
+
+      if( keep[ keeper ] > bestValue )
+      {
+        bestValue = keep[ keeper ];
+        best = keeper;
+      }
+    }
+
+    return best;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  keeperValue()
+   * Prototype:      public double keeperValue( int keeper, int rollsLeft );
+   * Description:    Return the expected score from now to the end of the
+   *                 game of holding the keeper in the prepared turn.
+   * Parameters:
+   *      arg 1:     int keeper -- Keeper index
+   *      arg 2:     int rollsLeft -- Number of rolls left this turn (1 or 2)
+   * Return Value:   double -- Expected score of holding the keeper
+   * ----------------------------------------------------------------------- */
+  public double keeperValue( int keeper, int rollsLeft )
+  {
+    return ( rollsLeft > 1 )? keepTwo[ keeper ]: keepOne[ keeper ];
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  prepareCategories()
+   * Prototype:      private void prepareCategories( int usedMask, int upper );
+   * Description:    Find the open categories and the future value of scoring
+   *                 each of them from the passed in state.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Capped upper section subtotal
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void prepareCategories( int usedMask, int upper )
+  {
+    numOpen = 0;
+
+    for( int category = 0; category < ScoreEngine.NUM_CATEGORIES; category++ )
+    {
+      if( ( usedMask & ( 1 << category ) ) != 0 ) continue;
+
+      open[ numOpen++ ] = category;
+      int nextMask = usedMask | ( 1 << category );
+
+      // Lower categories don't change the upper subtotal
+      if( !ScoreEngine.isUpper( category ) )
+      {
+        lowerFuture[ category ] = table.getValue( nextMask, upper );
+        continue;
+      }
+
+      // Upper categories can score any number of dice showing its face
+      int face = category + 1;
+      for( int count = 0; count <= ScoreEngine.NUM_OF_DICE; count++ )
+      {
+        int points = count * face;
+        int nextUpper = StrategyTable.capUpper( upper + points );
+        int bonus = ( upper < ScoreEngine.UP_BONUS_THRESHOLD &&
+                      nextUpper >= ScoreEngine.UP_BONUS_THRESHOLD )?
+                    ScoreEngine.UP_BONUS_POINTS: 0;
+
+        upperGain[ category * UPPER_SCORES + points ] =
+          points + bonus + table.getValue( nextMask, nextUpper );
+      }
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  rollValues()
+   * Prototype:      private static void rollValues( double[ ] handValue,
+   *                                                 double[ ] keepValue );
+   * Description:    Set the value of every keeper to the average value of
+   *                 the hands it can roll into.  Keepers are filled in from
+   *                 biggest to smallest, since a keeper is worth the average
+   *                 of the keepers with one more die of each face.
+   * Parameters:
+   *      arg 1:     double[ ] handValue -- Value of every hand after the roll
+   *      arg 2:     double[ ] keepValue -- Value of every keeper (output)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private static void rollValues( double[ ] handValue, double[ ] keepValue )
+  {
+    // Holding every die leaves the hand as it is
+    for( int keeper = Keepers.FIRST_FULL; keeper < Keepers.NUM_KEEPERS;
+         keeper++ )
+    {
+      keepValue[ keeper ] = handValue[ Keepers.KEEPER_HAND[ keeper ] ];
+    }
+
+    // Rolling one more die shows each face with equal probability
+    for( int keeper = Keepers.FIRST_FULL - 1; keeper >= 0; keeper-- )
+    {
+      int slot = keeper * NUM_FACES;
+      double sum = 0;
+
+      for( int face = 0; face < NUM_FACES; face++ )
+      {
+        sum += keepValue[ Keepers.ADD[ slot + face ] ];
+      }
+
+      keepValue[ keeper ] = sum / NUM_FACES;
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  handValues()
+   * Prototype:      private void handValues( double[ ] keepValue,
+   *                                          double[ ] handValue );
+   * Description:    Set the value of every hand to the value of the best
+   *                 keeper that can be held from it.  Keepers are visited
+   *                 from smallest to biggest, since the best keeper inside a
+   *                 keeper is itself or the best inside one die less.
+   * Parameters:
+   *      arg 1:     double[ ] keepValue -- Value of every keeper
+   *      arg 2:     double[ ] handValue -- Value of every hand (output)
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void handValues( double[ ] keepValue, double[ ] handValue )
+  {
+    for( int keeper = 0; keeper < Keepers.NUM_KEEPERS; keeper++ )
+    {
+      int slot = keeper * NUM_FACES;
+      double best = keepValue[ keeper ];
+
+      for( int face = 0; face < NUM_FACES; face++ )
+      {
+        int smaller = Keepers.REMOVE[ slot + face ];
+
+        if( smaller >= 0 && bestInside[ smaller ] > best )
+        {
+          best = bestInside[ smaller ];
+        }
+      }
+
+      bestInside[ keeper ] = best;
+    }
+
+    // A hand is the keeper holding all five of its dice
+    for( int keeper = Keepers.FIRST_FULL; keeper < Keepers.NUM_KEEPERS;
+         keeper++ )
+    {
+      handValue[ Keepers.KEEPER_HAND[ keeper ] ] = bestInside[ keeper ];
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  addCapped()
+   * Prototype:      private static long addCapped( long subtotals, int add );
+   * Description:    Add points to every subtotal in the bit set, capping the
+   *                 results at the upper bonus threshold.
+   * Parameters:
+   *      arg 1:     long subtotals -- Bit set of subtotals
+   *      arg 2:     int add -- Points to add
+   * Return Value:   long -- Bit set of the new subtotals
+   * ----------------------------------------------------------------------- */
+  private static long addCapped( long subtotals, int add )
+  {
+    int cap = ScoreEngine.UP_BONUS_THRESHOLD;
+    long result = subtotals << add;
+
+    // Any subtotal that reaches the cap becomes the cap
+    if( ( subtotals >>> ( cap - add ) ) != 0 )
+    {
+      result |= 1L << cap;
+    }
+
+    return result;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Class Name:     LayerTask
+   * Description:    Fork/join task that solves a range of the masks in one
+   *                 layer, splitting the range in half until it is small.
+   * ----------------------------------------------------------------------- */
+  private static class LayerTask extends RecursiveAction
+  {
+    // Version of the serialized form (tasks are never serialized)
+    private static final long serialVersionUID = 1L;
+
+    private ThreadLocal<StrategySolver> solvers;  // Per-thread solvers
+    private int[ ] layer;                         // Masks in the layer
+    private int from;                             // First mask to solve
+    private int to;                               // One past the last mask
+
+    public LayerTask( ThreadLocal<StrategySolver> solvers, int[ ] layer,
+                      int from, int to )
+    {
+      this.solvers = solvers;
+      this.layer = layer;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute( )
+    {
+      // Split big ranges in half and solve both halves in parallel
+      if( to - from > MASKS_PER_TASK )
+      {
+        int middle = ( from + to ) >>> 1;
+        invokeAll( new LayerTask( solvers, layer, from, middle ),
+                   new LayerTask( solvers, layer, middle, to ) );
+        return;
+      }
+
+      StrategySolver solver = solvers.get( );
+      for( int index = from; index < to; index++ )
+      {
+        solver.solveMask( layer[ index ] );
+      }
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     StrategyTable.java                                          *
+ * Description:  Table of the expected future score of every state between  *
+ *               turns of a solitaire Yahtzee game under optimal play.  A    *
+ *               state is the set of used categories and the upper section   *
+ *               subtotal (capped at the upper bonus threshold).             *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.nio.FloatBuffer;   // For tables on the heap or mapped from disk
+
+public class StrategyTable
+{
+  // Number of bits in the used category mask
+  public static final int MASK_BITS = ScoreEngine.NUM_CATEGORIES;
+
+  // Number of used category masks
+  public static final int NUM_MASKS = 1 << MASK_BITS;
+
+  // Mask with every category used (the game is over)
+  public static final int ALL_USED = NUM_MASKS - 1;
+
+  // Number of distinct upper subtotals (0 up to the bonus threshold)
+  public static final int NUM_UPPER = ScoreEngine.UP_BONUS_THRESHOLD + 1;
+
+  // Number of bits used for the upper subtotal in a state index
+  private static final int UPPER_BITS = 6;
+
+  // Number of states in the table
+  public static final int NUM_STATES = NUM_MASKS << UPPER_BITS;
+
+  private FloatBuffer values;   // Expected future score, indexed by state
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      StrategyTable()
+   * Prototype:      public StrategyTable( );
+   * Description:    Create an empty table on the heap with every value set
+   *                 to zero.
+   * Parameters:     None
+   * ----------------------------------------------------------------------- */
+  public StrategyTable( )
+  {
+    values = FloatBuffer.wrap( new float[ NUM_STATES ] );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      StrategyTable()
+   * Prototype:      public StrategyTable( FloatBuffer values );
+   * Description:    Create a table backed by the passed in buffer (for
+   *                 example a read-only view of a mapped strategy file).
+   * Parameters:
+   *      arg 1:     FloatBuffer values -- NUM_STATES values indexed by state
+   * ----------------------------------------------------------------------- */
+  public StrategyTable( FloatBuffer values )
+  {
+    this.values = values;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getValues()
+   * Prototype:      public FloatBuffer getValues( );
+   * Description:    Return a duplicate of the buffer of values (so callers
+   *                 can read it in bulk without moving this table's position).
+   * Parameters:     None
+   * Return Value:   FloatBuffer -- All NUM_STATES values indexed by state
+   * ----------------------------------------------------------------------- */
+  public FloatBuffer getValues( )
+  {
+    return values.duplicate( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  stateIndex()
+   * Prototype:      public static int stateIndex( int usedMask, int upper );
+   * Description:    Return the index of the state with the passed in used
+   *                 categories and upper subtotal.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories (bit number
+   *                 is the category index)
+   *      arg 2:     int upper -- Upper section subtotal (any value, capped
+   *                 at the upper bonus threshold)
+   * Return Value:   int -- Index of the state
+   * ----------------------------------------------------------------------- */
+  public static int stateIndex( int usedMask, int upper )
+  {
+    return ( usedMask << UPPER_BITS ) | capUpper( upper );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  capUpper()
+   * Prototype:      public static int capUpper( int upper );
+   * Description:    Cap the upper subtotal at the upper bonus threshold
+   *                 (scoring more than that doesn't change anything).
+   * Parameters:
+   *      arg 1:     int upper -- Upper section subtotal
+   * Return Value:   int -- Capped upper subtotal
+   * ----------------------------------------------------------------------- */
+  public static int capUpper( int upper )
+  {
+    return Math.min( upper, ScoreEngine.UP_BONUS_THRESHOLD );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getValue()
+   * Prototype:      public float getValue( int usedMask, int upper );
+   * Description:    Return the expected future score of the passed in state
+   *                 (not counting points already scored).
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   * Return Value:   float -- Expected future score
+   * ----------------------------------------------------------------------- */
+  public float getValue( int usedMask, int upper )
+  {
+    return values.get( stateIndex( usedMask, upper ) );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  setValue()
+   * Prototype:      public void setValue( int usedMask, int upper,
+   *                                       float value );
+   * Description:    Set the expected future score of the passed in state.
+   * Parameters:
+   *      arg 1:     int usedMask -- Bit mask of used categories
+   *      arg 2:     int upper -- Upper section subtotal
+   *      arg 3:     float value -- Expected future score
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void setValue( int usedMask, int upper, float value )
+  {
+    values.put( stateIndex( usedMask, upper ), value );
+  }
+}
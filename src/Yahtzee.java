@@ -7,22 +7,58 @@
  * ------------------------------------------------------------------------- */
 
 import javax.swing.*;         // For JComponents (GUI)
-import java.awt.Container;
+import java.awt.Graphics;
 import java.awt.BorderLayout;
 import java.awt.Dimension;    // For centering window
 import java.awt.Toolkit;      // For centering window
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;  // For loading the strategy
+import java.util.function.Consumer;
 
 public class Yahtzee
 {
   // Divide by this to halve a number
   private static final int HALF_DIV = 2;
 
+  // First argument that runs a batch command instead of the game
+  private static final String HEADLESS_FLAG = "--headless";
+
+  // Argument that plays the game on a server (followed by host:port)
+  private static final String CONNECT_FLAG = "--connect";
+
+  // Argument that replays a logged game (followed by the game's number and
+  // optionally the path of the log)
+  private static final String REPLAY_FLAG = "--replay";
+
   private static final int H_GAP = 10;  // Horizontal gap between components
   private static final int V_GAP = 10;  // Vertical gap between components
 
+  // Size of the placeholder shown until the game is built (about the game's
+  // own size, so the window barely changes when it is packed around it)
+  private static final int PLACEHOLDER_WIDTH = 820;
+  private static final int PLACEHOLDER_HEIGHT = 370;
+
+  // Solved strategy table (loaded in the background when the game starts)
+  private static CompletableFuture<StrategyTable> strategy;
+
+  // Server the game is played on (null for a local game)
+  private static GameClient remote;
+
+  // Logged game the window replays (null to play a game)
+  private static GameReplay replay;
+
   // GUI components
   private JFrame frame;           // Game window
-  private Container contentPane;  // Container for all the GUI components
+  private JPanel contentPane;     // Container for all the GUI components
+  private JLabel placeholder;     // Shown until the game is built
+
+  // Whether the window has been painted and startup finished, and whether
+  // the built game has been painted (only used on the event dispatch thread)
+  private boolean started;
+  private boolean gamePainted;
 
   // Game components
   private ScoreController scoreControl;  // Score portion of game (includes GUI)
@@ -32,8 +68,9 @@ public class Yahtzee
   /* ----------------------------------------------------------------------- *
    * Ctor Name:      Yahtzee()
    * Prototype:      public Yahtzee( );
-   * Description:    Set up the game window and all GUI components to begin 
-   *                 the Yahtzee game.
+   * Description:    Set up the game window and show it holding only a
+   *                 placeholder.  The game's components are built once the
+   *                 window has been painted (see buildGame()).
    * Parameters:     None
    * ----------------------------------------------------------------------- */
   public Yahtzee( )
@@ -41,39 +78,221 @@ public class Yahtzee
     // Set up the game window
     frame = new JFrame( "Yahtzee" );
     frame.setDefaultCloseOperation( JFrame.EXIT_ON_CLOSE );
+    if( remote != null )
+    {
+      frame.setTitle( "Yahtzee - session " + remote.getSessionId( ) );
+    }
+    if( replay != null )
+    {
+      frame.setTitle( "Yahtzee - replay of game " + replay.getGame( ) );
+    }
+
+    // Set up container to put components on (finishing startup once it has
+    // been painted)
+    contentPane = new JPanel( new BorderLayout( H_GAP, V_GAP ) )
+    {
+      @Override
+      public void paint( Graphics graphics )
+      {
+        super.paint( graphics );
+        if( !started )
+        {
+          finishStartup( );
+        }
+        else if( scoreControl != null && !gamePainted )
+        {
+          gamePainted = true;
+          StartupTimer.gamePaint( );
+        }
+      }
+    };
+    frame.setContentPane( contentPane );
+
+    // Hold the window's place until the game is built
+    placeholder = new JLabel( "Loading...", SwingConstants.CENTER );
+    placeholder.setPreferredSize( new Dimension( PLACEHOLDER_WIDTH,
+                                                 PLACEHOLDER_HEIGHT ) );
+    contentPane.add( placeholder, BorderLayout.CENTER );
+
+    // Size the frame and center it on the screen
+    long began = StartupTimer.begin( );
+    frame.pack( );
+    center( );
+    StartupTimer.end( StartupTimer.PACK, began );
+
+    // Display the window
+    began = StartupTimer.begin( );
+    frame.setVisible( true );
+    StartupTimer.end( StartupTimer.SHOW, began );
+  }
 
-    // Set up container to put components on
-    contentPane = frame.getContentPane( );
-    contentPane.setLayout( new BorderLayout( H_GAP, V_GAP ) );
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  buildGame()
+   * Prototype:      private void buildGame( );
+   * Description:    Replace the placeholder with the game's components,
+   *                 resize the window around them, and turn on hints when
+   *                 the strategy table is loaded.  Called on the event
+   *                 dispatch thread after the window is first painted.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void buildGame( )
+  {
+    long began = StartupTimer.begin( );
 
     // Set up components and add them to the container
+    contentPane.remove( placeholder );
     scoreControl = new ScoreController( contentPane );
     diceControl = new DiceController( contentPane, scoreControl );
+    if( remote != null )
+    {
+      diceControl.setRemote( remote );
+    }
+    if( replay != null )
+    {
+      replay.start( diceControl, scoreControl );
+    }
+    StartupTimer.end( StartupTimer.COMPONENT_BUILD, began );
 
-    // Size the frame
+    // Size the frame around the game and center it again
+    began = StartupTimer.begin( );
     frame.pack( );
+    center( );
+    contentPane.repaint( );
+    StartupTimer.end( StartupTimer.PACK, began );
 
-    // Vertically and horizontally center the game window on the screen
+    // Turn on hints once the strategy table has been loaded
+    if( strategy != null )
+    {
+      strategy.thenAccept( new Consumer<StrategyTable>( )
+      {
+        public void accept( StrategyTable table )
+        {
+          diceControl.setAdvisor( new HintAdvisor( table ) );
+        }
+      } );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  center()
+   * Prototype:      private void center( );
+   * Description:    Vertically and horizontally center the game window on
+   *                 the screen.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void center( )
+  {
     Dimension dim = Toolkit.getDefaultToolkit( ).getScreenSize( );
     int xPosition = dim.width / HALF_DIV - frame.getSize( ).width / HALF_DIV;
     int yPosition = dim.height / HALF_DIV - frame.getSize( ).height / HALF_DIV;
     frame.setLocation( xPosition, yPosition );
+  }
 
-    // Display the window
-    frame.setVisible( true );
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  finishStartup()
+   * Prototype:      private void finishStartup( );
+   * Description:    Start the work the first frame doesn't need once it has
+   *                 been painted: building the game's components, decoding
+   *                 the rest of the dice images, and loading the scoring
+   *                 tables.  Called on the event dispatch thread.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void finishStartup( )
+  {
+    started = true;
+    StartupTimer.firstPaint( );
+
+    // Build the game after this paint has finished
+    SwingUtilities.invokeLater( new Runnable( )
+    {
+      public void run( )
+      {
+        buildGame( );
+      }
+    } );
+
+    // Decode the other dice images before the first roll needs them
+    DiceImageCache.preload( );
+
+    // Load the hand and keeper tables on the game thread
+    GameExecutor.submit( new Runnable( )
+    {
+      public void run( )
+      {
+        HandIndex.score( 0, ScoreEngine.CHANCE );
+        Keepers.size( Keepers.EMPTY );
+      }
+    } );
   }
 
 
   /* ----------------------------------------------------------------------- *
    * Function Name:  main()
-   * Prototype:      public static void main( String[ ] args );
-   * Description:    Starts a new Yahtzee game on the event dispatch thread.
+   * Prototype:      public static void main( String[ ] args )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Starts loading the strategy table, starts a new Yahtzee
+   *                 game on the event dispatch thread, and decodes the first
+   *                 dice image while the game is being built.  The game
+   *                 is recorded to the event log.  With --headless, runs a
+   *                 YahtzeeCli command instead; with --connect, plays the
+   *                 game on a server; with --replay, replays a logged game.
    * Parameters:
-   *      arg 1:     String[ ] args -- Command line arguments (not used)
+   *      arg 1:     String[ ] args -- Command line arguments (none,
+   *                 --headless and a YahtzeeCli command, --connect and the
+   *                 server's host:port, or --replay, the game's number,
+   *                 and optionally the log's path)
    * Return Value:   None
    * ----------------------------------------------------------------------- */
   public static void main( String[ ] args )
+    throws IOException, InterruptedException
   {
+    // Run batch jobs without starting Swing
+    if( args.length > 0 && args[ 0 ].equals( HEADLESS_FLAG ) )
+    {
+      YahtzeeCli.main( Arrays.copyOfRange( args, 1, args.length ) );
+      return;
+    }
+
+    // Join the server before building the game that plays on it
+    if( args.length > 1 && args[ 0 ].equals( CONNECT_FLAG ) )
+    {
+      int colon = args[ 1 ].lastIndexOf( ':' );
+      String host = ( colon < 0 )? args[ 1 ]: args[ 1 ].substring( 0, colon );
+      int port = ( colon < 0 )? GameProtocol.DEFAULT_PORT:
+                 Integer.parseInt( args[ 1 ].substring( colon + 1 ) );
+      remote = new GameClient( host, port );
+    }
+
+    // Read the game to replay, or record the game about to be played
+    Path logPath = EventLog.defaultPath( );
+    if( args.length > 1 && args[ 0 ].equals( REPLAY_FLAG ) )
+    {
+      if( args.length > 2 )
+      {
+        logPath = new File( args[ 2 ] ).toPath( );
+      }
+      if( logPath == null )
+      {
+        throw new IOException( "No game log to replay" );
+      }
+      replay = new GameReplay( logPath, Long.parseLong( args[ 1 ] ) );
+    }
+    else if( logPath != null )
+    {
+      GameRecorder.start( logPath );
+    }
+
+    StartupTimer.start( );
+
+    // Map the strategy table in the background while the GUI is built
+    strategy = StrategyFile.loadAsync( StrategyFile.defaultPath( ) );
+
     // Initialize the GUI on the event dispatch thread
     SwingUtilities.invokeLater( new Runnable( )
     {
@@ -82,5 +301,23 @@ public class Yahtzee
         Yahtzee game = new Yahtzee( );
       }
     } );
+
+    // Decode the image the dice start on while the GUI is being built
+    DiceImageCache.getIcon( Dice.MIN_VAL, false, DiceImageCache.NATURAL_SIZE );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  getStrategy()
+   * Prototype:      public static CompletableFuture<StrategyTable>
+   *                                 getStrategy( );
+   * Description:    Return the strategy table being loaded in the background
+   *                 (null if the game wasn't started through main()).
+   * Parameters:     None
+   * Return Value:   CompletableFuture<StrategyTable> -- Strategy table
+   * ----------------------------------------------------------------------- */
+  public static CompletableFuture<StrategyTable> getStrategy( )
+  {
+    return strategy;
   }
 }
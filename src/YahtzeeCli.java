@@ -0,0 +1,681 @@
+/* ------------------------------------------------------------------------- *
+ * Filename:     YahtzeeCli.java                                             *
+ * Description:  Command line entry point for batch jobs: simulating games,  *
+ *               solving the strategy table, benchmarking simulation         *
+ *               throughput, hosting games for remote players, replaying the *
+ *               game event log, and building and querying the game          *
+ *               history.  Never touches AWT or Swing, so it runs without a  *
+ *               display.  Run as "java -cp Yahtzee_V1.jar YahtzeeCli" or    *
+ *               "java -jar Yahtzee_V1.jar --headless".                      *
+ * Author:       Taylor Durrer                                               *
+ * Date:         October 17, 2026                                            *
+ * ------------------------------------------------------------------------- */
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+public class YahtzeeCli
+{
+  // Defaults of the options
+  private static final long DEFAULT_GAMES = 100000;
+  private static final String DEFAULT_POLICY = "optimal";
+  private static final String DEFAULT_FORMAT = "text";
+  private static final int DEFAULT_RUNS = 5;
+
+  // Exit status for a command that failed
+  private static final int FAILURE_STATUS = 1;
+
+  // Exit status for a bad command line
+  private static final int USAGE_STATUS = 2;
+
+  // Names of the commands
+  private static final String[ ] COMMANDS = { "simulate", "solve", "bench",
+                                              "serve", "replay", "history",
+                                              "query" };
+
+  // Percentiles printed for simulations
+  private static final double P50 = 50;
+  private static final double P99 = 99;
+
+  private static final double NANOS_PER_SEC = 1e9;
+  private static final int HALF_DIV = 2;
+
+  // Game printed by replay when no --game is given (none)
+  private static final long NO_GAME = -1;
+
+  private static final String USAGE =
+    "usage: YahtzeeCli <command> [options]\n" +
+    "commands:\n" +
+    "  simulate  simulate games and print the score distribution\n" +
+    "  solve     solve the game and write the strategy file\n" +
+    "  bench     simulate several times and print games/sec\n" +
+    "  serve     host games for players on the network\n" +
+    "  replay    replay the game log and print the score distribution\n" +
+    "  history   record simulated (or logged) games to the game history\n" +
+    "  query     print aggregates over every game in the game history\n" +
+    "options:\n" +
+    "  --games N      games to simulate (default " + DEFAULT_GAMES + ")\n" +
+    "  --threads N    worker threads (default: every core)\n" +
+    "  --seed N       master seed (default: the time)\n" +
+    "  --policy NAME  greedy or optimal (default " + DEFAULT_POLICY + ")\n" +
+    "  --format FMT   text, csv, or json (default " + DEFAULT_FORMAT + ")\n" +
+    "  --runs N       bench runs (default " + DEFAULT_RUNS + ")\n" +
+    "  --out PATH     solve or history output (default: the strategy\n" +
+    "                 file or the game history)\n" +
+    "  --port N       serve port (default " + GameProtocol.DEFAULT_PORT +
+    ")\n" +
+    "  --log PATH     replay input (default: the game log); history:\n" +
+    "                 record the games of this log instead of simulating\n" +
+    "  --game N       replay: print the events of game N (from 0)\n" +
+    "  --history PATH query input (default: the game history)";
+
+  // Options from the command line
+  private long games = DEFAULT_GAMES;
+  private int threads = Runtime.getRuntime( ).availableProcessors( );
+  private long seed = System.nanoTime( );
+  private String policy = DEFAULT_POLICY;
+  private String format = DEFAULT_FORMAT;
+  private int runs = DEFAULT_RUNS;
+  private Path out;
+  private int port = GameProtocol.DEFAULT_PORT;
+  private Path log;
+  private long game = NO_GAME;
+  private Path history;
+
+  private PrintStream output = System.out;  // Where results are printed
+  private boolean headerPrinted;             // Whether the CSV header is out
+
+
+  /* ----------------------------------------------------------------------- *
+   * Ctor Name:      YahtzeeCli()
+   * Prototype:      public YahtzeeCli( String[ ] options );
+   * Description:    Parse the options after the command.
+   * Parameters:
+   *      arg 1:     String[ ] options -- Options and their values
+   * ----------------------------------------------------------------------- */
+  public YahtzeeCli( String[ ] options )
+  {
+    for( int index = 0; index < options.length; index += 2 )
+    {
+      String name = options[ index ];
+      if( index + 1 >= options.length )
+      {
+        throw new IllegalArgumentException( "Missing value for " + name );
+      }
+      String value = options[ index + 1 ];
+
+      switch( name )
+      {
+        case "--games":
+          games = Long.parseLong( value );
+          break;
+        case "--threads":
+          threads = Integer.parseInt( value );
+          break;
+        case "--seed":
+          seed = Long.parseLong( value );
+          break;
+        case "--policy":
+          policy = value;
+          break;
+        case "--format":
+          format = value;
+          break;
+        case "--runs":
+          runs = Integer.parseInt( value );
+          break;
+        case "--out":
+          out = Paths.get( value );
+          break;
+        case "--port":
+          port = Integer.parseInt( value );
+          break;
+        case "--log":
+          log = Paths.get( value );
+          break;
+        case "--game":
+          game = Long.parseLong( value );
+          break;
+        case "--history":
+          history = Paths.get( value );
+          break;
+        default:
+          throw new IllegalArgumentException( "Unknown option: " + name );
+      }
+    }
+
+    if( !format.equals( "text" ) && !format.equals( "csv" ) &&
+        !format.equals( "json" ) )
+    {
+      throw new IllegalArgumentException( "Unknown format: " + format );
+    }
+
+    if( !policy.equals( "greedy" ) && !policy.equals( "optimal" ) )
+    {
+      throw new IllegalArgumentException( "Unknown policy: " + policy );
+    }
+
+    if( games < 1 || threads < 1 || runs < 1 )
+    {
+      throw new IllegalArgumentException( "Counts must be positive" );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  simulate()
+   * Prototype:      public void simulate( )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Simulate the games and print their score distribution
+   *                 and throughput.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void simulate( ) throws IOException, InterruptedException
+  {
+    Supplier<Policy> policies = GameSimulator.policyFactory( policy );
+
+    long start = System.nanoTime( );
+    SimulationStats stats = SimulationRunner.run( games, threads, seed,
+                                                  policies );
+    double seconds = ( System.nanoTime( ) - start ) / NANOS_PER_SEC;
+
+    printRecord( new String[ ] { "policy", "seed", "threads", "games",
+                                 "mean", "std_dev", "min", "p50", "p99",
+                                 "max", "games_per_sec" },
+                 new Object[ ] { policy, seed, threads, stats.getCount( ),
+                                 stats.getMean( ), stats.getStdDev( ),
+                                 stats.getMin( ),
+                                 stats.getPercentile( P50 ),
+                                 stats.getPercentile( P99 ),
+                                 stats.getMax( ), games / seconds } );
+
+    if( format.equals( "text" ) )
+    {
+      stats.printHistogram( output );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  solve()
+   * Prototype:      public void solve( ) throws IOException;
+   * Description:    Solve the game on the worker threads and write the
+   *                 strategy file.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void solve( ) throws IOException
+  {
+    Path path = ( out != null )? out: StrategyFile.defaultPath( );
+
+    long start = System.nanoTime( );
+    StrategyTable table = StrategySolver.solve( threads );
+    double seconds = ( System.nanoTime( ) - start ) / NANOS_PER_SEC;
+
+    StrategyFile.write( table, path );
+
+    printRecord( new String[ ] { "threads", "seconds", "expected_score",
+                                 "path" },
+                 new Object[ ] { threads, seconds,
+                                 table.getValue( 0, 0 ), path } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  bench()
+   * Prototype:      public void bench( )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Simulate the games once to warm up, then once per run,
+   *                 printing the throughput of every run and the median.
+   *                 Every run uses the same seed, so every run plays the
+   *                 same games.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void bench( ) throws IOException, InterruptedException
+  {
+    Supplier<Policy> policies = GameSimulator.policyFactory( policy );
+    double[ ] gamesPerSec = new double[ runs ];
+
+    SimulationRunner.run( games, threads, seed, policies );
+
+    for( int run = 0; run < runs; run++ )
+    {
+      long start = System.nanoTime( );
+      SimulationRunner.run( games, threads, seed, policies );
+      gamesPerSec[ run ] = games * NANOS_PER_SEC /
+                           ( System.nanoTime( ) - start );
+
+      printRecord( new String[ ] { "run", "policy", "threads", "games",
+                                   "games_per_sec" },
+                   new Object[ ] { run + 1, policy, threads, games,
+                                   gamesPerSec[ run ] } );
+    }
+
+    Arrays.sort( gamesPerSec );
+    if( format.equals( "text" ) )
+    {
+      output.printf( Locale.ROOT, "median games_per_sec: %.1f%n",
+                     gamesPerSec[ runs / HALF_DIV ] );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  serve()
+   * Prototype:      public void serve( ) throws IOException;
+   * Description:    Host a game for every client that connects, running the
+   *                 games on the worker threads, until the process is
+   *                 killed.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void serve( ) throws IOException
+  {
+    GameServer server = new GameServer( port, threads, seed );
+
+    printRecord( new String[ ] { "port", "threads", "seed" },
+                 new Object[ ] { server.getPort( ), threads, seed } );
+    output.flush( );
+
+    server.run( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  replay()
+   * Prototype:      public void replay( ) throws IOException;
+   * Description:    Replay every game in the log, checking each event
+   *                 against the rules, and print the score distribution of
+   *                 the finished games and the replay throughput.  With
+   *                 --game, print that game's events instead.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void replay( ) throws IOException
+  {
+    Path path = ( log != null )? log: EventLog.defaultPath( );
+    if( path == null )
+    {
+      throw new IllegalArgumentException( "Game log is turned off" );
+    }
+
+    SimulationStats stats = new SimulationStats( );
+    long[ ] events = new long[ 1 ];
+
+    long start = System.nanoTime( );
+    long played = EventLog.replay( path, new ReplayListener( )
+    {
+      public void event( long number, int type, int field, long state )
+      {
+        events[ 0 ]++;
+
+        if( number == game )
+        {
+          printRecord( new String[ ] { "event", "type", "field", "rolls",
+                                       "dice", "total" },
+                       new Object[ ] { events[ 0 ], eventName( type ),
+                                       field, GameState.getRolls( state ),
+                                       diceText( state ),
+                                       GameState.getTotal( state ) } );
+        }
+
+        if( type == GameProtocol.SCORED && GameState.isOver( state ) )
+        {
+          stats.add( GameState.getTotal( state ) );
+        }
+      }
+    } );
+    double seconds = ( System.nanoTime( ) - start ) / NANOS_PER_SEC;
+
+    if( game != NO_GAME ) return;
+
+    printRecord( new String[ ] { "log", "games", "finished", "events",
+                                 "mean", "min", "p50", "p99", "max",
+                                 "games_per_sec" },
+                 new Object[ ] { path, played, stats.getCount( ), events[ 0 ],
+                                 stats.getMean( ), stats.getMin( ),
+                                 stats.getPercentile( P50 ),
+                                 stats.getPercentile( P99 ),
+                                 stats.getMax( ), played / seconds } );
+
+    if( format.equals( "text" ) && stats.getCount( ) > 0 )
+    {
+      stats.printHistogram( output );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  history()
+   * Prototype:      public void history( )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Simulate the games (or, with --log, take the finished
+   *                 games of that log) and write them as a new game
+   *                 history, printing how fast they were recorded.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void history( ) throws IOException, InterruptedException
+  {
+    Path path = ( out != null )? out: GameHistory.defaultPath( );
+    HistoryWriter writer = new HistoryWriter( path );
+    long recorded;
+
+    long start = System.nanoTime( );
+    try
+    {
+      if( log != null )
+      {
+        writer.addLog( log );
+      }
+      else
+      {
+        SimulationRunner.record( writer, games, threads, seed,
+                                 GameSimulator.policyFactory( policy ) );
+      }
+      recorded = writer.finish( );
+    }
+    finally
+    {
+      writer.close( );
+    }
+    double seconds = ( System.nanoTime( ) - start ) / NANOS_PER_SEC;
+
+    printRecord( new String[ ] { "path", "source", "games", "seconds",
+                                 "games_per_sec" },
+                 new Object[ ] { path, ( log != null )? log: policy,
+                                 recorded, seconds, recorded / seconds } );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  query()
+   * Prototype:      public void query( )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Scan the game history and print the score distribution,
+   *                 how often the upper bonus and a Yahtzee were scored, and
+   *                 the rounds the Yahtzee category was filled in.
+   * Parameters:     None
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void query( ) throws IOException, InterruptedException
+  {
+    Path path = ( history != null )? history: GameHistory.defaultPath( );
+
+    long start = System.nanoTime( );
+    GameHistory store = GameHistory.open( path, threads );
+    long count = store.getGameCount( );
+    SimulationStats stats = store.getTotals( );
+    long bonuses = store.countBonus( );
+    double yahtzeePoints = store.getMeanPoints( ScoreEngine.YAHTZEE );
+    long[ ] yahtzees = store.countByRound( ScoreEngine.YAHTZEE, 1 );
+    long[ ] filled = store.countByRound( ScoreEngine.YAHTZEE, 0 );
+    double seconds = ( System.nanoTime( ) - start ) / NANOS_PER_SEC;
+
+    printRecord( new String[ ] { "history", "games", "mean", "p50", "p99",
+                                 "bonus_rate", "yahtzee_points",
+                                 "yahtzee_rate", "seconds" },
+                 new Object[ ] { path, count, stats.getMean( ),
+                                 stats.getPercentile( P50 ),
+                                 stats.getPercentile( P99 ),
+                                 (double) bonuses / count, yahtzeePoints,
+                                 (double) sum( yahtzees ) / count,
+                                 seconds } );
+
+    for( int round = 0; round < yahtzees.length; round++ )
+    {
+      printRecord( new String[ ] { "round", "yahtzee_rate", "filled_rate" },
+                   new Object[ ] { round + 1,
+                                   (double) yahtzees[ round ] / count,
+                                   (double) filled[ round ] / count } );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  sum()
+   * Prototype:      private static long sum( long[ ] counts );
+   * Description:    Add up counts.
+   * Parameters:
+   *      arg 1:     long[ ] counts -- Counts to add up
+   * Return Value:   long -- Sum of the counts
+   * ----------------------------------------------------------------------- */
+  private static long sum( long[ ] counts )
+  {
+    long total = 0;
+
+    for( long count : counts )
+    {
+      total += count;
+    }
+
+    return total;
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  diceText()
+   * Prototype:      private static String diceText( long state );
+   * Description:    Return the faces of the dice in a state, in position
+   *                 order (0 for dice that haven't been rolled).
+   * Parameters:
+   *      arg 1:     long state -- Game state
+   * Return Value:   String -- One digit per die
+   * ----------------------------------------------------------------------- */
+  private static String diceText( long state )
+  {
+    StringBuilder text = new StringBuilder( ScoreEngine.NUM_OF_DICE );
+
+    for( int index = 0; index < ScoreEngine.NUM_OF_DICE; index++ )
+    {
+      text.append( GameState.getDie( state, index ) );
+    }
+
+    return text.toString( );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  eventName()
+   * Prototype:      private static String eventName( int type );
+   * Description:    Return the name of a logged event's type.
+   * Parameters:
+   *      arg 1:     int type -- Type of the event (see GameProtocol)
+   * Return Value:   String -- Name of the type
+   * ----------------------------------------------------------------------- */
+  private static String eventName( int type )
+  {
+    switch( type )
+    {
+      case GameProtocol.STARTED:
+        return "started";
+      case GameProtocol.ROLLED:
+        return "rolled";
+      case GameProtocol.HELD:
+        return "held";
+      case GameProtocol.SCORED:
+        return "scored";
+      default:
+        return String.valueOf( type );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  printRecord()
+   * Prototype:      private void printRecord( String[ ] names,
+   *                                           Object[ ] values );
+   * Description:    Print one result in the output format: "name: value"
+   *                 pairs, a CSV row (after a header the first time), or a
+   *                 JSON object on its own line.
+   * Parameters:
+   *      arg 1:     String[ ] names -- Names of the values
+   *      arg 2:     Object[ ] values -- Values to print
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  private void printRecord( String[ ] names, Object[ ] values )
+  {
+    StringBuilder line = new StringBuilder( );
+
+    if( format.equals( "csv" ) && !headerPrinted )
+    {
+      output.println( String.join( ",", names ) );
+      headerPrinted = true;
+    }
+
+    for( int index = 0; index < names.length; index++ )
+    {
+      String value = formatValue( values[ index ] );
+
+      if( format.equals( "csv" ) )
+      {
+        line.append( ( index > 0 )? ",": "" ).append( value );
+      }
+      else if( format.equals( "json" ) )
+      {
+        line.append( ( index > 0 )? ", ": "{ " ).append( '"' )
+            .append( names[ index ] ).append( "\": " );
+
+        if( values[ index ] instanceof Number )
+        {
+          line.append( value );
+        }
+        else
+        {
+          line.append( '"' ).append( value.replace( "\\", "\\\\" )
+                                          .replace( "\"", "\\\"" ) )
+              .append( '"' );
+        }
+      }
+      else
+      {
+        line.append( ( index > 0 )? "  ": "" ).append( names[ index ] )
+            .append( ": " ).append( value );
+      }
+    }
+
+    if( format.equals( "json" ) )
+    {
+      line.append( " }" );
+    }
+
+    output.println( line );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  formatValue()
+   * Prototype:      private static String formatValue( Object value );
+   * Description:    Return a value as text (decimals with three places).
+   * Parameters:
+   *      arg 1:     Object value -- Value to format
+   * Return Value:   String -- Formatted value
+   * ----------------------------------------------------------------------- */
+  private static String formatValue( Object value )
+  {
+    if( value instanceof Double || value instanceof Float )
+    {
+      return String.format( Locale.ROOT, "%.3f", value );
+    }
+
+    return String.valueOf( value );
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  run()
+   * Prototype:      public void run( String command )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Run a command with the parsed options.
+   * Parameters:
+   *      arg 1:     String command -- Name of the command
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public void run( String command ) throws IOException, InterruptedException
+  {
+    switch( command )
+    {
+      case "simulate":
+        simulate( );
+        break;
+      case "solve":
+        solve( );
+        break;
+      case "bench":
+        bench( );
+        break;
+      case "serve":
+        serve( );
+        break;
+      case "replay":
+        replay( );
+        break;
+      case "history":
+        history( );
+        break;
+      case "query":
+        query( );
+        break;
+      default:
+        throw new IllegalArgumentException( "Unknown command: " + command );
+    }
+  }
+
+
+  /* ----------------------------------------------------------------------- *
+   * Function Name:  main()
+   * Prototype:      public static void main( String[ ] args )
+   *                                 throws IOException, InterruptedException;
+   * Description:    Run the command named by the first argument with the
+   *                 options after it.  A bad command line prints the usage
+   *                 and exits with status 2; a command that fails prints
+   *                 why and exits with status 1.
+   * Parameters:
+   *      arg 1:     String[ ] args -- command [options]
+   * Return Value:   None
+   * ----------------------------------------------------------------------- */
+  public static void main( String[ ] args )
+    throws IOException, InterruptedException
+  {
+    // Make sure nothing opens a window by accident
+    System.setProperty( "java.awt.headless", "true" );
+
+    String command = ( args.length > 0 )? args[ 0 ]: "";
+    YahtzeeCli cli = null;
+
+    try
+    {
+      if( !Arrays.asList( COMMANDS ).contains( command ) )
+      {
+        throw new IllegalArgumentException( command.isEmpty( )?
+                                            "Missing command":
+                                            "Unknown command: " + command );
+      }
+
+      cli = new YahtzeeCli( Arrays.copyOfRange( args, 1, args.length ) );
+    }
+    catch( IllegalArgumentException ex )
+    {
+      System.err.println( ex.getMessage( ) );
+      System.err.println( USAGE );
+      System.exit( USAGE_STATUS );
+    }
+
+    try
+    {
+      cli.run( command );
+    }
+    catch( IOException | IllegalArgumentException | IllegalStateException ex )
+    {
+      System.err.println( command + ": " + ex.getMessage( ) );
+      System.exit( FAILURE_STATUS );
+    }
+  }
+}